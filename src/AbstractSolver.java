@@ -5,25 +5,106 @@
 // however, that this is for a problem where the goal is to *maximize* the 
 // objective. -Max_VALUE and < would have to be switched to MAX_VALUE and > for
 // a solver intended to minimize an objective function. 
+//
+// Subclasses that check isOutOfTime() as they search can be stopped early
+// (see AnytimeSolver). 
 //******************************************************************************
 
  
  
 
-public abstract class AbstractSolver implements Solver 
+public abstract class AbstractSolver implements AnytimeSolver 
 {
 	protected Solution bestSolution; 
 	protected double bestObjective; 
 	
+	//Statistics about the last search: the number of solutions visited, the
+	//number of branches skipped because of their bound, and the depth of the
+	//deepest solution visited. 
+	protected int numNodes, numPruned, maxDepth; 
+	
+	//Time limit in milliseconds (0 for none), and the time it runs out 
+	private long timeLimit, deadline; 
+	
+	//Set by cancel(), which may be called from another thread 
+	private volatile boolean cancelled; 
+	
+	//Whether the last search was stopped early, and the highest bound of any 
+	//solution it didn't finish looking at 
+	protected boolean stopped; 
+	protected double openBound; 
+	
+	//Solution to start from, if any 
+	private Solution incumbent; 
+	
 	protected abstract void search (Solution initial); 
 	
 	public Solution solve (Solution initial)
 	{
 		bestSolution = null; 
 		bestObjective = -Double.MAX_VALUE; 
+		numNodes = numPruned = maxDepth = 0; 
+		
+		stopped = cancelled = false; 
+		openBound = -Double.MAX_VALUE; 
+		deadline = timeLimit > 0 ? System.currentTimeMillis() + timeLimit 
+										 : Long.MAX_VALUE; 
+		
+		if (incumbent != null)
+			updateBest (incumbent); 
+		
 		search (initial); 
 		return bestSolution; 
 	}
+
+	public void setTimeLimit (long millis)
+	{
+		timeLimit = millis; 
+	}
+
+	public void setIncumbent (Solution solution)
+	{
+		incumbent = solution; 
+	}
+
+	public void cancel ()
+	{
+		cancelled = true; 
+	}
+
+	public boolean isStopped ()
+	{
+		return stopped; 
+	}
+
+	public double getGap ()
+	{
+		if (stopped == false)
+			return 0; 
+		
+		return Math.max (0, openBound - bestObjective); 
+	}
+
+	//---------------------------------------------------------------------------
+	// Indicates whether the search should stop now, because the time limit ran
+	// out or it was cancelled. 
+	//---------------------------------------------------------------------------
+	protected boolean isOutOfTime ()
+	{
+		if (cancelled || System.currentTimeMillis() > deadline)
+			stopped = true; 
+		
+		return stopped; 
+	}
+
+	//---------------------------------------------------------------------------
+	// Records that the search was stopped without finishing the given solution
+	// (or anything derived from it), for getGap() 
+	//---------------------------------------------------------------------------
+	protected void skip (Solution solution)
+	{
+		openBound = Math.max (openBound, solution.getBound()); 
+	}
 	
 	//---------------------------------------------------------------------------
 	// Called by search method - updates the best solution which maximizes the
@@ -38,6 +119,40 @@ public abstract class AbstractSolver implements Solver
 			bestObjective = solution.getObjective();
 		}
 	}
+	
+	//---------------------------------------------------------------------------
+	// Indicates whether the given solution, or any solution derived from it, 
+	// could be better than the best solution found so far. Only works for 
+	// solutions whose bound is meaningful (see Solution.getBound()). 
+	//---------------------------------------------------------------------------
+	protected boolean canImprove (Solution solution)
+	{
+		return solution.isFeasible() && solution.getBound() > bestObjective; 
+	}
+	
+	//---------------------------------------------------------------------------
+	// Records that a solution was visited at the given depth
+	//---------------------------------------------------------------------------
+	protected void countNode (int depth)
+	{
+		numNodes++; 
+		maxDepth = Math.max (maxDepth, depth); 
+	}
+	
+	public int getNumNodes ()
+	{
+		return numNodes; 
+	}
+	
+	public int getNumPruned ()
+	{
+		return numPruned; 
+	}
+	
+	public int getMaxDepth ()
+	{
+		return maxDepth; 
+	}
 }
 
 
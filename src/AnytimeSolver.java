@@ -0,0 +1,41 @@
+//******************************************************************************
+// AnytimeSolver.java
+// Kevin Coltin
+//
+// A solver that can be stopped before it's done - either when a time limit 
+// runs out or when cancel() is called from another thread - and then returns
+// the best solution it has found so far. It can be given a solution to start 
+// from (e.g. a quick greedy one), so that it always has something to return.
+//******************************************************************************
+
+ 
+ 
+
+interface AnytimeSolver extends Solver 
+{
+	//Sets the longest the search may run, in milliseconds (0 for no limit) 
+	void setTimeLimit (long millis); 
+	
+	//Sets a solution to start from. The search only looks for better ones. 
+	void setIncumbent (Solution solution); 
+	
+	//Stops the search as soon as possible. Safe to call from another thread.
+	void cancel (); 
+	
+	//Indicates whether the last search was stopped before it was finished 
+	boolean isStopped (); 
+	
+	//Returns how much better than the returned solution's objective a 
+	//solution could possibly be (0 if the search was finished) 
+	double getGap (); 
+	
+	//Statistics about the last search: the number of solutions visited, the
+	//number skipped because of their bound, and the depth of the deepest 
+	//solution visited 
+	int getNumNodes (); 
+	int getNumPruned (); 
+	int getMaxDepth (); 
+}
+
+
+
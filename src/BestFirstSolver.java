@@ -0,0 +1,98 @@
+//******************************************************************************
+// BestFirstSolver.java
+// Kevin Coltin
+//
+// Best-first branch and bound: always expands the unexplored solution with 
+// the highest bound, using a priority queue. Once the highest bound left in 
+// the queue can't beat the best solution found, nothing left can, so the 
+// search stops. This usually expands fewer solutions than a depth-first 
+// search, at the cost of keeping all the unexplored ones in memory. If there
+// is more than one optimal solution, it may return a different one than 
+// DepthFirstSolver would. 
+//******************************************************************************
+
+ 
+ 
+
+import java.util.Comparator; 
+import java.util.PriorityQueue; 
+
+public class BestFirstSolver extends AbstractSolver 
+{
+	protected void search (Solution initial) 
+	{
+		PriorityQueue<Node> queue = new PriorityQueue<Node>(11, 
+			new Comparator<Node>() 
+			{
+				public int compare (Node n1, Node n2)
+				{
+					//highest bound first 
+					return Integer.compare (n2.solution.getBound(), 
+													n1.solution.getBound()); 
+				}
+			}); 
+		
+		queue.add(new Node(initial, 0)); 
+		
+		while (queue.isEmpty() == false)
+		{
+			//If time ran out, the solution at the head of the queue has the 
+			//highest bound of any that are left 
+			if (isOutOfTime())
+			{
+				skip (queue.peek().solution); 
+				break; 
+			}
+			
+			Node node = queue.poll(); 
+			Solution solution = node.solution; 
+			
+			if (solution.isComplete())
+			{
+				countNode (node.depth); 
+				updateBest (solution); 
+				continue; 
+			}
+			
+			//Since this has the highest bound in the queue, if it can't improve
+			//on the best solution then nothing else in the queue can either
+			if (canImprove(solution) == false)
+			{
+				numPruned += queue.size() + 1; 
+				break; 
+			}
+			
+			countNode (node.depth); 
+			
+			Enumeration i = solution.getSuccessors();
+			while (i.hasMoreElements())
+			{
+				Solution successor = (Solution) i.nextElement(); 
+				
+				//Infeasible successors aren't worth keeping around 
+				if (successor.isFeasible())
+					queue.add(new Node(successor, node.depth + 1)); 
+				else
+					numPruned++; 
+			}
+		}
+	}
+	
+	
+	//---------------------------------------------------------------------------
+	// A solution in the queue, and how far down the tree it is 
+	//---------------------------------------------------------------------------
+	private static class Node
+	{
+		Solution solution; 
+		int depth; 
+		
+		//Constructor 
+		Node (Solution s, int d)
+		{
+			solution = s; 
+			depth = d; 
+		}
+	}
+}
+
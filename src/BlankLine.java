@@ -12,6 +12,7 @@
  
 
 import java.io.Serializable;
+import java.io.IOException;
 
 class BlankLine implements Flightable, Serializable 
 {
@@ -24,6 +25,17 @@ class BlankLine implements Flightable, Serializable
 	{
 		flight = flt;
 	}
+
+	//Read from and write to a tournament file (see TabFile)
+	BlankLine (TabFile.Input in) throws IOException
+	{
+		flight = in.readChar();
+	}
+
+	void write (TabFile.Output out) throws IOException
+	{
+		out.writeChar(flight);
+	}
 	
 	public void setFlight (char f)
 	{
@@ -0,0 +1,853 @@
+//*****************************************************************************
+// Blossom.java
+// Kevin Coltin
+//
+// Finds a minimum cost perfect matching on a complete graph using Edmonds'
+// weighted blossom algorithm, in O(n^3) time. Used to pair debates: each team
+// is a vertex, and the cost of an edge is the cost of those two teams
+// debating each other.
+//
+// This follows the primal-dual method as described in Galil, "Efficient
+// algorithms for finding maximum matching in graphs" (1986), and in Joris van
+// Rantwijk's well-known implementation of it. Internally it finds a maximum
+// weight matching among matchings of maximum cardinality, with the weight of
+// each edge being (largest cost - its cost); on a complete graph with an even
+// number of vertices that's the same thing as a minimum cost perfect
+// matching. All weights are doubled so that the dual variables stay integers.
+//*****************************************************************************
+
+
+
+import java.util.ArrayList;
+
+class Blossom
+{
+	private int nvertex;
+	private int nedge;
+
+	private int[][] edges; //each edge is {i, j}; the weight is in weights
+	private long[] weights;
+
+	//endpoint[p] is the vertex at endpoint p; edge k has endpoints 2k and 2k+1
+	private int[] endpoint;
+
+	//neighbend[v] lists the remote endpoints of the edges attached to v
+	private int[][] neighbend;
+
+	//mate[v] is the remote endpoint of the edge matched to v, or -1
+	private int[] mate;
+
+	//Labels of top-level blossoms (and vertices): 0 = free, 1 = S, 2 = T
+	private int[] label;
+
+	//Endpoint through which a blossom (or vertex) got its label, or -1
+	private int[] labelend;
+
+	//Top-level blossom containing each vertex
+	private int[] inblossom;
+
+	private int[] blossomparent;
+	private int[][] blossomchilds;
+	private int[] blossombase;
+	private int[][] blossomendps;
+
+	//Least-slack edge to a different S-blossom, or -1
+	private int[] bestedge;
+	private int[][] blossombestedges;
+
+	private ArrayList<Integer> unusedblossoms;
+	private long[] dualvar;
+	private boolean[] allowedge;
+	private ArrayList<Integer> queue;
+
+
+	//--------------------------------------------------------------------------
+	// Given a symmetric matrix of costs between every pair of an even number of
+	// vertices, returns an array giving the vertex matched to each vertex, such
+	// that the total cost of the matching is as small as possible.
+	//--------------------------------------------------------------------------
+	static int[] minCostPerfectMatching (int[][] cost)
+	{
+		int n = cost.length;
+
+		assert n % 2 == 0;
+
+		int max = 0;
+		for (int i = 0; i < n; i++)
+			for (int j = i + 1; j < n; j++)
+				max = Math.max (max, cost[i][j]);
+
+		Blossom blossom = new Blossom (n);
+
+		int k = 0;
+		for (int i = 0; i < n; i++)
+		{
+			for (int j = i + 1; j < n; j++)
+			{
+				blossom.edges[k][0] = i;
+				blossom.edges[k][1] = j;
+				blossom.weights[k] = 2L * ((long) max - cost[i][j]);
+				k++;
+			}
+		}
+
+		return blossom.solve();
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Constructor - makes a complete graph with n vertices, without weights
+	//--------------------------------------------------------------------------
+	private Blossom (int n)
+	{
+		nvertex = n;
+		nedge = n * (n - 1) / 2;
+		edges = new int[nedge][2];
+		weights = new long[nedge];
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Runs the algorithm and returns the mate of each vertex
+	//--------------------------------------------------------------------------
+	private int[] solve ()
+	{
+		int n = nvertex;
+
+		if (n == 0)
+			return new int[0];
+
+		long maxweight = 0;
+		for (int k = 0; k < nedge; k++)
+			maxweight = Math.max (maxweight, weights[k]);
+
+		endpoint = new int[2*nedge];
+		for (int p = 0; p < 2*nedge; p++)
+			endpoint[p] = edges[p/2][p%2];
+
+		//Every vertex is adjacent to every other one
+		neighbend = new int[n][n-1];
+		int[] count = new int[n];
+		for (int k = 0; k < nedge; k++)
+		{
+			int i = edges[k][0];
+			int j = edges[k][1];
+			neighbend[i][count[i]++] = 2*k + 1;
+			neighbend[j][count[j]++] = 2*k;
+		}
+
+		mate = new int[n];
+		label = new int[2*n];
+		labelend = new int[2*n];
+		inblossom = new int[n];
+		blossomparent = new int[2*n];
+		blossomchilds = new int[2*n][];
+		blossombase = new int[2*n];
+		blossomendps = new int[2*n][];
+		bestedge = new int[2*n];
+		blossombestedges = new int[2*n][];
+		unusedblossoms = new ArrayList<Integer>();
+		dualvar = new long[2*n];
+		allowedge = new boolean[nedge];
+		queue = new ArrayList<Integer>();
+
+		for (int v = 0; v < n; v++)
+		{
+			mate[v] = -1;
+			inblossom[v] = v;
+			blossombase[v] = v;
+			blossombase[n+v] = -1;
+			dualvar[v] = maxweight;
+			unusedblossoms.add(n+v);
+		}
+		for (int b = 0; b < 2*n; b++)
+		{
+			labelend[b] = -1;
+			blossomparent[b] = -1;
+			bestedge[b] = -1;
+		}
+
+		//Each stage finds an augmenting path and uses it to grow the matching
+		for (int t = 0; t < n; t++)
+		{
+			for (int b = 0; b < 2*n; b++)
+			{
+				label[b] = 0;
+				bestedge[b] = -1;
+				if (b >= n)
+					blossombestedges[b] = null;
+			}
+			for (int k = 0; k < nedge; k++)
+				allowedge[k] = false;
+			queue.clear();
+
+			//Label single vertices with S and put them in the queue
+			for (int v = 0; v < n; v++)
+				if (mate[v] == -1 && label[inblossom[v]] == 0)
+					assignLabel (v, 1, -1);
+
+			boolean augmented = false;
+
+			while (true)
+			{
+				//Grow alternating trees from the S-vertices in the queue
+				while (!queue.isEmpty() && !augmented)
+				{
+					int v = queue.remove(queue.size() - 1);
+
+					for (int p : neighbend[v])
+					{
+						int k = p / 2;
+						int w = endpoint[p];
+
+						if (inblossom[v] == inblossom[w])
+							continue;
+
+						long kslack = 0;
+						if (!allowedge[k])
+						{
+							kslack = slack (k);
+							if (kslack <= 0)
+								allowedge[k] = true;
+						}
+
+						if (allowedge[k])
+						{
+							if (label[inblossom[w]] == 0)
+								assignLabel (w, 2, p ^ 1);
+							else if (label[inblossom[w]] == 1)
+							{
+								int base = scanBlossom (v, w);
+								if (base >= 0)
+									addBlossom (base, k);
+								else
+								{
+									augmentMatching (k);
+									augmented = true;
+									break;
+								}
+							}
+							else if (label[w] == 0)
+							{
+								label[w] = 2;
+								labelend[w] = p ^ 1;
+							}
+						}
+						else if (label[inblossom[w]] == 1)
+						{
+							int b = inblossom[v];
+							if (bestedge[b] == -1 || kslack < slack(bestedge[b]))
+								bestedge[b] = k;
+						}
+						else if (label[w] == 0)
+						{
+							if (bestedge[w] == -1 || kslack < slack(bestedge[w]))
+								bestedge[w] = k;
+						}
+					}
+				}
+
+				if (augmented)
+					break;
+
+				//No augmenting path yet, so adjust the dual variables. Find the
+				//largest change that keeps the duals feasible.
+				int deltatype = -1;
+				long delta = 0;
+				int deltaedge = -1;
+				int deltablossom = -1;
+
+				//Free vertex with an edge to an S-vertex
+				for (int v = 0; v < n; v++)
+				{
+					if (label[inblossom[v]] == 0 && bestedge[v] != -1)
+					{
+						long d = slack (bestedge[v]);
+						if (deltatype == -1 || d < delta)
+						{
+							delta = d;
+							deltatype = 2;
+							deltaedge = bestedge[v];
+						}
+					}
+				}
+
+				//Edge between two S-blossoms
+				for (int b = 0; b < 2*n; b++)
+				{
+					if (blossomparent[b] == -1 && label[b] == 1 && bestedge[b] != -1)
+					{
+						long d = slack (bestedge[b]) / 2;
+						if (deltatype == -1 || d < delta)
+						{
+							delta = d;
+							deltatype = 3;
+							deltaedge = bestedge[b];
+						}
+					}
+				}
+
+				//T-blossom whose dual variable reaches zero
+				for (int b = n; b < 2*n; b++)
+				{
+					if (blossombase[b] >= 0 && blossomparent[b] == -1
+						&& label[b] == 2 && (deltatype == -1 || dualvar[b] < delta))
+					{
+						delta = dualvar[b];
+						deltatype = 4;
+						deltablossom = b;
+					}
+				}
+
+				//No further improvement possible; the matching has maximum
+				//cardinality. Do a final delta update to make it optimal.
+				if (deltatype == -1)
+				{
+					deltatype = 1;
+					delta = Long.MAX_VALUE;
+					for (int v = 0; v < n; v++)
+						delta = Math.min (delta, dualvar[v]);
+					delta = Math.max (0, delta);
+				}
+
+				//Update dual variables
+				for (int v = 0; v < n; v++)
+				{
+					if (label[inblossom[v]] == 1)
+						dualvar[v] -= delta;
+					else if (label[inblossom[v]] == 2)
+						dualvar[v] += delta;
+				}
+				for (int b = n; b < 2*n; b++)
+				{
+					if (blossombase[b] >= 0 && blossomparent[b] == -1)
+					{
+						if (label[b] == 1)
+							dualvar[b] += delta;
+						else if (label[b] == 2)
+							dualvar[b] -= delta;
+					}
+				}
+
+				if (deltatype == 1)
+					break;
+				else if (deltatype == 2)
+				{
+					allowedge[deltaedge] = true;
+					int i = edges[deltaedge][0];
+					if (label[inblossom[i]] == 0)
+						i = edges[deltaedge][1];
+					queue.add(i);
+				}
+				else if (deltatype == 3)
+				{
+					allowedge[deltaedge] = true;
+					queue.add(edges[deltaedge][0]);
+				}
+				else
+					expandBlossom (deltablossom, false);
+			}
+
+			if (!augmented)
+				break;
+
+			//End of stage: expand all S-blossoms whose dual variable is zero
+			for (int b = n; b < 2*n; b++)
+			{
+				if (blossomparent[b] == -1 && blossombase[b] >= 0
+					&& label[b] == 1 && dualvar[b] == 0)
+				{
+					expandBlossom (b, true);
+				}
+			}
+		}
+
+		//Convert endpoints to vertices
+		int[] result = new int[n];
+		for (int v = 0; v < n; v++)
+			result[v] = mate[v] >= 0 ? endpoint[mate[v]] : -1;
+
+		return result;
+	}
+
+
+	//Slack of edge k (doesn't work inside blossoms)
+	private long slack (int k)
+	{
+		return dualvar[edges[k][0]] + dualvar[edges[k][1]] - 2 * weights[k];
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Returns all the vertices contained in blossom b
+	//--------------------------------------------------------------------------
+	private ArrayList<Integer> blossomLeaves (int b)
+	{
+		ArrayList<Integer> leaves = new ArrayList<Integer>();
+		addLeaves (b, leaves);
+		return leaves;
+	}
+
+	private void addLeaves (int b, ArrayList<Integer> leaves)
+	{
+		if (b < nvertex)
+			leaves.add(b);
+		else
+			for (int t : blossomchilds[b])
+				addLeaves (t, leaves);
+	}
+
+
+	//Returns the child at position j, counting from the end if j is negative
+	private static int at (int[] list, int j)
+	{
+		return list[j < 0 ? j + list.length : j];
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Assigns label t to the top-level blossom containing vertex w, which got
+	// its label through endpoint p.
+	//--------------------------------------------------------------------------
+	private void assignLabel (int w, int t, int p)
+	{
+		int b = inblossom[w];
+
+		assert label[w] == 0 && label[b] == 0;
+
+		label[w] = label[b] = t;
+		labelend[w] = labelend[b] = p;
+		bestedge[w] = bestedge[b] = -1;
+
+		if (t == 1)
+			queue.addAll(blossomLeaves(b));
+		else if (t == 2)
+		{
+			//The base of a T-blossom is matched; its mate becomes an S-vertex
+			int base = blossombase[b];
+			assert mate[base] >= 0;
+			assignLabel (endpoint[mate[base]], 1, mate[base] ^ 1);
+		}
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Traces back from vertices v and w to find either a new blossom or an
+	// augmenting path. Returns the base vertex of the new blossom, or -1 if an
+	// augmenting path was found.
+	//--------------------------------------------------------------------------
+	private int scanBlossom (int v, int w)
+	{
+		ArrayList<Integer> path = new ArrayList<Integer>();
+		int base = -1;
+
+		while (v != -1 || w != -1)
+		{
+			int b = inblossom[v];
+
+			if ((label[b] & 4) != 0)
+			{
+				base = blossombase[b];
+				break;
+			}
+
+			assert label[b] == 1;
+			path.add(b);
+			label[b] = 5;
+
+			if (labelend[b] == -1)
+				v = -1; //reached the root of the tree
+			else
+			{
+				v = endpoint[labelend[b]];
+				b = inblossom[v];
+				assert label[b] == 2;
+				v = endpoint[labelend[b]];
+			}
+
+			//Alternate between the two paths
+			if (w != -1)
+			{
+				int temp = v;
+				v = w;
+				w = temp;
+			}
+		}
+
+		for (int b : path)
+			label[b] = 1;
+
+		return base;
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Makes a new blossom with the given base, through S-vertices on both
+	// sides of edge k.
+	//--------------------------------------------------------------------------
+	private void addBlossom (int base, int k)
+	{
+		int v = edges[k][0];
+		int w = edges[k][1];
+		int bb = inblossom[base];
+		int bv = inblossom[v];
+		int bw = inblossom[w];
+
+		int b = unusedblossoms.remove(unusedblossoms.size() - 1);
+		blossombase[b] = base;
+		blossomparent[b] = -1;
+		blossomparent[bb] = b;
+
+		ArrayList<Integer> path = new ArrayList<Integer>();
+		ArrayList<Integer> endps = new ArrayList<Integer>();
+
+		//Trace back from v to the base
+		while (bv != bb)
+		{
+			blossomparent[bv] = b;
+			path.add(bv);
+			endps.add(labelend[bv]);
+			v = endpoint[labelend[bv]];
+			bv = inblossom[v];
+		}
+
+		path.add(bb);
+		java.util.Collections.reverse(path);
+		java.util.Collections.reverse(endps);
+		endps.add(2*k);
+
+		//Trace back from w to the base
+		while (bw != bb)
+		{
+			blossomparent[bw] = b;
+			path.add(bw);
+			endps.add(labelend[bw] ^ 1);
+			w = endpoint[labelend[bw]];
+			bw = inblossom[w];
+		}
+
+		blossomchilds[b] = toArray (path);
+		blossomendps[b] = toArray (endps);
+
+		assert label[bb] == 1;
+		label[b] = 1;
+		labelend[b] = labelend[bb];
+		dualvar[b] = 0;
+
+		//Relabel vertices
+		for (int leaf : blossomLeaves(b))
+		{
+			if (label[inblossom[leaf]] == 2)
+				queue.add(leaf); //former T-vertices are now S-vertices
+			inblossom[leaf] = b;
+		}
+
+		//Compute the least-slack edges to other S-blossoms
+		int[] bestedgeto = new int[2*nvertex];
+		for (int i = 0; i < bestedgeto.length; i++)
+			bestedgeto[i] = -1;
+
+		for (int child : path)
+		{
+			ArrayList<Integer> nblist = new ArrayList<Integer>();
+
+			if (blossombestedges[child] == null)
+			{
+				for (int leaf : blossomLeaves(child))
+					for (int p : neighbend[leaf])
+						nblist.add(p / 2);
+			}
+			else
+			{
+				for (int e : blossombestedges[child])
+					nblist.add(e);
+			}
+
+			for (int e : nblist)
+			{
+				int j = edges[e][1];
+				if (inblossom[j] == b)
+					j = edges[e][0];
+
+				int bj = inblossom[j];
+
+				if (bj != b && label[bj] == 1
+					&& (bestedgeto[bj] == -1 || slack(e) < slack(bestedgeto[bj])))
+				{
+					bestedgeto[bj] = e;
+				}
+			}
+
+			blossombestedges[child] = null;
+			bestedge[child] = -1;
+		}
+
+		ArrayList<Integer> best = new ArrayList<Integer>();
+		for (int e : bestedgeto)
+			if (e != -1)
+				best.add(e);
+		blossombestedges[b] = toArray (best);
+
+		bestedge[b] = -1;
+		for (int e : blossombestedges[b])
+			if (bestedge[b] == -1 || slack(e) < slack(bestedge[b]))
+				bestedge[b] = e;
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Expands the given top-level blossom.
+	//--------------------------------------------------------------------------
+	private void expandBlossom (int b, boolean endstage)
+	{
+		//Convert sub-blossoms into top-level blossoms
+		for (int s : blossomchilds[b])
+		{
+			blossomparent[s] = -1;
+
+			if (s < nvertex)
+				inblossom[s] = s;
+			else if (endstage && dualvar[s] == 0)
+				expandBlossom (s, endstage); //recursively expand
+			else
+				for (int leaf : blossomLeaves(s))
+					inblossom[leaf] = s;
+		}
+
+		//If we expand a T-blossom during a stage, its sub-blossoms must be
+		//relabeled.
+		if (!endstage && label[b] == 2)
+		{
+			int[] childs = blossomchilds[b];
+			int[] endps = blossomendps[b];
+
+			//Start at the sub-blossom through which the expanding blossom
+			//obtained its label, and relabel sub-blossoms until we reach the base
+			int entrychild = inblossom[endpoint[labelend[b] ^ 1]];
+			int j = indexOf (childs, entrychild);
+			int jstep, endptrick;
+
+			if ((j & 1) != 0)
+			{
+				//Start index is odd; go forward and wrap
+				j -= childs.length;
+				jstep = 1;
+				endptrick = 0;
+			}
+			else
+			{
+				//Start index is even; go backward
+				jstep = -1;
+				endptrick = 1;
+			}
+
+			//Move along the blossom until we get to the base
+			int p = labelend[b];
+			while (j != 0)
+			{
+				//Relabel the T-sub-blossom
+				label[endpoint[p ^ 1]] = 0;
+				label[endpoint[at(endps, j - endptrick) ^ endptrick ^ 1]] = 0;
+				assignLabel (endpoint[p ^ 1], 2, p);
+
+				//Step to the next S-sub-blossom and note its forward endpoint
+				allowedge[at(endps, j - endptrick) / 2] = true;
+				j += jstep;
+				p = at(endps, j - endptrick) ^ endptrick;
+
+				//Step to the next T-sub-blossom
+				allowedge[p / 2] = true;
+				j += jstep;
+			}
+
+			//Relabel the base T-sub-blossom without stepping through to its mate
+			int bv = at(childs, j);
+			label[endpoint[p ^ 1]] = label[bv] = 2;
+			labelend[endpoint[p ^ 1]] = labelend[bv] = p;
+			bestedge[bv] = -1;
+
+			//Continue along the blossom until we get back to entrychild
+			j += jstep;
+			while (at(childs, j) != entrychild)
+			{
+				bv = at(childs, j);
+
+				if (label[bv] == 1)
+				{
+					//Already labeled S through one of its neighbours
+					j += jstep;
+					continue;
+				}
+
+				//If the sub-blossom contains a reachable vertex, label it T
+				int v = -1;
+				for (int leaf : blossomLeaves(bv))
+				{
+					v = leaf;
+					if (label[leaf] != 0)
+						break;
+				}
+
+				if (label[v] != 0)
+				{
+					assert label[v] == 2 && inblossom[v] == bv;
+					label[v] = 0;
+					label[endpoint[mate[blossombase[bv]]]] = 0;
+					assignLabel (v, 2, labelend[v]);
+				}
+
+				j += jstep;
+			}
+		}
+
+		//Recycle the blossom number
+		label[b] = labelend[b] = -1;
+		blossomchilds[b] = blossomendps[b] = null;
+		blossombase[b] = -1;
+		blossombestedges[b] = null;
+		bestedge[b] = -1;
+		unusedblossoms.add(b);
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Swaps matched and unmatched edges over an alternating path through
+	// blossom b between vertex v and the base vertex.
+	//--------------------------------------------------------------------------
+	private void augmentBlossom (int b, int v)
+	{
+		//Bubble up through the blossom tree from v to an immediate sub-blossom
+		//of b
+		int t = v;
+		while (blossomparent[t] != b)
+			t = blossomparent[t];
+
+		//Recursively deal with the first sub-blossom
+		if (t >= nvertex)
+			augmentBlossom (t, v);
+
+		int[] childs = blossomchilds[b];
+		int[] endps = blossomendps[b];
+		int i = indexOf (childs, t);
+		int j = i;
+		int jstep, endptrick;
+
+		if ((i & 1) != 0)
+		{
+			j -= childs.length;
+			jstep = 1;
+			endptrick = 0;
+		}
+		else
+		{
+			jstep = -1;
+			endptrick = 1;
+		}
+
+		//Move along the blossom until we get to the base
+		while (j != 0)
+		{
+			j += jstep;
+			t = at(childs, j);
+			int p = at(endps, j - endptrick) ^ endptrick;
+			if (t >= nvertex)
+				augmentBlossom (t, endpoint[p]);
+
+			j += jstep;
+			t = at(childs, j);
+			if (t >= nvertex)
+				augmentBlossom (t, endpoint[p ^ 1]);
+
+			//Match the edge connecting those sub-blossoms
+			mate[endpoint[p]] = p ^ 1;
+			mate[endpoint[p ^ 1]] = p;
+		}
+
+		//Rotate the list of sub-blossoms to put the new base at the front
+		blossomchilds[b] = rotate (childs, i);
+		blossomendps[b] = rotate (endps, i);
+		blossombase[b] = blossombase[blossomchilds[b][0]];
+
+		assert blossombase[b] == v;
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Swaps matched and unmatched edges over an alternating path between two
+	// single vertices, which goes through edge k.
+	//--------------------------------------------------------------------------
+	private void augmentMatching (int k)
+	{
+		int[][] starts = { {edges[k][0], 2*k + 1}, {edges[k][1], 2*k} };
+
+		for (int[] start : starts)
+		{
+			int s = start[0];
+			int p = start[1];
+
+			//Match vertex s to remote endpoint p, then trace back to the root
+			while (true)
+			{
+				int bs = inblossom[s];
+				assert label[bs] == 1;
+
+				if (bs >= nvertex)
+					augmentBlossom (bs, s);
+				mate[s] = p;
+
+				//Stop at the root of the tree
+				if (labelend[bs] == -1)
+					break;
+
+				int t = endpoint[labelend[bs]];
+				int bt = inblossom[t];
+				assert label[bt] == 2;
+
+				//Trace one step back
+				s = endpoint[labelend[bt]];
+				int j = endpoint[labelend[bt] ^ 1];
+
+				if (bt >= nvertex)
+					augmentBlossom (bt, j);
+				mate[j] = labelend[bt];
+
+				p = labelend[bt] ^ 1;
+			}
+		}
+	}
+
+
+	//Returns the index of value in the array
+	private static int indexOf (int[] list, int value)
+	{
+		for (int i = 0; i < list.length; i++)
+			if (list[i] == value)
+				return i;
+
+		return -1;
+	}
+
+
+	//Returns the list rotated so that index i is at the front
+	private static int[] rotate (int[] list, int i)
+	{
+		int[] rotated = new int[list.length];
+		for (int k = 0; k < list.length; k++)
+			rotated[k] = list[(i + k) % list.length];
+
+		return rotated;
+	}
+
+
+	private static int[] toArray (ArrayList<Integer> list)
+	{
+		int[] array = new int[list.size()];
+		for (int i = 0; i < array.length; i++)
+			array[i] = list.get(i);
+
+		return array;
+	}
+}
+
+
+
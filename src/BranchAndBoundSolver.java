@@ -0,0 +1,59 @@
+//******************************************************************************
+// BranchAndBoundSolver.java
+// Kevin Coltin
+//
+// Depth-first branch and bound, based on the solver defined by 
+// http://www.brpreiss.com/books/opus5/html/page446.html  It searches in the 
+// same order as DepthFirstSolver, but doesn't go down a branch whose bound 
+// shows it can't do better than the best solution found so far. Since a 
+// branch is only skipped if none of its solutions could replace the best one,
+// it returns the same solution DepthFirstSolver would. 
+//******************************************************************************
+
+ 
+ 
+
+public class BranchAndBoundSolver extends AbstractSolver 
+{
+	protected void search (Solution initial) 
+	{
+		search (initial, 0); 
+	}
+	
+	
+	private void search (Solution solution, int depth)
+	{
+		countNode (depth); 
+		
+		if (solution.isComplete())
+		{
+			updateBest(solution); 
+		}
+		else if (canImprove(solution))
+		{
+			Enumeration i = solution.getSuccessors();
+			while (i.hasMoreElements())
+			{
+				//If time ran out, this solution's bound covers everything below
+				//it that wasn't searched 
+				if (isOutOfTime())
+				{
+					skip (solution); 
+					return; 
+				}
+				
+				Solution successor = (Solution) i.nextElement(); 
+				
+				//The best solution may have improved while searching the 
+				//previous successor, so check the bound again before each one 
+				if (successor.isComplete() || canImprove(successor))
+					search (successor, depth + 1); 
+				else
+					numPruned++; 
+			}
+		}
+		else
+			numPruned++; 
+	}	
+}
+
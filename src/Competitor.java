@@ -9,6 +9,7 @@
  
 
 import java.io.Serializable;
+import java.io.IOException;
 
 class Competitor implements Serializable, Comparable 
 {
@@ -42,6 +43,26 @@ class Competitor implements Serializable, Comparable
 	}
 
 
+	//--------------------------------------------------------------------------
+	// Read from and write to a tournament file (see TabFile)
+	//--------------------------------------------------------------------------
+	Competitor (TabFile.Input in) throws IOException
+	{
+		firstName = in.readString();
+		lastName = in.readString();
+		school = in.readSchool();
+		lab = in.readInt();
+	}
+
+	void write (TabFile.Output out) throws IOException
+	{
+		out.writeString(firstName);
+		out.writeString(lastName);
+		out.writeRef(school);
+		out.writeInt(lab);
+	}
+
+
 	//--------------------------------------------------------------------------
 	// Mutator and accessor methods
 	//--------------------------------------------------------------------------
@@ -107,6 +128,11 @@ class Competitor implements Serializable, Comparable
 					&& lastName.equals(other.getLastName());
 	}
 
+	public int hashCode ()
+	{
+		return 31 * firstName.hashCode() + lastName.hashCode(); 
+	}
+
 
 	//--------------------------------------------------------------------------
 	// Compare, based on comparing last and then first names alphabetically 
@@ -0,0 +1,293 @@
+//*****************************************************************************
+// ConflictCache.java
+// Kevin Coltin
+//
+// Keeps the conflicts that ConflictChecker has found in each container on a
+// round's pairings (true and pseudo debates and Assignments), so that a debate
+// doesn't have to be checked again every time the RoundPanel is redrawn. Each
+// round's ConflictChecker has one.
+//
+// When anything before the round changes (see Round.getHistoryVersion()), or
+// the round is flighted or unflighted, all of the conflicts are thrown away.
+// But when only the pairings of the round change - as when two teams, judges
+// or rooms are swapped on the RoundPanel - only the ones that could have
+// changed are: those of the containers that changed, and those of any other
+// container that has one of their judges in the same flight or one of their
+// rooms (since those could now be double booked, or have a resident in them),
+// or that is a bye if one of them is or was a bye (since there should only be
+// one bye per round). Which containers those were is kept too, so that the
+// RoundPanel can redraw just their rows after a swap (see takeChanged()).
+//*****************************************************************************
+
+
+
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+
+class ConflictCache
+{
+	private Round round;
+
+	//Conflicts found in each container, and what was in every container in the
+	//round when they were found
+	private IdentityHashMap<Flightable, Conflict[]> found;
+	private IdentityHashMap<Flightable, Contents> contents;
+
+	//Versions (see Round.getHistoryVersion() and getPairingsVersion()) the
+	//conflicts were found at, and whether the round was flighted. The versions
+	//start at -1 so that nothing is used before it's found.
+	private long historyVersion = -1, pairingsVersion = -1;
+	private boolean flighted;
+
+	//Containers whose conflicts might have changed since takeChanged() was
+	//last called, or null if all of them might have
+	private IdentityHashMap<Flightable, Flightable> changedContainers;
+
+	//Returned by get() for a container whose conflicts haven't been found
+	//(since null means there are no conflicts)
+	static final Conflict[] UNKNOWN = new Conflict[0];
+
+
+	//---------------------------------------------------------------------------
+	// What's in a container, as far as its conflicts or anyone else's are
+	// concerned. "Items" are compared to tell whether the container changed;
+	// "keys" name the things other containers' conflicts depend on.
+	//---------------------------------------------------------------------------
+	private static class Contents
+	{
+		ArrayList<Object> items = new ArrayList<Object>();
+		ArrayList<String> keys = new ArrayList<String>();
+
+		//Constructor
+		Contents (Flightable container)
+		{
+			char flight = container.getFlight();
+
+			items.add(container.getClass());
+			items.add(flight);
+
+			if (container instanceof Debate)
+			{
+				Debate debate = (Debate) container;
+
+				items.add(debate.getTeam1());
+				items.add(debate.getTeam2());
+				items.add(debate.isSidelocked());
+
+				if (debate.isOneTeamBye())
+					keys.add("bye");
+			}
+
+			if (container instanceof JudgeInhabitable)
+			{
+				for (Judge judge : ((JudgeInhabitable) container).getJudges())
+				{
+					items.add(judge.getName());
+					keys.add("judge " + flight + " " + judge.getName());
+				}
+			}
+
+			if (container instanceof RoomInhabitable
+				&& ((RoomInhabitable) container).getRoom() != null)
+			{
+				String room = ((RoomInhabitable) container).getRoom().getName();
+
+				items.add(room);
+				keys.add("room " + room);
+			}
+		}
+
+		//Indicates whether anything this container's conflicts depend on is in
+		//the given set of keys
+		boolean dependsOn (HashSet<String> changed)
+		{
+			for (String key : keys)
+				if (changed.contains(key))
+					return true;
+
+			return false;
+		}
+
+		//Same contents. Entries are compared by identity, since different
+		//entries can have equal students while one is being edited.
+		boolean isSame (Contents other)
+		{
+			if (items.size() != other.items.size())
+				return false;
+
+			for (int i = 0; i < items.size(); i++)
+			{
+				Object item = items.get(i);
+				Object otherItem = other.items.get(i);
+
+				if (item instanceof Entry || otherItem instanceof Entry
+					|| item == null || otherItem == null)
+				{
+					if (item != otherItem)
+						return false;
+				}
+				else if (item.equals(otherItem) == false)
+					return false;
+			}
+
+			return true;
+		}
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Constructor
+	//---------------------------------------------------------------------------
+	ConflictCache (Round r)
+	{
+		round = r;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the conflicts that were found in this container, or UNKNOWN if
+	// they haven't been found since it (or something it depends on) changed.
+	//---------------------------------------------------------------------------
+	synchronized Conflict[] get (Flightable container)
+	{
+		refresh();
+
+		if (found.containsKey(container) == false)
+			return UNKNOWN;
+
+		return found.get(container);
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Keeps the conflicts found in this container and returns them. They're
+	// only kept if the round hasn't changed since the last call to get(), since
+	// otherwise they might have been found in the round as it was before.
+	//---------------------------------------------------------------------------
+	synchronized Conflict[] put (Flightable container, Conflict[] conflicts)
+	{
+		if (round.getHistoryVersion() == historyVersion
+			&& round.getPairingsVersion() == pairingsVersion)
+			found.put(container, conflicts);
+
+		return conflicts;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the containers on the round's pairings (or pseudo debates) whose
+	// conflicts might have changed since this was last called, or null if all
+	// of them might have, and starts keeping track over again
+	//---------------------------------------------------------------------------
+	synchronized Set<Flightable> takeChanged ()
+	{
+		refresh();
+
+		IdentityHashMap<Flightable, Flightable> taken = changedContainers;
+		changedContainers = new IdentityHashMap<Flightable, Flightable>();
+
+		return taken == null ? null : taken.keySet();
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Throws away whatever is out of date, if the round has changed
+	//---------------------------------------------------------------------------
+	private void refresh ()
+	{
+		long history = round.getHistoryVersion();
+		long pairings = round.getPairingsVersion();
+
+		if (history == historyVersion && pairings == pairingsVersion)
+			return;
+
+		//What's in every container now. (A debate might not be on the pairings
+		//yet, but still counts as a bye.)
+		IdentityHashMap<Flightable, Contents> now =
+											new IdentityHashMap<Flightable, Contents>();
+
+		for (Flightable container : round.getItemsOnPairings())
+			now.put(container, new Contents(container));
+		for (Debate debate : round.getDebates())
+			if (now.containsKey(debate) == false)
+				now.put(debate, new Contents(debate));
+
+		if (history != historyVersion || round.isFlighted() != flighted)
+		{
+			found = new IdentityHashMap<Flightable, Conflict[]>();
+			changedContainers = null;
+		}
+		else
+			forgetChanged (now);
+
+		contents = now;
+		historyVersion = history;
+		pairingsVersion = pairings;
+		flighted = round.isFlighted();
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Throws away the conflicts of the containers that changed, and those of
+	// the containers that depend on them, given what's in the containers now.
+	//---------------------------------------------------------------------------
+	private void forgetChanged (IdentityHashMap<Flightable, Contents> now)
+	{
+		//First, get the keys of everything that changed - both what was in the
+		//containers and what is now
+		HashSet<String> changed = new HashSet<String>();
+
+		for (Flightable container : contents.keySet())
+		{
+			Contents before = contents.get(container);
+			Contents after = now.get(container);
+
+			if (after == null || after.isSame(before) == false)
+			{
+				changed.addAll(before.keys);
+
+				if (after != null)
+					changed.addAll(after.keys);
+			}
+		}
+
+		for (Flightable container : now.keySet())
+			if (contents.containsKey(container) == false)
+				changed.addAll(now.get(container).keys);
+
+		//Then, note which containers changed or depend on them, and throw away
+		//their conflicts. (A container that wasn't in the round when its
+		//conflicts were found isn't known to be the same, so it's thrown away
+		//too.)
+		if (changedContainers != null)
+		{
+			for (Flightable container : now.keySet())
+			{
+				Contents before = contents.get(container);
+				Contents after = now.get(container);
+
+				if (before == null || after.isSame(before) == false
+					|| after.dependsOn(changed))
+					changedContainers.put(container, container);
+			}
+		}
+
+		Iterator<Flightable> i = found.keySet().iterator();
+
+		while (i.hasNext())
+		{
+			Flightable container = i.next();
+			Contents before = contents.get(container);
+			Contents after = now.get(container);
+
+			if (before == null || after == null || after.isSame(before) == false
+				|| after.dependsOn(changed))
+				i.remove();
+		}
+	}
+}
@@ -5,30 +5,39 @@
 // This is a utility class used to check whether there is any conflict in a 
 // debate that has been paired. It returns a Conflict object or array of 
 // Conflict objects representing the conflict(s). 
+//
+// Each round has its own ConflictChecker (see Round.getConflictChecker()), 
+// which only checks that round. Since nothing is shared between them but the 
+// tournament's HistoryIndex and StrikeMatrix (which are synchronized), 
+// different rounds can be checked at the same time on different threads, and 
+// so can one round as long as its debates aren't being changed. 
 //*****************************************************************************
 
  
  
 
 import java.util.ArrayList; 
+import java.util.Set; 
 
 class ConflictChecker 
 {
-	private static Tournament tournament; 
-	private static Round round; 
+	private final Tournament tournament; 
+	private final Round round; 
+	
+	//Conflicts found in each container on the pairings (see ConflictCache) 
+	private final ConflictCache cache; 
 
 
 	//---------------------------------------------------------------------------
-	// Sets which round it is dealing with. Round is a static member - rather 
-	// than an argument passed to each method - because it would be too much of a
-	// pain to have to pass it to literally every single method. So, it is reset
-	// by calling this method by RoundPanel or Pair whenever it starts to work on
-	// a different round. 
+	// Constructor. The round is a data member - rather than an argument passed 
+	// to each method - because it would be too much of a pain to have to pass it
+	// to literally every single method. 
 	//---------------------------------------------------------------------------
-	static void setRound (Round r)
+	ConflictChecker (Round r)
 	{
 		round = r;
 		tournament = round.getTournament(); 
+		cache = new ConflictCache(round); 
 	}
 
 
@@ -97,11 +106,11 @@ class ConflictChecker
 	// This version of the method is just called by the pairings algorithm only 
 	// when matching debaters. It does not account for sides, rooms, or judges.
 	//---------------------------------------------------------------------------
-	static Conflict[] checkForConflict (Entry team1, Entry team2)
+	Conflict[] checkForConflict (Entry team1, Entry team2)
 	{
-		//Just call the method to check if it's okay that these two teams hit each
-		//other
-		return checkMatchup (team1, team2);
+		//Just get the conflicts of these two teams hitting each other, which the
+		//round keeps so they don't have to be checked again 
+		return round.getCostMatrix().getMatchupConflicts (team1, team2);
 	}
 
 
@@ -110,7 +119,7 @@ class ConflictChecker
 	// Called by Pair when assigning judges to round. If "sidelocked" is true, 
 	// team1 is aff and team2 is neg. 
 	//---------------------------------------------------------------------------
-	static Conflict[] checkForConflict (Entry team1, Entry team2, 
+	Conflict[] checkForConflict (Entry team1, Entry team2,
 								boolean sidelocked, Judge judge)
 	{
 		//Just need to check if the judge is okay given the teams and (if 
@@ -130,7 +139,7 @@ class ConflictChecker
 	// Called by Pair when assigning rooms to round. (This method is not
 	// currently used by Pair, but may be in the future.)
 	//---------------------------------------------------------------------------
-	static Conflict[] checkForConflict (Entry team1, Entry team2, 
+	Conflict[] checkForConflict (Entry team1, Entry team2,
 										ArrayList<Judge> panel, Room room)
 	{
 		//As with the above method to check the judge(s), this doesn't need to 
@@ -150,7 +159,7 @@ class ConflictChecker
 	// already be assigned to one or two True Debates in the round, the question
 	// is whether this room should be added to it.  
 	//---------------------------------------------------------------------------
-	static Conflict[] checkForConflict (Judge judge, Room room)
+	Conflict[] checkForConflict (Judge judge, Room room)
 	{
 		ArrayList<Conflict> conflicts = new ArrayList<Conflict>();
 	
@@ -194,14 +203,69 @@ class ConflictChecker
 // Second set of methods - these are used by Debates, JudgeInhabitable, and 
 // RoomInhabitable containers (i.e., true and pseudo debates and Assignments) to
 // determine the color that an entity should appear on the RoundPanel. 
-	
+//
+// Since the RoundPanel asks for the colors of every label on it each time it's
+// redrawn, and a debate has several labels, the conflicts in each container 
+// are only found once and then kept until something they depend on changes
+// (see ConflictCache). The checkForConflict() methods just below are the ones
+// that are called from outside; the findConflicts() methods after them do the
+// actual checking. 
+
+	Conflict[] checkForConflict (Debate debate)
+	{
+		Conflict[] conflicts = cache.get(debate); 
+		
+		if (conflicts == ConflictCache.UNKNOWN)
+			conflicts = cache.put(debate, findConflicts(debate)); 
+		
+		return conflicts; 
+	}
+
+	Conflict[] checkForConflict (JudgeRoomAssignment assnmnt)
+	{
+		Conflict[] conflicts = cache.get(assnmnt); 
+		
+		if (conflicts == ConflictCache.UNKNOWN)
+			conflicts = cache.put(assnmnt, findConflicts(assnmnt)); 
+		
+		return conflicts; 
+	}
+
+	Conflict[] checkForConflict (JudgeAssignment assnmnt)
+	{
+		Conflict[] conflicts = cache.get(assnmnt); 
+		
+		if (conflicts == ConflictCache.UNKNOWN)
+			conflicts = cache.put(assnmnt, findConflicts(assnmnt)); 
+		
+		return conflicts; 
+	}
+
+	Conflict[] checkForConflict (RoomAssignment assnmnt)
+	{
+		Conflict[] conflicts = cache.get(assnmnt); 
+		
+		if (conflicts == ConflictCache.UNKNOWN)
+			conflicts = cache.put(assnmnt, findConflicts(assnmnt)); 
+		
+		return conflicts; 
+	}
+
+	//Returns the containers whose conflicts might have changed since this was
+	//last called, or null if all of them might have (see ConflictCache) 
+	Set<Flightable> takeChanged ()
+	{
+		return cache.takeChanged(); 
+	}
+
+
 	//---------------------------------------------------------------------------
 	// Checks whether this particular debate has any conflicts. Returns an array
 	// containing the conflicts, or a null return if there are none. This version
 	// of the method is called on a [true] debate in the itemsonpairings array, 
 	// or by the pairing algorithm when adding judges or rooms. 
 	//---------------------------------------------------------------------------
-	static Conflict[] checkForConflict (Debate debate)
+	private Conflict[] findConflicts (Debate debate)
 	{
 		//If it's a pseudo debate, only need to check if there are "bye" problems.
 		if (debate.isPseudoDebate())
@@ -213,7 +277,8 @@ class ConflictChecker
 		
 		//If there are two debaters, check for conflicts between them 
 		if (team1 != null && team2 != null)
-			conflicts = add (conflicts, checkMatchup(team1, team2)); 
+			conflicts = add (conflicts, 
+							round.getCostMatrix().getMatchupConflicts(team1, team2)); 
 			
 		//If the sides are set, check for side conflicts
 		if (debate.isSidelocked())
@@ -261,7 +326,7 @@ class ConflictChecker
 	//---------------------------------------------------------------------------
 	// Version called on a judgeroomassignment 
 	//---------------------------------------------------------------------------
-	static Conflict[] checkForConflict (JudgeRoomAssignment assnmnt)
+	private Conflict[] findConflicts (JudgeRoomAssignment assnmnt)
 	{
 		ArrayList<Judge> judges = assnmnt.getJudges(); 
 		Room room = assnmnt.getRoom(); 
@@ -284,7 +349,7 @@ class ConflictChecker
 	//---------------------------------------------------------------------------
 	// Version called on a judgeassignment 
 	//---------------------------------------------------------------------------
-	static Conflict[] checkForConflict (JudgeAssignment assnmnt)
+	private Conflict[] findConflicts (JudgeAssignment assnmnt)
 	{
 		Conflict[] conflicts = null; 
 		
@@ -299,7 +364,7 @@ class ConflictChecker
 	//---------------------------------------------------------------------------
 	// Version called on a roomassignment 
 	//---------------------------------------------------------------------------
-	static Conflict[] checkForConflict (RoomAssignment assnmnt)
+	private Conflict[] findConflicts (RoomAssignment assnmnt)
 	{
 		//Only need to check the room itself 
 		return checkRoom (assnmnt.getRoom(), assnmnt.getFlight()); 
@@ -307,6 +372,142 @@ class ConflictChecker
 
 
 
+//******************************************************************************
+// Scores - these check for the same conflicts as the methods used by the Pair
+// algorithm (checkMatchup(), checkJudge(), and checkForConflict(Judge, Room))
+// but don't make any Conflict objects; they just add up the cost. They're used
+// by CostMatrix, which fills in the costs for a whole round at a time. 
+//
+// A score is a long whose low 32 bits are the total cost (the sum of the 
+// problems' values) and whose high 32 bits have a 1 in the bit for each 
+// Problem (by ordinal) that was found. Use getCost() and hasProblem() to read
+// them. 
+
+	static int getCost (long score)
+	{
+		return (int) score; 
+	}
+
+	static boolean hasProblem (long score, Conflict.Problem problem)
+	{
+		return (score & 1L << 32 + problem.ordinal()) != 0; 
+	}
+
+	//Adds a problem to a score 
+	private static long add (long score, Conflict.Problem problem)
+	{
+		return (score | 1L << 32 + problem.ordinal()) + problem.value; 
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Score of two teams hitting each other - see checkMatchup(). 
+	//---------------------------------------------------------------------------
+	long scoreMatchup (Entry team1, Entry team2)
+	{
+		long score = 0; 
+		boolean elim = round instanceof ElimRound; 
+		
+		if (elim == false && team1.hasFacedTwice(team2, round))
+			score = add (score, Conflict.Problem.DEBATING_THIRD_TIME); 
+		else if (elim == false && team1.hasFaced(team2, round))
+			score = add (score, Conflict.Problem.DEBATING_AGAIN); 
+		
+		if (elim == false && team1.isDueForSameSide(team2, round))
+			score = add (score, Conflict.Problem.DUE_FOR_SAME_SIDE); 
+		
+		if (elim == false && team1.isSameSchool(team2))
+			score = add (score, Conflict.Problem.SAME_SCHOOL); 
+		
+		if (round.isPowermatched())
+		{
+			int difference = Math.abs(team1.getWins() - team2.getWins()); 
+			
+			if (difference == 1)
+				score = add (score, Conflict.Problem.POWER_MATCH_1); 
+			else if (difference > 1)
+				score = add (score, Conflict.Problem.POWER_MATCH_2); 
+		}
+		else if (team1.isSameLab(team2) == false)
+			score = add (score, Conflict.Problem.DIFFERENT_LAB); 
+		
+		return score; 
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Score of a judge judging these teams - see checkJudge(Judge, Entry, 
+	// Entry, boolean). 
+	//---------------------------------------------------------------------------
+	long scoreJudge (Judge judge, Entry team1, Entry team2,
+									boolean sidelocked)
+	{
+		long score = 0; 
+		StrikeMatrix strikes = tournament.getStrikes(); 
+		HistoryIndex history = tournament.getHistory(); 
+		
+		if (strikes.isStudentStruck(judge, team1, team2))
+			score = add (score, Conflict.Problem.STUDENT_STRIKE); 
+		if (strikes.isSchoolStruck(judge, team1, team2))
+			score = add (score, Conflict.Problem.SCHOOL_STRIKE); 
+		
+		//Repeats 
+		if (sidelocked 
+			&& ((team1 != null 
+			&& history.getTimesJudged(judge, team1, Side.AFF, round) > 0)
+			|| (team2 != null 
+			&& history.getTimesJudged(judge, team2, Side.NEG, round) > 0)))
+		{
+			score = add (score, round instanceof ElimRound 
+										? Conflict.Problem.REPEAT_JUDGE_ELIMS 
+										: Conflict.Problem.REPEAT_JUDGE_SAME_SIDE); 
+		}
+		else if ((team1 != null 
+			&& history.getTimesJudged(judge, team1, Side.NONE, round) > 0)
+			|| (team2 != null 
+			&& history.getTimesJudged(judge, team2, Side.NONE, round) > 0))
+		{
+			score = add (score, round instanceof ElimRound 
+										? Conflict.Problem.REPEAT_JUDGE_ELIMS 
+										: Conflict.Problem.REPEAT_JUDGE); 
+		}
+		
+		//Priority 
+		Priority.PriorityLevel priority = judge.getPriority(round); 
+		if (priority == Priority.PriorityLevel.Low)
+			score = add (score, Conflict.Problem.LOW_PRIORITY); 
+		else if (priority == Priority.PriorityLevel.Normal)
+			score = add (score, Conflict.Problem.NORMAL_PRIORITY); 
+		
+		return add (score, Conflict.Problem.NUM_RDS_JUDGED); 
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Score of a judge (already assigned to a debate this round) being in this
+	// room - see checkForConflict(Judge, Room). 
+	//---------------------------------------------------------------------------
+	long scoreRoom (Judge judge, Room room)
+	{
+		long score = 0; 
+		
+		if (hasResident(room, 'A') == false 
+			&& (round.isFlighted() == false || hasResident(room, 'B') == false))
+			score = add (score, Conflict.Problem.NO_RESIDENTS); 
+		
+		score = add (score, Conflict.Problem.RATING); 
+		
+		Priority.PriorityLevel priority = room.getPriority(round); 
+		if (priority == Priority.PriorityLevel.Low)
+			score = add (score, Conflict.Problem.LOW_ROOM_PRIORITY); 
+		else if (priority == Priority.PriorityLevel.Normal)
+			score = add (score, Conflict.Problem.NORMAL_ROOM_PRIORITY); 
+		
+		return add (score, Conflict.Problem.JUDGE_COMFORT); 
+	}
+
+
+
 //******************************************************************************
 // Lastly, the remainder of the class is internal methods used by all of the 
 // above methods. These check for the existence of specific types of conflict. 
@@ -339,9 +540,10 @@ class ConflictChecker
 	//---------------------------------------------------------------------------
 	// Checks for conflicts resulting from the matchup (the fact that two entries
 	// are hitting each other, regardless of side/room/judge). Note that none of
-	// these concerns are relevant in outrounds.  
+	// these concerns are relevant in outrounds. This is called by CostMatrix, 
+	// which keeps the results; everything else should get them from there. 
 	//---------------------------------------------------------------------------
-	private static Conflict[] checkMatchup (Entry team1, Entry team2)
+	Conflict[] checkMatchup (Entry team1, Entry team2)
 	{
 		ArrayList<Conflict> conflicts = new ArrayList<Conflict>(); 
 	
@@ -401,7 +603,7 @@ class ConflictChecker
 	// regardless of judge or opponent. "side" should be one of the ints defined
 	// in Entry - Side.AFF or Side.NEG. 
 	//---------------------------------------------------------------------------
-	private static Conflict[] checkSingleSide (Entry entry, Side side)
+	private Conflict[] checkSingleSide (Entry entry, Side side)
 	{
 		if (entry.getSideDueFor(round) != Side.NONE 
 			&& entry.getSideDueFor(round) != side)
@@ -426,7 +628,7 @@ class ConflictChecker
 	// that's already covered by checkSingleSide - it ONLY checks whether the 
 	// teams have previously debated on the same side. 
 	//---------------------------------------------------------------------------
-	private static Conflict[] checkSides (Entry aff, Entry neg)
+	private Conflict[] checkSides (Entry aff, Entry neg)
 	{
 		//this int is the net number of times that "aff" has debated "neg" on the 
 		//aff. E.g., if they've debated thrice and "aff" was aff twice, it would 
@@ -476,7 +678,7 @@ class ConflictChecker
 	// debate bye, so the method only returns conflicts pertaining to that 
 	// particular debate.  
 	//---------------------------------------------------------------------------
-	private static Conflict[] checkByes (Debate bye)
+	private Conflict[] checkByes (Debate bye)
 	{
 		//Make sure the debate is actually a bye 
 		if (bye.isOneTeamBye() == false)
@@ -497,7 +699,8 @@ class ConflictChecker
 			assert bye.getTeam1() != null; 
 			
 			Entry entry = bye.getTeam1();
-			Entry opponent = Sort.getComplement ((ElimRound) round, entry); 
+			Entry opponent = tournament.getBracket().getComplement (
+																	(ElimRound) round, entry);
 			
 			//If opponent also has a bye, ther'es a conflict. 
 			Debate oppsDebate = round.getDebate(opponent);
@@ -520,7 +723,7 @@ class ConflictChecker
 	// unavailable or if they are assigned to multiple debates in the same 
 	// flight.
 	//---------------------------------------------------------------------------
-	private static Conflict[] checkJudge (Judge judge, char flight)
+	private Conflict[] checkJudge (Judge judge, char flight)
 	{
 		ArrayList<Conflict> conflicts = new ArrayList<Conflict>();
 	
@@ -532,17 +735,7 @@ class ConflictChecker
 		
 		
 		//Create error if judge is assigned to multiple debates in the same flight
-		int n = 0; //number of debates the judge is assigned to in this flight
-		
-		for (Flightable container : round.getItemsOnPairings())
-		{
-			if (container.getFlight() == flight 
-				&& container instanceof JudgeInhabitable 
-				&& ((JudgeInhabitable) container).hasJudge(judge))
-				n++;
-		}
-		
-		if (n > 1)
+		if (round.getOccupancy().getNumContainers(judge, flight) > 1)
 			conflicts.add (new Conflict(Conflict.JUDGE, 
 											Conflict.Problem.JUDGE_ASSIGNED_TWICE, judge));
 		
@@ -557,122 +750,72 @@ class ConflictChecker
 	// method factors sides in when checking for conflicts). Otherwise, it's a 
 	// flip for sides debate. 
 	//---------------------------------------------------------------------------
-	private static Conflict[] checkJudge (Judge judge, Entry team1, Entry team2, 
+	private Conflict[] checkJudge (Judge judge, Entry team1, Entry team2,
 														boolean sidelocked)
 	{
 		ArrayList<Conflict> conflicts = new ArrayList<Conflict>(); 
 		
 		//Check if judge is struck against any of the students.  
-		for (Competitor struck : judge.getStudentStrikes())
-		{
-			boolean breakOuterLoop = false; 
+		StrikeMatrix strikes = tournament.getStrikes(); 
 		
-			for (int i = 0; i < tournament.getEvent().getKidsPerTeam(); i++)
-			{
-				if ((team1.getStudents().length > i
-					&& team1.getStudents()[i] != null 
-					&& struck.equals(team1.getStudents()[i]))
-					|| (team2.getStudents().length > i
-					&& team2.getStudents()[i] != null 
-					&& struck.equals(team2.getStudents()[i])))
-				{
-					conflicts.add (new Conflict(Conflict.JUDGE, 
-													Conflict.Problem.STUDENT_STRIKE, judge));
-					breakOuterLoop = true;
-					break;
-				}
-			}
-			
-			if (breakOuterLoop)
-				break;
-		}
+		if (strikes.isStudentStruck(judge, team1, team2))
+			conflicts.add (new Conflict(Conflict.JUDGE, 
+											Conflict.Problem.STUDENT_STRIKE, judge));
 		
 		//Check if judge is struck against any of the schools 
-		for (School struck : judge.getSchoolStrikes())
-		{
-			boolean breakOuterLoop = false; 
-		
-			for (int i = 0; i < tournament.getEvent().getKidsPerTeam(); i++)
-			{
-				if ((team1 != null 
-					&& team1.getStudents().length > i
-					&& team1.getStudents()[i] != null 
-					&& struck.equals(team1.getStudents()[i].getSchool()))
-					|| (team2 != null 
-					&& team2.getStudents().length > i
-					&& team2.getStudents()[i] != null 
-					&& struck.equals(team2.getStudents()[i].getSchool())))
-				{
-					conflicts.add (new Conflict(Conflict.JUDGE, 
-													Conflict.Problem.SCHOOL_STRIKE, judge));
-					breakOuterLoop = true;
-					break;
-				}
-			}
-			
-			if (breakOuterLoop)
-				break;
-		}
+		if (strikes.isSchoolStruck(judge, team1, team2))
+			conflicts.add (new Conflict(Conflict.JUDGE, 
+											Conflict.Problem.SCHOOL_STRIKE, judge));
 		
-		//Check if judge has already judged a team on the same side 
+		//Check if judge has already judged a team on the same side, in debates
+		//prior to this round 
+		HistoryIndex history = tournament.getHistory(); 
 		boolean hasRJSS = false; //indicates whether there's a repeat judge same 
 											//side conflict
 		if (sidelocked) //remember, team1 is aff, team2 is neg 
 		{
-			for (Debate debate : judge.getDebates())
+			if ((team1 != null 
+				&& history.getTimesJudged(judge, team1, Side.AFF, round) > 0)
+				|| (team2 != null 
+				&& history.getTimesJudged(judge, team2, Side.NEG, round) > 0))
 			{
-				//Only look to debates prior to this round 
-				if (debate.getRound().compareTo(round) >= 0)
-					continue;
-			
-				if ((debate.getAff() != null && debate.getAff().equals(team1))
-				 || (debate.getNeg() != null && debate.getNeg().equals(team2)))
+				//Check whether it's prelims or elims - repeats aren't as bad in
+				//elims. 
+				Conflict.Problem problem;
+				int source; 
+				if (round instanceof ElimRound)
 				{
-					//Check whether it's prelims or elims - repeats aren't as bad in
-					//elims. 
-					Conflict.Problem problem;
-					int source; 
-					if (round instanceof ElimRound)
-					{
-						problem = Conflict.Problem.REPEAT_JUDGE_ELIMS;
-						source = Conflict.INTERNAL_ONLY;
-					}
-					else
-					{
-						problem = Conflict.Problem.REPEAT_JUDGE_SAME_SIDE;
-						source = Conflict.JUDGE;
-					}
-				
-					conflicts.add (new Conflict(source, problem, judge));
-					hasRJSS = true;
-					break;
+					problem = Conflict.Problem.REPEAT_JUDGE_ELIMS;
+					source = Conflict.INTERNAL_ONLY;
 				}
+				else
+				{
+					problem = Conflict.Problem.REPEAT_JUDGE_SAME_SIDE;
+					source = Conflict.JUDGE;
+				}
+			
+				conflicts.add (new Conflict(source, problem, judge));
+				hasRJSS = true;
 			}
 		}
 
 		//Check if judge has already judged a team on a different side 
 		if (hasRJSS == false) //skip this if they've judged on other side
 		{
-			for (Debate debate : judge.getDebates())
+			if ((team1 != null 
+				&& history.getTimesJudged(judge, team1, Side.NONE, round) > 0)
+				|| (team2 != null 
+				&& history.getTimesJudged(judge, team2, Side.NONE, round) > 0))
 			{
-				//Only look to debates prior to this round 
-				if (debate.getRound().compareTo(round) >= 0)
-					continue;
-
-				if ((team1 != null && debate.hasEntry(team1)) 
-					|| (team2 != null && debate.hasEntry(team2)))
-				{
-					//Check whether it's prelims or elims - repeats aren't as bad in
-					//elims. 
-					Conflict.Problem problem;
-					if (round instanceof ElimRound)
-						problem = Conflict.Problem.REPEAT_JUDGE_ELIMS;
-					else
-						problem = Conflict.Problem.REPEAT_JUDGE;
-				
-					conflicts.add (new Conflict(Conflict.JUDGE, problem, judge));
-					break;
-				}
+				//Check whether it's prelims or elims - repeats aren't as bad in
+				//elims. 
+				Conflict.Problem problem;
+				if (round instanceof ElimRound)
+					problem = Conflict.Problem.REPEAT_JUDGE_ELIMS;
+				else
+					problem = Conflict.Problem.REPEAT_JUDGE;
+
+				conflicts.add (new Conflict(Conflict.JUDGE, problem, judge));
 			}
 		}
 		
@@ -690,7 +833,7 @@ class ConflictChecker
 		//note: already checked for REPEAT_JUDGE_ELIMS above. 
 		
 		//Lastly, check the number of rounds this judge has judged 
-		int num = judge.getDebates().size();
+		int num = history.getNumDebatesJudged(judge);
 		conflicts.add (new Conflict (Conflict.INTERNAL_ONLY, 
 											Conflict.Problem.NUM_RDS_JUDGED, judge, num));
 		
@@ -702,7 +845,7 @@ class ConflictChecker
 	// Checks a single room to see if it's assigned when it should be unavailable
 	// or if it's assigned to multiple debates in the same flight.
 	//---------------------------------------------------------------------------
-	private static Conflict[] checkRoom (Room room, char flight)
+	private Conflict[] checkRoom (Room room, char flight)
 	{
 		ArrayList<Conflict> conflicts = new ArrayList<Conflict>();
 	
@@ -714,18 +857,7 @@ class ConflictChecker
 		
 		
 		//Create error if room is assigned to multiple debates in the same flight
-		int n = 0; //number of debates the room is assigned to in this flight
-		
-		for (Flightable container : round.getItemsOnPairings())
-		{
-			if (container.getFlight() == flight 
-				&& container instanceof RoomInhabitable 
-				&& ((RoomInhabitable) container).getRoom() != null
-				&& ((RoomInhabitable) container).getRoom().equals(room))
-				n++;
-		}
-		
-		if (n > 1)
+		if (round.getOccupancy().getNumContainers(room, flight) > 1)
 			conflicts.add (new Conflict(Conflict.ROOM, 
 											Conflict.Problem.ROOM_ASSIGNED_TWICE));
 		
@@ -739,7 +871,7 @@ class ConflictChecker
 	// Checks if there are any problems with the given room being used with the
 	// given panel. 
 	//---------------------------------------------------------------------------
-	private static Conflict[] checkRoom (Room room, ArrayList<Judge> panel)
+	private Conflict[] checkRoom (Room room, ArrayList<Judge> panel)
 	{
 		Conflict[] conflicts = new Conflict[panel.size()];
 	
@@ -762,7 +894,7 @@ class ConflictChecker
 	// called by the pairing algorithm, so that check had to go somewhere and
 	// this is the most logical place). 
 	//---------------------------------------------------------------------------
-	private static Conflict[] checkRoom (Room room, Entry team1, Entry team2)
+	private Conflict[] checkRoom (Room room, Entry team1, Entry team2)
 	{
 		ArrayList<Conflict> conflicts = new ArrayList<Conflict>();
 	
@@ -806,7 +938,7 @@ class ConflictChecker
 	// Indicates whether there is a resident of this room assigned to this room
 	// in this round. Returns true if the room is not a dorm room. 
 	//---------------------------------------------------------------------------
-	private static boolean hasResident (Room room, char flight)
+	private boolean hasResident (Room room, char flight)
 	{
 		Debate debate = round.getDebate (room, flight); 
 		if (debate == null) 
@@ -817,8 +949,12 @@ class ConflictChecker
 		if (room.getResidents().isEmpty())
 			return true; 
 	
-		for (Competitor resident : room.getResidents())
+		//(Indexed, so that scoreRoom() doesn't make an iterator.) 
+		ArrayList<Competitor> residents = room.getResidents(); 
+		for (int r = 0; r < residents.size(); r++)
 		{
+			Competitor resident = residents.get(r); 
+			
 			for (int i = 0; i < tournament.getEvent().getKidsPerTeam(); i++)
 			{
 				if ((team1 != null
@@ -0,0 +1,257 @@
+//*****************************************************************************
+// CostMatrix.java
+// Kevin Coltin
+//
+// Holds the costs of the conflicts in a round - for each pair of teams, each
+// debate and judge, and each judge and room - so that they only have to be
+// computed once, rather than every time the round is paired or a debate is
+// colored on the RoundPanel. Each round has one (see Round.getCostMatrix()).
+//
+// Costs are computed the first time they're asked for and then kept until
+// something they depend on changes, which is checked with the version stamps
+// in Tournament and Round. The costs for teams and for judges only depend on
+// the roster, the results, and the pairings of earlier rounds, so they're
+// kept while this round is being paired; the costs for rooms also depend on
+// the pairings of this round (see ConflictChecker.checkForConflict(Judge,
+// Room)).
+//
+// The methods are synchronized, so that the costs can be looked up from more
+// than one thread at a time.
+//*****************************************************************************
+
+
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+class CostMatrix
+{
+	private Round round;
+	private Tournament tournament;
+	private ConflictChecker checker;
+
+	//Versions the costs were computed at - see Round.getHistoryVersion().
+	//They start at -1 so that nothing is used before it's computed.
+	private long historyVersion = -1, roomsVersion = -1;
+
+	//Position of each entry, judge and room in the tournament's lists. These
+	//are by identity, since they're only used to find the same objects again.
+	private IdentityHashMap<Entry, Integer> entryIndex;
+	private IdentityHashMap<Judge, Integer> judgeIndex;
+	private IdentityHashMap<Room, Integer> roomIndex;
+
+	//Cost of each pair of entries debating each other, and the conflicts that
+	//make it up (for coloring). A cost of -1 means it hasn't been computed yet.
+	private int[][] teamCosts;
+	private Conflict[][][] matchups;
+
+	//Cost of each judge judging a pair of teams, for each pair of teams that
+	//has been looked up. See judgeKey() for the keys.
+	private HashMap<Long, int[]> judgeCosts;
+
+	//Cost of each judge being in each room
+	private int[][] roomCosts;
+
+	//Value returned by getMatchupConflicts when there are none (since
+	//ConflictChecker uses null for no conflicts, but an empty array has to be
+	//told apart from one that hasn't been computed yet)
+	private static final Conflict[] NONE = new Conflict[0];
+
+
+	//---------------------------------------------------------------------------
+	// Constructor
+	//---------------------------------------------------------------------------
+	CostMatrix (Round r)
+	{
+		round = r;
+		tournament = r.getTournament();
+		checker = r.getConflictChecker();
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the cost of these two teams debating each other.
+	//---------------------------------------------------------------------------
+	synchronized int getTeamCost (Entry team1, Entry team2)
+	{
+		refreshHistory();
+
+		Integer i = entryIndex.get(team1);
+		Integer j = entryIndex.get(team2);
+
+		//Entries that aren't in the tournament's list aren't kept
+		if (i == null || j == null)
+			return ConflictChecker.getCost(checker.scoreMatchup(team1, team2));
+
+		if (teamCosts[i][j] == -1)
+		{
+			teamCosts[i][j] = ConflictChecker.getCost(checker.scoreMatchup(team1,
+																							team2));
+			teamCosts[j][i] = teamCosts[i][j];
+		}
+
+		return teamCosts[i][j];
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the conflicts resulting from these two teams debating each other
+	// (see ConflictChecker.checkMatchup()), or null if there are none. The
+	// array that's returned is shared, so it shouldn't be changed.
+	//---------------------------------------------------------------------------
+	synchronized Conflict[] getMatchupConflicts (Entry team1, Entry team2)
+	{
+		refreshHistory();
+
+		Integer i = entryIndex.get(team1);
+		Integer j = entryIndex.get(team2);
+
+		if (i == null || j == null)
+			return checker.checkMatchup(team1, team2);
+
+		if (matchups[i][j] == null)
+		{
+			Conflict[] conflicts = checker.checkMatchup(team1, team2);
+			matchups[i][j] = conflicts == null ? NONE : conflicts;
+			matchups[j][i] = matchups[i][j];
+		}
+
+		return matchups[i][j] == NONE ? null : matchups[i][j];
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Returns the cost of this judge judging this debate
+	//---------------------------------------------------------------------------
+	synchronized int getJudgeCost (Debate debate, Judge judge)
+	{
+		refreshHistory();
+
+		Entry team1 = debate.getTeam1();
+		Entry team2 = debate.getTeam2();
+		Integer m = judgeIndex.get(judge);
+		Long key = judgeKey(team1, team2, debate.isSidelocked());
+
+		if (m == null || key == null)
+			return ConflictChecker.getCost(checker.scoreJudge(judge, team1, team2,
+																	debate.isSidelocked()));
+
+		int[] costs = judgeCosts.get(key);
+
+		if (costs == null)
+		{
+			costs = new int[judgeIndex.size()];
+			Arrays.fill(costs, -1);
+			judgeCosts.put(key, costs);
+		}
+
+		if (costs[m] == -1)
+			costs[m] = ConflictChecker.getCost(checker.scoreJudge(judge, team1,
+																team2, debate.isSidelocked()));
+
+		return costs[m];
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the key for the costs of judging these teams, or null if either
+	// of them isn't in the tournament's list. A missing team (null) gets the
+	// index after the last entry.
+	//---------------------------------------------------------------------------
+	private Long judgeKey (Entry team1, Entry team2, boolean sidelocked)
+	{
+		int n = entryIndex.size();
+		Integer i = team1 == null ? Integer.valueOf(n) : entryIndex.get(team1);
+		Integer j = team2 == null ? Integer.valueOf(n) : entryIndex.get(team2);
+
+		if (i == null || j == null)
+			return null;
+
+		return ((long) i * (n + 1) + j) * 2 + (sidelocked ? 1 : 0);
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Returns the cost of this judge being in this room (assuming the judge is
+	// already assigned to debates in this round)
+	//---------------------------------------------------------------------------
+	synchronized int getRoomCost (Judge judge, Room room)
+	{
+		refreshRooms();
+
+		Integer m = judgeIndex.get(judge);
+		Integer n = roomIndex.get(room);
+
+		if (m == null || n == null)
+			return ConflictChecker.getCost(checker.scoreRoom(judge, room));
+
+		if (roomCosts[m][n] == -1)
+			roomCosts[m][n] = ConflictChecker.getCost(checker.scoreRoom(judge,
+																							room));
+
+		return roomCosts[m][n];
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Throws away the team and judge costs if anything they depend on has
+	// changed since they were computed.
+	//---------------------------------------------------------------------------
+	private void refreshHistory ()
+	{
+		long version = round.getHistoryVersion();
+		if (version == historyVersion)
+			return;
+
+		ArrayList<Entry> entries = tournament.getEntries();
+		entryIndex = new IdentityHashMap<Entry, Integer>();
+		for (int i = 0; i < entries.size(); i++)
+			entryIndex.put(entries.get(i), i);
+
+		ArrayList<Judge> judges = tournament.getJudges();
+		judgeIndex = new IdentityHashMap<Judge, Integer>();
+		for (int i = 0; i < judges.size(); i++)
+			judgeIndex.put(judges.get(i), i);
+
+		teamCosts = new int[entries.size()][entries.size()];
+		for (int[] row : teamCosts)
+			Arrays.fill(row, -1);
+
+		matchups = new Conflict[entries.size()][entries.size()][];
+		judgeCosts = new HashMap<Long, int[]>();
+
+		historyVersion = version;
+		roomsVersion = -1; //room costs use judgeIndex, so redo them too
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Same, for the room costs
+	//---------------------------------------------------------------------------
+	private void refreshRooms ()
+	{
+		refreshHistory();
+
+		long version = Math.max(tournament.getRosterVersion(),
+										round.getPairingsVersion());
+		if (version == roomsVersion)
+			return;
+
+		ArrayList<Room> rooms = tournament.getRooms();
+		roomIndex = new IdentityHashMap<Room, Integer>();
+		for (int i = 0; i < rooms.size(); i++)
+			roomIndex.put(rooms.get(i), i);
+
+		roomCosts = new int[judgeIndex.size()][rooms.size()];
+		for (int[] row : roomCosts)
+			Arrays.fill(row, -1);
+
+		roomsVersion = version;
+	}
+}
@@ -349,6 +349,8 @@ class CreateEntryScreen extends JPanel
 					entry.getStudents()[i].setSchool (schls[i]); 
 					entry.getStudents()[i].setLab (labgrps[i]); 
 				}
+				
+				tournament.rosterChanged(); 
 			}
 			else
 			{
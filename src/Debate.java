@@ -10,6 +10,7 @@
  
 
 import java.io.Serializable;
+import java.io.IOException;
 import java.util.ArrayList; 
 import java.awt.Color;
 
@@ -109,6 +110,70 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 	}
 
 
+	//--------------------------------------------------------------------------
+	// Read from and write to a tournament file (see TabFile)
+	//--------------------------------------------------------------------------
+	Debate (TabFile.Input in) throws IOException
+	{
+		round = in.readRound();
+
+		teams = new Entry[2];
+		teams[0] = in.readEntry();
+		teams[1] = in.readEntry();
+		specialSidelocked = in.readBoolean();
+
+		panel = in.readJudges();
+		room = in.readRoom();
+		flight = in.readChar();
+
+		decisions = new Outcome[2];
+		decisions[0] = in.readEnum(Outcome.class);
+		decisions[1] = in.readEnum(Outcome.class);
+
+		teamsLocked = new boolean[2];
+		teamsLocked[0] = in.readBoolean();
+		teamsLocked[1] = in.readBoolean();
+		roomLocked = in.readBoolean();
+	}
+
+	void write (TabFile.Output out) throws IOException
+	{
+		out.writeRef(round);
+
+		out.writeRef(teams[0]);
+		out.writeRef(teams[1]);
+		out.writeBoolean(specialSidelocked);
+
+		out.writeRefs(panel);
+		out.writeRef(room);
+		out.writeChar(flight);
+
+		out.writeEnum(decisions[0]);
+		out.writeEnum(decisions[1]);
+
+		out.writeBoolean(teamsLocked[0]);
+		out.writeBoolean(teamsLocked[1]);
+		out.writeBoolean(roomLocked);
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Tell the round that this debate has changed (see Round.debateChanged()
+	// and resultsChanged()). 
+	//--------------------------------------------------------------------------
+	private void pairingsChanged ()
+	{
+		if (round != null)
+			round.debateChanged(this); 
+	}
+
+	private void resultsChanged ()
+	{
+		if (round != null)
+			round.resultsChanged(); 
+	}
+
+
 
 	//--------------------------------------------------------------------------
 	// Set debaters. The argument "which" should be either 0 or 1, indicating 
@@ -117,12 +182,14 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 	void setTeam (Entry team, int which) 
 	{
 		teams[which] = team; 
+		pairingsChanged(); 
 	}
 	
 	void clearTeams()
 	{
 		teams[0] = null;
 		teams[1] = null; 
+		pairingsChanged(); 
 	}
 	
 	void removeTeam(Entry team)
@@ -131,11 +198,13 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 			teams[0] = null; 
 		if (team.equals(teams[1]))
 			teams[1] = null; 
+		pairingsChanged(); 
 	}
 	
 	void removeTeam (int which)
 	{
 		teams[which] = null; 
+		pairingsChanged(); 
 	}
 
 
@@ -160,6 +229,7 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 			teams[0] = aff;
 			teams[1] = neg;
 		}
+		pairingsChanged(); 
 	}
 		
 	
@@ -171,6 +241,7 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 			teams[1] = neg;
 			teams[0] = aff;
 		}
+		pairingsChanged(); 
 	}
 	
 	
@@ -186,6 +257,7 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 	void setSpecialSidelocked (boolean locked)
 	{
 		specialSidelocked = locked; 
+		pairingsChanged(); 
 	}
 	
 	//Checks whether the round is sidelocked for either reason (specially, or 
@@ -212,16 +284,19 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 	{
 		panel.add(judge);
 		Sort.sort(panel);
+		pairingsChanged(); 
 	}
 	
 	public void removeJudges ()
 	{
 		panel.clear();
+		pairingsChanged(); 
 	}
 	
 	public void removeJudge (Judge judge)
 	{
 		Sort.remove(panel, judge);
+		pairingsChanged(); 
 	}
 
 	//Sets the FIRST judge in the panel to "judge". 
@@ -231,6 +306,7 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 			panel.add(judge); 
 		else
 			panel.set(0, judge);
+		pairingsChanged(); 
 	}
 	
 	//This shouldn't be called if there is more than one judge, but in that
@@ -318,12 +394,14 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 	public void setRoom (Room r)
 	{
 		room = r;
+		pairingsChanged(); 
 	}
 	
 	public void setFlight (char flt)
 	{
 		if (flt == 'A' || flt == 'B')
 			flight = flt; 
+		pairingsChanged(); 
 	}
 	
 
@@ -333,17 +411,20 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 			decisions[0] = decision; 
 		else if (teams[1] != null && teams[1].equals(team))
 			decisions[1] = decision; 
+		resultsChanged(); 
 	}
 
 	
 	void setDecision (int which, Outcome decision)
 	{
 		decisions[which] = decision;
+		resultsChanged(); 
 	}
 
 
 	void setAffDecision (Outcome decision)
 	{
+		resultsChanged(); 
 		if (round instanceof ElimRound && specialSidelocked == false
 			&& isBallotEntered() == false)
 			return; //error! this shouldn't happen; just to check; 
@@ -353,6 +434,7 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 	
 	void setNegDecision (Outcome decision)
 	{
+		resultsChanged(); 
 		if (round instanceof ElimRound && specialSidelocked == false
 			&& isBallotEntered() == false)
 			return; //error! this shouldn't happen; just to check; 
@@ -412,6 +494,7 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 	//---------------------------------------------------------------------------
 	void switchSides ()
 	{
+		pairingsChanged(); 
 		if (teams[0] == null || teams[1] == null)
 			return; 
 		
@@ -555,16 +638,19 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 			teamsLocked[0] = lock;
 		if (teams[1] != null && team.equals(teams[1]))
 			teamsLocked[1] = lock; 
+		pairingsChanged(); 
 	}
 	
 	void setTeamLocked (int which, boolean lock)
 	{
 		teamsLocked[which] = lock;
+		pairingsChanged(); 
 	}
 	
 	public void setJudgeLocked (boolean lock)
 	{
 		panel.get(0).setLocked(this, lock);  
+		pairingsChanged(); 
 	}
 
 
@@ -573,11 +659,13 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 		for (Judge j : panel)
 			if (j.equals(judge))
 				judge.setLocked(this, lock);
+		pairingsChanged(); 
 	}
 	
 	public void setRoomLocked (boolean lock)
 	{
 		roomLocked = lock;
+		pairingsChanged(); 
 	}
 	
 	void setAllLocked (boolean lock)
@@ -589,6 +677,7 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 			judge.setLocked(this, lock); 
 		
 		roomLocked = lock; 
+		pairingsChanged(); 
 	}
 	
 	
@@ -652,8 +741,7 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 			return Color.BLACK;
 		
 		//Otherwise, if the round has not yet started: 
-		ConflictChecker.setRound(round);
-		Conflict[] conflicts = ConflictChecker.checkForConflict(this); 
+		Conflict[] conflicts = round.getConflictChecker().checkForConflict(this); 
 		
 		if (conflicts == null)
 			return Color.BLUE; 
@@ -681,8 +769,7 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 			return Color.BLACK;
 		
 		//Otherwise, if the round has not yet started: 
-		ConflictChecker.setRound(round);
-		Conflict[] conflicts = ConflictChecker.checkForConflict(this); 
+		Conflict[] conflicts = round.getConflictChecker().checkForConflict(this); 
 		
 		if (conflicts == null)
 			return Color.BLUE; 
@@ -715,8 +802,7 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 			return Color.BLACK;
 		
 		//Otherwise, if the round has not yet started: 
-		ConflictChecker.setRound(round);
-		Conflict[] conflicts = ConflictChecker.checkForConflict(this); 
+		Conflict[] conflicts = round.getConflictChecker().checkForConflict(this); 
 		
 		if (conflicts == null)
 			return Color.BLUE; 
@@ -735,8 +821,7 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 			return Color.BLACK;
 		
 		//Otherwise, if the round has not yet started: 
-		ConflictChecker.setRound(round);
-		Conflict[] conflicts = ConflictChecker.checkForConflict(this); 
+		Conflict[] conflicts = round.getConflictChecker().checkForConflict(this); 
 		
 		if (conflicts == null)
 			return Color.BLUE; 
@@ -915,23 +1000,22 @@ class Debate implements Serializable, Flightable, JudgeInhabitable,
 	//--------------------------------------------------------------------------
 	// Writes backup text. (No spaces allowed!) 
 	//--------------------------------------------------------------------------
-	String writeBackup ()
+	void writeBackup (Appendable out) throws IOException
 	{
-		String text = TEAM1 + (teams[0] == null ? "null" 
+		out.append(TEAM1).append(teams[0] == null ? "null" 
 															: teams[0].toStringNoSpaces());
-		text += TEAM2 + (teams[1] == null ? "null" : teams[1].toStringNoSpaces());
+		out.append(TEAM2).append(teams[1] == null ? "null" 
+															: teams[1].toStringNoSpaces());
 		
 		for (Judge judge : panel)
-			text += JUDGE_START + judge.getNameNoSpaces() + JUDGE_END;
-		
-		text += ROOM + (room == null ? "null" : room.getNameNoSpaces()); 
+			out.append(JUDGE_START).append(judge.getNameNoSpaces()).append(JUDGE_END);
 		
-		text += FLIGHT + flight;
+		out.append(ROOM).append(room == null ? "null" : room.getNameNoSpaces()); 
 		
-		text += DECISION1 + decisions[0].toStringNoSpaces(); 
-		text += DECISION2 + decisions[1].toStringNoSpaces(); 
+		out.append(FLIGHT).append(flight);
 		
-		return text; 		
+		out.append(DECISION1).append(decisions[0].toStringNoSpaces()); 
+		out.append(DECISION2).append(decisions[1].toStringNoSpaces()); 
 	}
 
 
@@ -0,0 +1,253 @@
+//*****************************************************************************
+// DebateIndex.java
+// Kevin Coltin
+//
+// Finds the debate in a round that an entry is in, or that a judge judges or
+// a room holds in a given flight, with a hash lookup rather than by looking
+// through every debate. Each round has one (see Round.getDebate()).
+//
+// Like Round.getDebate(), if more than one debate matches, the one that comes
+// first in the round's list of debates is returned. The lookups are kept up
+// to date as debates are added, removed and changed through the round and
+// the debates' own methods (see Round.debateChanged()), so a loop that looks
+// up debates and changes them as it goes doesn't make them all again each
+// time. They're made again from scratch the first time they're needed after
+// anything else changes - the list of debates directly, or the entries,
+// judges and rooms themselves - or while more than one debate matches the
+// same thing, since then which one comes first matters.
+//*****************************************************************************
+
+
+
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+class DebateIndex
+{
+	private Round round;
+	private Tournament tournament;
+
+	//Version (see Round.getPairingsVersion()) the lookups are up to date
+	//with; -1 means they haven't been made yet
+	private long version = -1;
+
+	//Debate each entry is in, and the debate each judge and room is in in
+	//each flight (by flight)
+	private HashMap<Entry, Debate> entries;
+	private HashMap<Character, HashMap<Judge, Debate>> judges;
+	private HashMap<Character, HashMap<Room, Debate>> rooms;
+
+	//What each debate in the round is in the lookups under, and whether more
+	//than one debate matches anything
+	private IdentityHashMap<Debate, Keys> keys;
+	private boolean duplicates;
+
+
+	//---------------------------------------------------------------------------
+	// The entries, judges, room and flight a debate was put in the lookups
+	// under, so that it can be taken out again after it changes
+	//---------------------------------------------------------------------------
+	private static class Keys
+	{
+		Entry team1, team2;
+		ArrayList<Judge> judges;
+		Room room;
+		char flight;
+
+		Keys (Debate debate)
+		{
+			team1 = debate.getTeam1();
+			team2 = debate.getTeam2();
+			judges = new ArrayList<Judge>(debate.getJudges());
+			room = debate.getRoom();
+			flight = debate.getFlight();
+		}
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Constructor
+	//---------------------------------------------------------------------------
+	DebateIndex (Round r)
+	{
+		round = r;
+		tournament = r.getTournament();
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Return the debate this entry is in, or that this judge or room is in in
+	// the given flight, or null if there is none
+	//---------------------------------------------------------------------------
+	synchronized Debate getDebate (Entry entry)
+	{
+		refresh();
+		return entries.get(entry);
+	}
+
+	synchronized Debate getDebate (Judge judge, char flight)
+	{
+		refresh();
+
+		HashMap<Judge, Debate> debates = judges.get(flight);
+		return debates == null ? null : debates.get(judge);
+	}
+
+	synchronized Debate getDebate (Room room, char flight)
+	{
+		refresh();
+
+		HashMap<Room, Debate> debates = rooms.get(flight);
+		return debates == null ? null : debates.get(room);
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Update the lookups after a debate is added to the round, removed from it
+	// or changed. "before" is the round's pairings version from just before
+	// the change; if the lookups weren't up to date as of then, they're left
+	// to be made again.
+	//---------------------------------------------------------------------------
+	synchronized void debateAdded (Debate debate, long before)
+	{
+		if (isCurrent(before))
+		{
+			put (debate);
+			updated();
+		}
+	}
+
+	synchronized void debateRemoved (Debate debate, long before)
+	{
+		if (isCurrent(before))
+		{
+			take (debate);
+			updated();
+		}
+	}
+
+	synchronized void debateChanged (Debate debate, long before)
+	{
+		if (isCurrent(before))
+		{
+			//(A debate that isn't in the round yet isn't in the lookups.)
+			if (keys.containsKey(debate))
+			{
+				take (debate);
+				put (debate);
+			}
+
+			updated();
+		}
+	}
+
+
+	//Returns whether the lookups were up to date as of this pairings version,
+	//and can be updated a debate at a time
+	private boolean isCurrent (long before)
+	{
+		return duplicates == false && version != -1
+			&& version == Math.max(tournament.getRosterVersion(), before);
+	}
+
+	//Marks the lookups as up to date with the round as it is now, unless a
+	//debate was just found to match the same thing as another one
+	private void updated ()
+	{
+		if (duplicates == false)
+			version = Math.max(tournament.getRosterVersion(),
+									round.getPairingsVersion());
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Makes the lookups again if the debates have changed
+	//---------------------------------------------------------------------------
+	private void refresh ()
+	{
+		long v = Math.max(tournament.getRosterVersion(),
+								round.getPairingsVersion());
+		if (v == version)
+			return;
+
+		entries = new HashMap<Entry, Debate>();
+		judges = new HashMap<Character, HashMap<Judge, Debate>>();
+		rooms = new HashMap<Character, HashMap<Room, Debate>>();
+		keys = new IdentityHashMap<Debate, Keys>();
+		duplicates = false;
+
+		for (Debate debate : round.getDebates())
+			put (debate);
+
+		version = v;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Puts the debate in the lookups under everything it has now (but not in
+	// place of a debate that's already there, which comes before it in the
+	// round when the lookups are being made from scratch)
+	//---------------------------------------------------------------------------
+	private void put (Debate debate)
+	{
+		Keys k = new Keys(debate);
+		keys.put(debate, k);
+
+		put (entries, k.team1, debate);
+		put (entries, k.team2, debate);
+
+		if (judges.containsKey(k.flight) == false)
+		{
+			judges.put(k.flight, new HashMap<Judge, Debate>());
+			rooms.put(k.flight, new HashMap<Room, Debate>());
+		}
+
+		for (Judge judge : k.judges)
+			put (judges.get(k.flight), judge, debate);
+
+		put (rooms.get(k.flight), k.room, debate);
+	}
+
+	private <K> void put (HashMap<K, Debate> map, K key, Debate debate)
+	{
+		if (key == null)
+			return;
+
+		Debate other = map.get(key);
+
+		if (other == null)
+			map.put(key, debate);
+		else if (other != debate)
+			duplicates = true;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Takes the debate out of the lookups, from under what it was put in them
+	// under
+	//---------------------------------------------------------------------------
+	private void take (Debate debate)
+	{
+		Keys k = keys.remove(debate);
+		if (k == null)
+			return;
+
+		take (entries, k.team1, debate);
+		take (entries, k.team2, debate);
+
+		for (Judge judge : k.judges)
+			take (judges.get(k.flight), judge, debate);
+
+		take (rooms.get(k.flight), k.room, debate);
+	}
+
+	private <K> void take (HashMap<K, Debate> map, K key, Debate debate)
+	{
+		if (key != null && map.get(key) == debate)
+			map.remove(key);
+	}
+}
@@ -8,6 +8,7 @@
  
  
 
+import java.io.IOException;
 import java.util.ArrayList; 
 
 class ElimRound extends Round 
@@ -53,6 +54,28 @@ class ElimRound extends Round
 	}
 
 
+	//--------------------------------------------------------------------------
+	// Read from and write to a tournament file (see TabFile)
+	//--------------------------------------------------------------------------
+	ElimRound (TabFile.Input in) throws IOException
+	{
+		super(in);
+		level = in.readEnum(Outround.class);
+	}
+
+	void read (TabFile.Input in) throws IOException
+	{
+		super.read(in);
+		level = in.readEnum(Outround.class);
+	}
+
+	void write (TabFile.Output out) throws IOException
+	{
+		super.write(out);
+		out.writeEnum(level);
+	}
+
+
 	//--------------------------------------------------------------------------
 	// Returns the outround level (semis, quarters, etc.).  If the round is 
 	// "numbered", this will return null. 
@@ -73,6 +96,7 @@ class ElimRound extends Round
 		level = outround; 
 		name = level.toString(); 
 		number = 0; 
+		tournament.rosterChanged(); //since this changes the order of rounds 
 	}
 	
 	void setNumber (int num)
@@ -80,6 +104,7 @@ class ElimRound extends Round
 		number = num; 
 		name = "Elim Round " + number; 
 		level = null; 
+		tournament.rosterChanged(); 
 	}
 
 
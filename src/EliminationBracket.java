@@ -0,0 +1,257 @@
+//*****************************************************************************
+// EliminationBracket.java
+// Kevin Coltin
+//
+// Keeps who is left in each outround after the break, and their seeds in it,
+// so that finding an entry's seed or its complement (the entry it's seeded to
+// debate) doesn't mean working out every outround before it again. The
+// tournament has one (see Tournament.getBracket()).
+//
+// The first outround holds the entries who broke (Tournament.getBreaks()), in
+// order. Each outround after that is worked out from the one before it and
+// its results, the same way Sort.seed(ElimRound) used to (see getSeeds()).
+// An outround is only worked out again when the pairings or results of an
+// outround before it (or the entries, or the break) change, so entering a
+// decision in quarters doesn't redo octos.
+//*****************************************************************************
+
+
+
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+class EliminationBracket
+{
+	private Tournament tournament;
+
+	//For each outround (by position in tournament.getElims()): the entries who
+	//could be in it, in order by seed; the position of each one in that list;
+	//and the version (see getVersion()) they were worked out at
+	private ArrayList<ArrayList<Entry>> seeds = new ArrayList<ArrayList<Entry>>();
+	private ArrayList<HashMap<Entry, Integer>> positions =
+										new ArrayList<HashMap<Entry, Integer>>();
+	private ArrayList<Long> versions = new ArrayList<Long>();
+
+
+	//---------------------------------------------------------------------------
+	// Constructor
+	//---------------------------------------------------------------------------
+	EliminationBracket (Tournament t)
+	{
+		tournament = t;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the entries who haven't been eliminated before this outround, in
+	// order by their seed in it. The tournament should already have broken.
+	// The returned list is a copy, so it can be changed.
+	//---------------------------------------------------------------------------
+	synchronized ArrayList<Entry> getSeeds (ElimRound round)
+	{
+		int n = refresh(round);
+
+		if (n == -1)
+			return new ArrayList<Entry>();
+
+		return new ArrayList<Entry>(seeds.get(n));
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the entry's seed in this outround (1 for the top seed), or 0 if
+	// it has been eliminated (or didn't break)
+	//---------------------------------------------------------------------------
+	synchronized int getSeed (ElimRound round, Entry entry)
+	{
+		int n = refresh(round);
+
+		if (n == -1 || positions.get(n).containsKey(entry) == false)
+			return 0;
+
+		return positions.get(n).get(entry) + 1;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the entry's complement in the given outround, i.e. the team it
+	// is seeded to debate against, or null if it isn't in this outround or
+	// has no complement (as in a partial outround).
+	//---------------------------------------------------------------------------
+	synchronized Entry getComplement (ElimRound round, Entry entry)
+	{
+		//Before the break, every outround is seeded the same as after prelims
+		if (tournament.getBreaks().isEmpty())
+		{
+			ArrayList<Entry> entries = Sort.seed(tournament);
+			int index = entries.indexOf(entry);
+
+			return getComplement(round, entries, index);
+		}
+
+		int n = refresh(round);
+
+		if (n == -1 || positions.get(n).containsKey(entry) == false)
+			return null;
+
+		return getComplement(round, seeds.get(n), positions.get(n).get(entry));
+	}
+
+	private Entry getComplement (ElimRound round, ArrayList<Entry> entries,
+											int index)
+	{
+		if (index == -1)
+			return null;
+
+		int nComp = Sort.getComplementNumber (round.getLevel(), index);
+
+		//this may occur if it's a partial outround (or, before the break, if
+		//the entry is seeded below the number of entries in the outround)
+		if (nComp < 0 || nComp > entries.size()-1)
+			return null;
+		else
+			return entries.get(nComp);
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Works out this outround and any before it that are out of date, and
+	// returns its position in tournament.getElims() (or -1 if it isn't there)
+	//---------------------------------------------------------------------------
+	private int refresh (ElimRound round)
+	{
+		ArrayList<ElimRound> elims = tournament.getElims();
+		int n = elims.indexOf(round);
+
+		//(Since each version is at least the one before it, once an outround has
+		//to be worked out again, so does every one after it.)
+		long v = tournament.getRosterVersion();
+
+		for (int k = 0; k <= n; k++)
+		{
+			if (k > 0)
+				v = Math.max(v, getVersion(elims.get(k-1)));
+
+			if (k < versions.size() && versions.get(k) == v)
+				continue;
+
+			ArrayList<Entry> entries = k == 0
+									? new ArrayList<Entry>(tournament.getBreaks())
+									: advance(elims.get(k-1), k-1, elims.get(k));
+			HashMap<Entry, Integer> position = new HashMap<Entry, Integer>();
+
+			for (int i = 0; i < entries.size(); i++)
+				if (position.containsKey(entries.get(i)) == false)
+					position.put(entries.get(i), i);
+
+			if (k < versions.size())
+			{
+				seeds.set(k, entries);
+				positions.set(k, position);
+				versions.set(k, v);
+			}
+			else
+			{
+				seeds.add(entries);
+				positions.add(position);
+				versions.add(v);
+			}
+		}
+
+		return n;
+	}
+
+	//Returns the version of the last change to the pairings or results of this
+	//round
+	private long getVersion (Round round)
+	{
+		return Math.max(round.getPairingsVersion(), round.getResultsVersion());
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the entries who could be in "round", in order by seed, given the
+	// ones in the outround before it (whose position is "p").
+	//---------------------------------------------------------------------------
+	private ArrayList<Entry> advance (ElimRound previousRd, int p, ElimRound round)
+	{
+		ArrayList<Entry> previousSeeds = seeds.get(p);
+		ArrayList<Entry> entries = new ArrayList<Entry>();
+		HashMap<Entry, Integer> added = new HashMap<Entry, Integer>();
+
+		int i = 0;
+
+		//Cycle through the student who should be in this round - e.g., if it's
+		//semis, the top four.
+		while (i < round.getLevel().getNumEntries() && i < previousSeeds.size())
+		{
+			//If the ith entry won the previous outround, or if its debate hasn't
+			//happened yet, it keeps its seed.
+			Entry entry = previousSeeds.get(i);
+			Debate.Outcome decision = getDecision(previousRd, entry);
+
+			if (decision == Debate.Outcome.WIN
+				|| decision == Debate.Outcome.BYE
+				|| decision == Debate.Outcome.NO_DECISION)
+			{
+				entries.add (entry);
+				added.put(entry, i);
+			}
+			//Otherwise, if its "complement" (the entry it debated in that
+			//outround, based on seeds) won its round, the complement steals its
+			//seed.
+			else
+			{
+				int nComp =	Sort.getComplementNumber(previousRd.getLevel(), i);
+
+				if (nComp < previousSeeds.size()) //skip if there is no complement
+				{
+					Entry complement = previousSeeds.get(nComp);
+					Debate.Outcome decision2 = getDecision(previousRd, complement);
+
+					if (decision2 == Debate.Outcome.WIN
+						|| decision2 == Debate.Outcome.BYE)
+					{
+						entries.add (complement);
+						added.put(complement, i);
+					}
+				}
+			}
+
+			i++;
+		}
+
+		//Next, cycle through the remaining entries in the previous round and add
+		//them if the round hasn't been decided.
+		while (i < previousSeeds.size())
+		{
+			Entry entry = previousSeeds.get(i);
+			Debate.Outcome decision = getDecision(previousRd, entry);
+
+			if ((decision == Debate.Outcome.WIN
+				|| decision == Debate.Outcome.BYE
+				|| decision == Debate.Outcome.NO_DECISION)
+				&& added.containsKey(entry) == false)
+			{
+				entries.add (entry);
+				added.put(entry, i);
+			}
+
+			i++;
+		}
+
+		return entries;
+	}
+
+	//Returns the entry's decision in this round, or NO_DECISION if it isn't in
+	//a debate in it
+	private Debate.Outcome getDecision (Round round, Entry entry)
+	{
+		Debate debate = round.getDebate(entry);
+
+		return debate != null ? debate.getDecision(entry)
+									: Debate.Outcome.NO_DECISION;
+	}
+}
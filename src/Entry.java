@@ -11,6 +11,7 @@
  
 
 import java.io.Serializable;
+import java.io.IOException;
 import java.util.ArrayList; 
 
 class Entry implements Comparable, Serializable 
@@ -72,6 +73,36 @@ class Entry implements Comparable, Serializable
 		rand = Math.random();
 		ineligibleToBreak = false; 
 	}
+
+
+	//--------------------------------------------------------------------------
+	// Read from and write to a tournament file (see TabFile). The random
+	// number is saved, so that seeds don't change when the file is opened.
+	//--------------------------------------------------------------------------
+	Entry (TabFile.Input in) throws IOException
+	{
+		tournament = in.getTournament();
+		event = in.readEnum(Event.class);
+
+		students = new Competitor[in.readInt()];
+		for (int i = 0; i < students.length; i++)
+			students[i] = in.readCompetitor();
+
+		rand = in.readDouble();
+		ineligibleToBreak = in.readBoolean();
+	}
+
+	void write (TabFile.Output out) throws IOException
+	{
+		out.writeEnum(event);
+
+		out.writeInt(students.length);
+		for (Competitor student : students)
+			out.writeRef(student);
+
+		out.writeDouble(rand);
+		out.writeBoolean(ineligibleToBreak);
+	}
 	
 	
 	
@@ -108,6 +139,7 @@ class Entry implements Comparable, Serializable
 	//--------------------------------------------------------------------------
 	void addStudent(Competitor competitor) throws Exception
 	{
+		tournament.rosterChanged(); 
 		int i = 0; 
 		
 		while (i < students.length)
@@ -129,6 +161,7 @@ class Entry implements Comparable, Serializable
 	
 	void removeStudent (Competitor competitor)
 	{
+		tournament.rosterChanged(); 
 		if (students[0].equals(competitor))
 		{
 			students[0] = null; 
@@ -240,37 +273,16 @@ class Entry implements Comparable, Serializable
 		return getWins() + "-" + getLosses(); 						
 	}
 	
-	//Get wins and losses. Only returns prelims.  
+	//Get wins and losses. Only returns prelims. (These are kept by the 
+	//tournament's Standings, so they don't have to be counted every time.) 
 	int getWins ()
 	{
-		int wins = 0;
-		
-		for (Debate debate : tournament.getPrelims(this))
-		{
-			Debate.Outcome decision = debate.getDecision(this);
-			
-			if (decision.equals(Debate.Outcome.WIN) 
-				|| decision.equals(Debate.Outcome.BYE))
-				wins++;
-		}
-		
-		return wins; 						
+		return tournament.getStandings().getWins(this); 						
 	}
 
 	int getLosses ()
 	{
-		int losses = 0;
-		
-		for (Debate debate : tournament.getPrelims(this))
-		{
-			Debate.Outcome decision = debate.getDecision(this);
-			
-			if (decision.equals(Debate.Outcome.LOSS) 
-				|| decision.equals(Debate.Outcome.FORFEIT))
-				losses++;
-		}
-		
-		return losses; 						
+		return tournament.getStandings().getLosses(this); 						
 	}
 
 
@@ -278,17 +290,7 @@ class Entry implements Comparable, Serializable
 	//Get strength of opp (total wins by opponents). Only considers prelims. 
 	int getOppWins ()
 	{
-		int wins = 0; 
-		
-		for (Debate debate : tournament.getPrelims(this))
-		{
-			Entry opponent = debate.getOpponent (this);
-			
-			if (opponent != null)
-				wins += opponent.getWins();
-		}
-		
-		return wins;
+		return tournament.getStandings().getOppWins(this); 
 	}
 
 
@@ -308,6 +310,7 @@ class Entry implements Comparable, Serializable
 	void setIneligibleToBreak (boolean inel)
 	{
 		ineligibleToBreak = inel; 
+		tournament.rosterChanged(); //since this changes who can be seeded
 	}
 	
 	//Returns all debates this entry has been in 
@@ -341,17 +344,8 @@ class Entry implements Comparable, Serializable
 	//---------------------------------------------------------------------------
 	boolean hasFaced (Entry otherTeam, Round currentRound)
 	{
-		for (Round rd : tournament.getRounds())
-		{
-			//Quit the loop when we get to the current round 
-			if (rd.equals(currentRound))
-				break;
-			
-			if (getOpponent(rd) != null && getOpponent(rd).equals(otherTeam))
-				return true;			
-		}
-		
-		return false; 		
+		return tournament.getHistory().getTimesFaced(this, otherTeam, 
+																	currentRound) > 0; 
 	}
 
 
@@ -361,17 +355,9 @@ class Entry implements Comparable, Serializable
 	//---------------------------------------------------------------------------
 	boolean hasFacedTwice (Entry otherTeam, Round currentRound)
 	{
-		int n = 0; //times they've debated 
-	
-		for (Round rd : tournament.getRounds())
-		{
-			//Quit the loop when we get to the current round 
-			if (rd.equals(currentRound))
-				break;
-			
-			if (getOpponent(rd) != null && getOpponent(rd).equals(otherTeam))
-				n++;			
-		}
+		//times they've debated 
+		int n = tournament.getHistory().getTimesFaced(this, otherTeam, 
+																		currentRound); 
 		
 		return n >= 2 ? true : false; 
 	}
@@ -419,6 +405,17 @@ class Entry implements Comparable, Serializable
 		return same; 
 	}
 
+	//(Made from the students, the same as equals().) 
+	public int hashCode ()
+	{
+		int hash = 0; 
+		
+		for (Competitor student : students)
+			hash = 31 * hash + (student == null ? 0 : student.hashCode()); 
+		
+		return hash; 
+	}
+
 	public int compareTo (Object another) 
 	{
 		Entry other = (Entry) another; 
@@ -578,23 +575,7 @@ class Entry implements Comparable, Serializable
 	{
 		//this int is the net number of times that this team has been aff - it is
 		//equal to the number of aff rounds minus number of neg rounds.
-		int net = 0; 
-		for (Round round : tournament.getRounds())
-		{
-			//ignore rounds past the current one. 
-			if (round.compareTo (nextRd) >= 0)
-				break;
-			
-			Debate debate = round.getDebate(this); 
-			
-			if (debate != null)
-			{
-				if (debate.getSide(this) == Side.AFF)
-					net++; 
-				else if (debate.getSide(this) == Side.NEG)
-					net--; 
-			}
-		}
+		int net = tournament.getHistory().getNetAff(this, nextRd); 
 		
 		if (net > 0)
 			return Side.NEG;
@@ -647,24 +628,22 @@ class Entry implements Comparable, Serializable
 	//---------------------------------------------------------------------------
 	// Saves a backup text file 
 	//---------------------------------------------------------------------------
-	String writeBackup ()
+	void writeBackup (Appendable out) throws IOException
 	{
-		String text = "";
-	
 		for (Competitor student : students)
 		{
 			if (student != null)
 			{
-				text += STUDENT + " "; 
-	
-				text += FIRST_NAME + " " + student.getFirstNameNoSpaces() + " " 
-							+ LAST_NAME + " " + student.getLastNameNoSpaces() + " " 
-							+ SCHOOL + " " + student.getSchool().getNameNoSpaces() 
-							+ " "; 
+				out.append(STUDENT).append(" "); 
+	
+				out.append(FIRST_NAME).append(" ")
+					.append(student.getFirstNameNoSpaces()).append(" ")
+					.append(LAST_NAME).append(" ")
+					.append(student.getLastNameNoSpaces()).append(" ")
+					.append(SCHOOL).append(" ")
+					.append(student.getSchool().getNameNoSpaces()).append(" "); 
 			}
 		}
-		
-		return text; 
 	}
 	
 
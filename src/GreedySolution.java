@@ -0,0 +1,144 @@
+//******************************************************************************
+// GreedySolution.java
+// Kevin Coltin
+//
+// A quick solution to one of the integer LOPs made by Pair, used as a 
+// starting point for the solvers. It goes through the problem variables from 
+// cheapest to most expensive and sets each one to 1 if that doesn't go over 
+// any constraint. Rows with a slack variable are treated as "less than or 
+// equal" constraints; the rest must be met exactly, and if the greedy choice 
+// doesn't meet them the solution is infeasible. This is only meant for 
+// tableaux like Pair's, where every entry is 0 or 1 and every problem variable
+// is 0 or 1. 
+//******************************************************************************
+
+ 
+ 
+
+import java.util.Arrays; 
+import java.util.Comparator; 
+import java.util.NoSuchElementException; 
+
+class GreedySolution implements IntegerSolution 
+{
+	private int[] x; //values of the problem variables 
+	private boolean feasible; 
+	private double objective; 
+	
+	
+	//---------------------------------------------------------------------------
+	// Constructor - takes the same arguments as the LOP constructor. The 
+	// tableau isn't changed. 
+	//---------------------------------------------------------------------------
+	GreedySolution (int[][] table, int nvar)
+	{
+		final int[] costs = table[table.length-1]; 
+		int nconsts = table.length - 1; 
+		int rhs = table[0].length - 1; //column of right hand side 
+		
+		x = new int[nvar]; 
+		
+		//Amount of each constraint that's left to fill 
+		int[] left = new int[nconsts]; 
+		for (int i = 0; i < nconsts; i++)
+			left[i] = table[i][rhs]; 
+		
+		//Sort variables from cheapest to most expensive 
+		Integer[] order = new Integer[nvar]; 
+		for (int j = 0; j < nvar; j++)
+			order[j] = j; 
+		
+		Arrays.sort(order, new Comparator<Integer>() 
+			{
+				public int compare (Integer j1, Integer j2)
+				{
+					return Integer.compare (costs[j1], costs[j2]); 
+				}
+			}); 
+		
+		long cost = 0; 
+		
+		for (int k = 0; k < nvar; k++)
+		{
+			int j = order[k]; 
+			boolean fits = true; 
+			
+			for (int i = 0; i < nconsts && fits; i++)
+				fits = table[i][j] <= left[i]; 
+			
+			if (fits)
+			{
+				x[j] = 1; 
+				cost += costs[j]; 
+				
+				for (int i = 0; i < nconsts; i++)
+					left[i] -= table[i][j]; 
+			}
+		}
+		
+		//Check that every equality constraint (one without a slack variable) is
+		//met exactly 
+		feasible = true; 
+		for (int i = 0; i < nconsts && feasible; i++)
+		{
+			boolean hasSlack = false; 
+			for (int j = nvar; j < rhs - 1; j++)
+				if (table[i][j] != 0)
+					hasSlack = true; 
+			
+			feasible = hasSlack || left[i] == 0; 
+		}
+		
+		//The LOPs maximize -(total cost) 
+		objective = -cost; 
+	}
+	
+	
+	public boolean isFeasible ()
+	{
+		return feasible; 
+	}
+	
+	public boolean isComplete ()
+	{
+		return true; 
+	}
+	
+	public double getObjective ()
+	{
+		return objective; 
+	}
+	
+	public int getBound ()
+	{
+		return feasible ? (int) objective : Integer.MIN_VALUE; 
+	}
+	
+	public int[] getSolution ()
+	{
+		return x; 
+	}
+	
+	
+	//---------------------------------------------------------------------------
+	// There's nothing to branch on, so there are no successors 
+	//---------------------------------------------------------------------------
+	public Enumeration getSuccessors ()
+	{
+		return new Enumeration() 
+			{
+				public boolean hasMoreElements ()
+				{
+					return false; 
+				}
+				
+				public Object nextElement () throws NoSuchElementException
+				{
+					throw new NoSuchElementException(); 
+				}
+			}; 
+	}
+}
+
+
+
@@ -0,0 +1,328 @@
+//*****************************************************************************
+// HistoryIndex.java
+// Kevin Coltin
+//
+// Keeps track of each entry's history - who it has debated and how many times
+// it has been on each side - as of the start of each round, so that Entry
+// can answer hasFaced(), hasFacedTwice() and getSideDueFor() without looking
+// through every debate of every round. It does the same for each judge's
+// history (see JudgeHistory). The tournament has one (see
+// Tournament.getHistory()).
+//
+// The rounds are counted in order, each one starting from the totals of the
+// one before it. When a round changes (Round.pairingsChanged() and
+// resultsChanged() tell this class), only the totals for the rounds after it
+// are out of date, and they're counted again the next time they're needed.
+// Changing the entries or the rounds themselves starts everything over.
+//
+// Rounds are checked for conflicts on their own threads (see
+// ConflictChecker), so the methods are synchronized.
+//*****************************************************************************
+
+
+
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+class HistoryIndex
+{
+	private Tournament tournament;
+
+	//Roster version (see Tournament.version) this was set up at; -1 means it
+	//hasn't been set up yet
+	private long rosterVersion = -1;
+
+	//The tournament's rounds, in order, and the position of each one
+	private ArrayList<Round> rounds;
+	private IdentityHashMap<Round, Integer> positions;
+
+	//Each entry's history
+	private IdentityHashMap<Entry, Record> records;
+
+	//Each judge's history, by name (since debates recovered from a backup have
+	//their own Judge objects - see Debate.recoverBackup())
+	private HashMap<String, JudgeHistory> judges;
+
+	//Number of rounds, starting from the first, that have been counted in the
+	//records. Totals as of the start of round p are good for p <= numCounted.
+	private int numCounted;
+
+
+	//---------------------------------------------------------------------------
+	// History of one entry. For each round position p, netAff[p] is the number
+	// of times it was aff minus the number of times it was neg before round p,
+	// and opponents.get(other)[p] is the number of times it debated "other"
+	// before round p. Both arrays have one more element than there are rounds,
+	// for the totals after the last round.
+	//---------------------------------------------------------------------------
+	private static class Record
+	{
+		int[] netAff;
+		IdentityHashMap<Entry, int[]> opponents;
+
+		//Constructor
+		Record (int numRounds)
+		{
+			netAff = new int[numRounds + 1];
+			opponents = new IdentityHashMap<Entry, int[]>();
+		}
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Constructor
+	//---------------------------------------------------------------------------
+	HistoryIndex (Tournament t)
+	{
+		tournament = t;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Called when the debates or decisions in a round change, so that the
+	// totals for the rounds after it will be counted again.
+	//---------------------------------------------------------------------------
+	synchronized void roundChanged (Round round)
+	{
+		if (positions == null)
+			return;
+
+		Integer p = positions.get(round);
+
+		if (p != null && p < numCounted)
+			numCounted = p;
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Returns the number of times these entries debated each other before the
+	// given round
+	//---------------------------------------------------------------------------
+	synchronized int getTimesFaced (Entry team, Entry other, Round round)
+	{
+		int p = countThrough(round);
+		Record record = records.get(team);
+
+		if (record == null)
+			return 0;
+
+		int[] times = record.opponents.get(other);
+		return times == null ? 0 : times[p];
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the number of times this entry was aff minus the number of times
+	// it was neg before the given round
+	//---------------------------------------------------------------------------
+	synchronized int getNetAff (Entry team, Round round)
+	{
+		int p = countThrough(round);
+		Record record = records.get(team);
+
+		return record == null ? 0 : record.netAff[p];
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Returns the number of times this judge judged this entry before the given
+	// round, on the given side (or on either side, if side is Side.NONE)
+	//---------------------------------------------------------------------------
+	synchronized int getTimesJudged (Judge judge, Entry entry, Side side,
+												Round round)
+	{
+		int p = countThrough(round);
+		JudgeHistory history = judges.get(judge.getName());
+
+		return history == null ? 0 : history.getTimesJudged(entry, side, p);
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the number of debates this judge has judged, in all rounds that
+	// have started (the same as judge.getDebates().size())
+	//---------------------------------------------------------------------------
+	synchronized int getNumDebatesJudged (Judge judge)
+	{
+		JudgeHistory history = getJudgeHistory(judge);
+		return history == null ? 0 : history.getNumDebates();
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the average rating of the rooms this judge has judged in (see
+	// Judge.getRoomsDesirability())
+	//---------------------------------------------------------------------------
+	synchronized int getRoomsDesirability (Judge judge)
+	{
+		JudgeHistory history = getJudgeHistory(judge);
+		return history == null ? 0 : history.getRoomsDesirability();
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns this judge's history, with every round counted
+	//---------------------------------------------------------------------------
+	private JudgeHistory getJudgeHistory (Judge judge)
+	{
+		refresh();
+		countThrough (rounds.size());
+
+		return judges.get(judge.getName());
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Makes sure the totals as of the start of the given round are up to date,
+	// and returns its position. A round that isn't in the tournament is put
+	// after every round that comes before it.
+	//---------------------------------------------------------------------------
+	private int countThrough (Round round)
+	{
+		refresh();
+
+		Integer position = positions.get(round);
+		int p = 0;
+
+		if (position != null)
+			p = position;
+		else
+			while (p < rounds.size() && rounds.get(p).compareTo(round) < 0)
+				p++;
+
+		countThrough (p);
+		return p;
+	}
+
+	//Same, for the round at position p (or after the last round, if p is the
+	//number of rounds)
+	private void countThrough (int p)
+	{
+		while (numCounted < p)
+		{
+			count (numCounted);
+			numCounted++;
+		}
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Starts over if the entries or rounds have changed
+	//---------------------------------------------------------------------------
+	private void refresh ()
+	{
+		if (tournament.getRosterVersion() == rosterVersion)
+			return;
+
+		rounds = tournament.getRounds();
+		positions = new IdentityHashMap<Round, Integer>();
+		for (int p = 0; p < rounds.size(); p++)
+			positions.put(rounds.get(p), p);
+
+		records = new IdentityHashMap<Entry, Record>();
+		for (Entry entry : tournament.getEntries())
+			records.put(entry, new Record(rounds.size()));
+
+		judges = new HashMap<String, JudgeHistory>();
+		for (Judge judge : tournament.getJudges())
+			judges.put(judge.getName(), new JudgeHistory(rounds.size()));
+
+		numCounted = 0;
+		rosterVersion = tournament.getRosterVersion();
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Adds the debates in the round at position p to the totals before it, to
+	// get the totals after it. As in Round.getDebate(Entry), only the first
+	// debate an entry is in counts; and as in Round.getDebate(Judge, char),
+	// only the first debate a judge is in in each flight.
+	//---------------------------------------------------------------------------
+	private void count (int p)
+	{
+		for (Record record : records.values())
+		{
+			record.netAff[p+1] = record.netAff[p];
+
+			for (int[] times : record.opponents.values())
+				times[p+1] = times[p];
+		}
+
+		for (JudgeHistory history : judges.values())
+			history.carry (p);
+
+		if (rounds.get(p).hasHappened())
+			countJudges (p);
+
+		IdentityHashMap<Entry, Boolean> counted =
+														new IdentityHashMap<Entry, Boolean>();
+
+		for (Debate debate : rounds.get(p).getDebates())
+		{
+			Entry[] teams = {debate.getTeam1(), debate.getTeam2()};
+
+			for (Entry team : teams)
+			{
+				if (team == null || counted.containsKey(team))
+					continue;
+
+				counted.put(team, true);
+				Record record = records.get(team);
+
+				if (record == null)
+					continue;
+
+				if (debate.getSide(team) == Side.AFF)
+					record.netAff[p+1]++;
+				else if (debate.getSide(team) == Side.NEG)
+					record.netAff[p+1]--;
+
+				Entry opponent = debate.getOpponent(team);
+
+				if (opponent != null)
+				{
+					int[] times = record.opponents.get(opponent);
+
+					if (times == null)
+					{
+						times = new int[rounds.size() + 1];
+						record.opponents.put(opponent, times);
+					}
+
+					times[p+1]++;
+				}
+			}
+		}
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Adds the debates judged in the round at position p to the judges' totals
+	//---------------------------------------------------------------------------
+	private void countJudges (int p)
+	{
+		HashMap<String, Boolean> counted = new HashMap<String, Boolean>();
+
+		for (Debate debate : rounds.get(p).getDebates())
+		{
+			for (Judge judge : debate.getJudges())
+			{
+				String key = debate.getFlight() + judge.getName();
+
+				if (counted.containsKey(key))
+					continue;
+
+				counted.put(key, true);
+				JudgeHistory history = judges.get(judge.getName());
+
+				if (history != null)
+					history.add (p, debate);
+			}
+		}
+	}
+}
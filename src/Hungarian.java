@@ -0,0 +1,123 @@
+//*****************************************************************************
+// Hungarian.java
+// Kevin Coltin
+//
+// Solves the rectangular assignment problem: given a cost matrix with at
+// least as many columns as rows, assigns each row to a different column so
+// that the total cost is as small as possible. Uses the shortest augmenting
+// path form of the Hungarian algorithm (as in Jonker and Volgenant), which
+// takes O(n^2 m) time and O(n + m) memory beyond the matrix itself - much
+// less than setting the same problem up as a simplex tableau.
+//*****************************************************************************
+
+
+
+
+class Hungarian
+{
+	//--------------------------------------------------------------------------
+	// Returns an array giving the column assigned to each row of the cost
+	// matrix. Returns null if there are more rows than columns, since then no
+	// complete assignment exists. Rows of the matrix may be shared (i.e. the
+	// same array may appear more than once), which is how Pair represents a
+	// debate that needs more than one judge.
+	//--------------------------------------------------------------------------
+	static int[] solve (int[][] cost)
+	{
+		int nrows = cost.length;
+
+		if (nrows == 0)
+			return new int[0];
+
+		int ncols = cost[0].length;
+
+		if (nrows > ncols)
+			return null;
+
+		//Potentials for rows and columns. Index 0 is used as a dummy row/column
+		//to start each augmenting path, so everything else is shifted by one.
+		long[] u = new long[nrows+1];
+		long[] v = new long[ncols+1];
+
+		int[] rowOfCol = new int[ncols+1]; //row assigned to each column, or 0
+		int[] way = new int[ncols+1]; //previous column on the shortest path
+		long[] minv = new long[ncols+1];
+		boolean[] used = new boolean[ncols+1];
+
+		//Add the rows one at a time, each time finding the shortest augmenting
+		//path from the new row to a free column in terms of reduced costs.
+		for (int i = 1; i <= nrows; i++)
+		{
+			rowOfCol[0] = i;
+			int col0 = 0;
+
+			for (int j = 0; j <= ncols; j++)
+			{
+				minv[j] = Long.MAX_VALUE;
+				used[j] = false;
+			}
+
+			do
+			{
+				used[col0] = true;
+				int row0 = rowOfCol[col0];
+				long delta = Long.MAX_VALUE;
+				int col1 = 0;
+
+				for (int j = 1; j <= ncols; j++)
+				{
+					if (used[j])
+						continue;
+
+					long reduced = cost[row0-1][j-1] - u[row0] - v[j];
+
+					if (reduced < minv[j])
+					{
+						minv[j] = reduced;
+						way[j] = col0;
+					}
+
+					if (minv[j] < delta)
+					{
+						delta = minv[j];
+						col1 = j;
+					}
+				}
+
+				//Update potentials so that the new edge becomes tight
+				for (int j = 0; j <= ncols; j++)
+				{
+					if (used[j])
+					{
+						u[rowOfCol[j]] += delta;
+						v[j] -= delta;
+					}
+					else
+						minv[j] -= delta;
+				}
+
+				col0 = col1;
+			}
+			while (rowOfCol[col0] != 0);
+
+			//Flip the assignments along the augmenting path
+			do
+			{
+				int col1 = way[col0];
+				rowOfCol[col0] = rowOfCol[col1];
+				col0 = col1;
+			}
+			while (col0 != 0);
+		}
+
+		int[] assignment = new int[nrows];
+		for (int j = 1; j <= ncols; j++)
+			if (rowOfCol[j] != 0)
+				assignment[rowOfCol[j]-1] = j - 1;
+
+		return assignment;
+	}
+}
+
+
+
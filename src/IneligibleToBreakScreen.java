@@ -153,7 +153,10 @@ class IneligibleToBreakScreen extends JPanel
 						JOptionPane.WARNING_MESSAGE);
 					
 				if (choice == JOptionPane.YES_OPTION)
+				{
 					tournament.getBreaks().clear(); 
+					tournament.rosterChanged(); 
+				}
 				else if (choice == JOptionPane.NO_OPTION)
 					return; 
 			}
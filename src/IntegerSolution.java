@@ -0,0 +1,17 @@
+//******************************************************************************
+// IntegerSolution.java
+// Kevin Coltin
+//
+// A solution to an integer LOP, which can give the values of its variables.
+//******************************************************************************
+
+ 
+ 
+
+interface IntegerSolution extends Solution 
+{
+	int[] getSolution (); 
+}
+
+
+
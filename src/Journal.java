@@ -0,0 +1,435 @@
+//*****************************************************************************
+// Journal.java
+// Kevin Coltin
+//
+// Saves the tournament as it changes without writing the whole file every
+// time. The tournament is saved in full (a "snapshot") the first time, and
+// after that, each time it's saved, a record of each round that has changed
+// is added to the end of a journal next to the file ("name.tab.journal"). See
+// TabFile.writeRecord() for what's in a record. When the file is opened,
+// TabFile.read() reads the snapshot and then replays the journal over it.
+//
+// The work is split between the screens' thread and the Saver's. save(),
+// on the screens' thread, only encodes the rounds that have changed since
+// they were last saved (going by their versions) - or the whole tournament,
+// the first time and whenever anything but the rounds has changed: the
+// schools, entries, judges, rooms, the list of rounds or the break - and
+// hands them to the Saver. write(), on the Saver's thread, reads them into a
+// copy of the tournament of its own, and writes the records, the snapshots
+// and the text backup from the copy. A new snapshot is written whenever the
+// whole tournament was sent, the journal gets too long, a write has failed,
+// or the tournament is saved with "all" (from the menu).
+//
+// The journal starts with the length and checksum of the snapshot it goes
+// with, so it's skipped if the file was saved again some other way, and each
+// record has a checksum, so one that was only partly written when the
+// program stopped is skipped too.
+//*****************************************************************************
+
+
+
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.zip.CRC32;
+
+class Journal
+{
+	//Header that starts every journal, and the version of its format
+	private static final int MAGIC = 0x53574A4C; //"SWJL"
+	static final int VERSION = 1;
+
+	//Most records in the journal before a new snapshot is written (one is
+	//also written once the journal is longer than the file)
+	private static final int MAX_RECORDS = 500;
+
+	private Tournament tournament;
+	private TournamentFrame tf; //frame the Saver reports to
+	private File file; //tournament file
+	private File journalFile;
+	private File backupFile; //text backup (can be null)
+
+	//On the screens' thread: the Output the whole tournament was last encoded
+	//with (null until it has been), which the records sent since refer to;
+	//and the version (see Tournament.version) of the roster as of then, and
+	//of each round as of its last record
+	private TabFile.Output encoded;
+	private long rosterVersion;
+	private IdentityHashMap<Round, Long> versions;
+
+	//Set by the Saver if it couldn't read what it was sent, so that the whole
+	//tournament is sent again
+	private volatile boolean lost;
+
+	//Waiting for the Saver (guarded by the journal's lock): the whole
+	//tournament, if it has been encoded since the Saver last took what was
+	//waiting; the records encoded since; and whether to write a snapshot
+	private byte[] waitingTournament;
+	private ArrayList<byte[]> waitingRecords = new ArrayList<byte[]>();
+	private boolean waitingAll;
+
+	//On the Saver's thread: the Input its copy of the tournament was read
+	//with (see TabFile.read(byte[])), which the records sent are read with;
+	//the Output the file was last written with (null if a new snapshot has to
+	//be written), which the journal's records refer to, and its length; and
+	//the number of records in the journal and its length
+	private TabFile.Input copy;
+	private TabFile.Output snapshot;
+	private long snapshotLength;
+	private int numRecords;
+	private long journalLength;
+
+
+	//---------------------------------------------------------------------------
+	// Constructor
+	//---------------------------------------------------------------------------
+	Journal (Tournament t, File f, File bf, TournamentFrame frame)
+	{
+		tournament = t;
+		file = f;
+		backupFile = bf;
+		tf = frame;
+		journalFile = getJournalFile(f);
+	}
+
+	File getFile ()
+	{
+		return file;
+	}
+
+	File getBackupFile ()
+	{
+		return backupFile;
+	}
+
+	TournamentFrame getFrame ()
+	{
+		return tf;
+	}
+
+	//Returns the journal that goes with a tournament file
+	private static File getJournalFile (File file)
+	{
+		return new File(file.getPath() + ".journal");
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Saves the tournament (on the screens' thread) - encodes each round that
+	// has changed since it was last saved, or the whole tournament if need be,
+	// and hands them to the Saver. If "all" is true, the Saver writes a new
+	// snapshot. Returns whether the whole tournament was encoded.
+	//---------------------------------------------------------------------------
+	boolean save (boolean all) throws IOException
+	{
+		byte[] whole = null;
+		ArrayList<byte[]> records = new ArrayList<byte[]>();
+
+		if (encoded == null || lost
+			|| tournament.getRosterVersion() != rosterVersion)
+			whole = encode();
+		else
+		{
+			//(If something can't go in a record, like a judge who isn't in the
+			//last encoding, fall back on sending the whole tournament.)
+			try
+			{
+				records = encodeRecords();
+			}
+			catch (IOException e)
+			{
+				whole = encode();
+			}
+		}
+
+		synchronized (this)
+		{
+			if (whole != null)
+			{
+				waitingTournament = whole;
+				waitingRecords.clear();
+			}
+
+			waitingRecords.addAll(records);
+			waitingAll |= all;
+		}
+
+		if (whole != null || records.isEmpty() == false || all)
+			Saver.getSaver().save(this);
+
+		return whole != null;
+	}
+
+
+	//Encodes the whole tournament, and returns it as a file
+	private byte[] encode () throws IOException
+	{
+		encoded = null; //in case anything goes wrong from here on
+		lost = false;
+
+		rosterVersion = tournament.getRosterVersion();
+		versions = new IdentityHashMap<Round, Long>();
+		for (Round round : tournament.getRounds())
+			versions.put(round, getVersion(round));
+
+		TabFile.Output out = TabFile.write(tournament);
+		encoded = out;
+
+		return out.toFile();
+	}
+
+
+	//Encodes a record of each round that has changed since its last one
+	private ArrayList<byte[]> encodeRecords () throws IOException
+	{
+		ArrayList<byte[]> records = new ArrayList<byte[]>();
+		IdentityHashMap<Round, Long> changed = new IdentityHashMap<Round, Long>();
+
+		for (Round round : tournament.getRounds())
+		{
+			long version = getVersion(round);
+			Long last = versions.get(round);
+
+			if (last != null && last == version)
+				continue;
+
+			records.add(TabFile.writeRecord(round, encoded));
+			changed.put(round, version);
+		}
+
+		versions.putAll(changed);
+		return records;
+	}
+
+
+	//Returns the version of the last change to anything in the round's record
+	private static long getVersion (Round round)
+	{
+		return Math.max(round.getPairingsVersion(), Math.max(
+						round.getResultsVersion(), round.getDetailsVersion()));
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Writes what has been sent to the Saver (on the Saver's thread): reads it
+	// into the Saver's copy of the tournament, adds a record to the journal
+	// for each round that changed, all in one write, or writes a new snapshot
+	// if need be, and then hands the Saver the text backup.
+	//---------------------------------------------------------------------------
+	void write () throws IOException
+	{
+		byte[] whole;
+		ArrayList<byte[]> records;
+		boolean all;
+
+		synchronized (this)
+		{
+			whole = waitingTournament;
+			records = waitingRecords;
+			all = waitingAll;
+
+			waitingTournament = null;
+			waitingRecords = new ArrayList<byte[]>();
+			waitingAll = false;
+		}
+
+		IdentityHashMap<Round, Round> changed = new IdentityHashMap<Round, Round>();
+
+		try
+		{
+			if (whole != null)
+			{
+				copy = TabFile.read(whole);
+				snapshot = null;
+			}
+
+			if (copy == null)
+				return;
+
+			for (byte[] record : records)
+			{
+				Round round = TabFile.readRecord(record, copy);
+				changed.put(round, round);
+			}
+		}
+		catch (IOException e)
+		{
+			//(This shouldn't happen, but if it does, the copy can't be trusted)
+			copy = null;
+			lost = true;
+			throw e;
+		}
+
+		if (whole == null && changed.isEmpty() && all == false)
+			return;
+
+		boolean appended = false;
+
+		if (snapshot != null && all == false && numRecords < MAX_RECORDS
+			&& journalLength <= snapshotLength)
+		{
+			//(If the records can't be written, try writing a snapshot instead.)
+			try
+			{
+				append(changed.keySet());
+				appended = true;
+			}
+			catch (IOException e) {}
+		}
+
+		if (appended == false)
+			writeSnapshot();
+
+		if (backupFile != null)
+			Saver.getSaver().write(tf, backupFile,
+										copy.getTournament().getBackup());
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Adds a record of each of the rounds to the end of the journal
+	//---------------------------------------------------------------------------
+	private void append (Iterable<Round> rounds) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		int n = 0;
+
+		for (Round round : rounds)
+		{
+			byte[] record = TabFile.writeRecord(round, snapshot);
+			out.writeInt(record.length);
+			out.writeInt(checksum(record));
+			out.write(record);
+			n++;
+		}
+
+		Saver.append(journalFile, bytes.toByteArray());
+
+		numRecords += n;
+		journalLength += bytes.size();
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Writes the Saver's copy of the tournament to the file, and starts the
+	// journal over
+	//---------------------------------------------------------------------------
+	private void writeSnapshot () throws IOException
+	{
+		snapshot = null; //in case anything goes wrong from here on
+
+		TabFile.Output out = TabFile.write(copy.getTournament());
+		byte[] bytes = out.toFile();
+
+		ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+		DataOutputStream header = new DataOutputStream(headerBytes);
+		header.writeInt(MAGIC);
+		header.writeInt(VERSION);
+		header.writeLong(bytes.length);
+		header.writeInt(checksum(bytes));
+
+		//(The file has to be written first, so that if the program stops in
+		//between, the old journal doesn't go with the new file.)
+		Saver.write(file, bytes);
+		Saver.write(journalFile, headerBytes.toByteArray());
+
+		numRecords = 0;
+		journalLength = headerBytes.size();
+		snapshotLength = bytes.length;
+		snapshot = out;
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Replays the journal that goes with this file, if there is one, over the
+	// tournament that was just read from it ("in" is the Input it was read
+	// with). Stops at the first record that wasn't written completely.
+	//---------------------------------------------------------------------------
+	static void replay (File file, TabFile.Input in) throws IOException
+	{
+		File journalFile = getJournalFile(file);
+		if (journalFile.exists() == false)
+			return;
+
+		DataInputStream data = new DataInputStream(new BufferedInputStream(
+													new FileInputStream(journalFile)));
+
+		try
+		{
+			//Skip a journal that doesn't go with this version of the file (e.g.
+			//if the program stopped after writing a snapshot but before starting
+			//the journal over)
+			if (data.readInt() != MAGIC
+				|| data.readInt() > VERSION
+				|| data.readLong() != file.length()
+				|| data.readInt() != checksum(file))
+				return;
+
+			while (true)
+			{
+				int length = data.readInt();
+				int checksum = data.readInt();
+
+				if (length < 0 || length > journalFile.length())
+					return;
+
+				byte[] record = new byte[length];
+				data.readFully(record);
+
+				if (checksum(record) != checksum)
+					return;
+
+				TabFile.readRecord(record, in);
+			}
+		}
+		catch (EOFException e)
+		{
+			//This is the end of the journal (or of what was written of it)
+		}
+		finally
+		{
+			data.close();
+		}
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Return the CRC-32 checksum of some bytes or of a whole file
+	//---------------------------------------------------------------------------
+	private static int checksum (byte[] bytes)
+	{
+		CRC32 crc = new CRC32();
+		crc.update(bytes);
+		return (int) crc.getValue();
+	}
+
+	private static int checksum (File file) throws IOException
+	{
+		CRC32 crc = new CRC32();
+		InputStream in = new FileInputStream(file);
+
+		try
+		{
+			byte[] buffer = new byte[8192];
+			int n = in.read(buffer);
+
+			while (n != -1)
+			{
+				crc.update(buffer, 0, n);
+				n = in.read(buffer);
+			}
+		}
+		finally
+		{
+			in.close();
+		}
+
+		return (int) crc.getValue();
+	}
+}
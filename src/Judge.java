@@ -9,6 +9,7 @@
  
 
 import java.io.Serializable;
+import java.io.IOException;
 import java.util.ArrayList; 
 
 class Judge implements Comparable, Serializable, Prioritizable 
@@ -48,12 +49,48 @@ class Judge implements Comparable, Serializable, Prioritizable
 	}
 
 
+	//--------------------------------------------------------------------------
+	// Read from and write to a tournament file (see TabFile). The locks
+	// are left to TabFile, since they refer to debates, which are read after
+	// the judges.
+	//--------------------------------------------------------------------------
+	Judge (TabFile.Input in) throws IOException
+	{
+		tournament = in.getTournament();
+		name = in.readString();
+		defaultPriority = in.readEnum(Priority.PriorityLevel.class);
+
+		roundPriorities = new ArrayList<Priority>();
+		int n = in.readInt();
+		for (int i = 0; i < n; i++)
+			roundPriorities.add(new Priority(in));
+
+		schoolStrikes = in.readSchools();
+		studentStrikes = in.readCompetitors();
+		locks = new ArrayList<JudgeInhabitable>();
+	}
+
+	void write (TabFile.Output out) throws IOException
+	{
+		out.writeString(name);
+		out.writeEnum(defaultPriority);
+
+		out.writeInt(roundPriorities.size());
+		for (Priority p : roundPriorities)
+			p.write(out);
+
+		out.writeRefs(schoolStrikes);
+		out.writeRefs(studentStrikes);
+	}
+
+
 	//--------------------------------------------------------------------------
 	// Mutator and accessor methods
 	//--------------------------------------------------------------------------
 	void setName (String n)
 	{
 		name = n; 
+		tournament.rosterChanged(); 
 	}
 	
 	
@@ -78,6 +115,7 @@ class Judge implements Comparable, Serializable, Prioritizable
 			if (roundPriorities.get(i).getPriority().equals(defaultPriority))
 				roundPriorities.remove(i); 
 		}				
+		tournament.rosterChanged(); 
 	}
 
 	
@@ -112,6 +150,11 @@ class Judge implements Comparable, Serializable, Prioritizable
 		Judge other = (Judge) another; 
 		return name.equals(other.getName());
 	}
+
+	public int hashCode ()
+	{
+		return name.hashCode(); 
+	}
 	
 	public int compareTo (Object another)
 	{
@@ -180,15 +223,10 @@ class Judge implements Comparable, Serializable, Prioritizable
 	//--------------------------------------------------------------------------
 	int getRoomsDesirability ()
 	{
-		int desirability = 0; 
-	
-		for (Room room : getRoomsJudged())
-			desirability += 5 - room.getRating().ordinal();
-		
-		if (getRoomsJudged().isEmpty() == false) //make sure not dividing by zero
-			desirability /= getRoomsJudged().size(); //divide to get average
-
-		return desirability; 
+		//This is the same as averaging over getRoomsJudged(), but the 
+		//tournament keeps the totals up to date so they don't have to be found
+		//every time. 
+		return tournament.getHistory().getRoomsDesirability(this); 
 	}
 
 
@@ -215,6 +253,7 @@ class Judge implements Comparable, Serializable, Prioritizable
 			else 
 				roundPriorities.add (new Priority(round, level));
 		}
+		tournament.rosterChanged(); 
 	}
 	
 
@@ -225,8 +264,9 @@ class Judge implements Comparable, Serializable, Prioritizable
 	{
 		//If the judge has a priority level for this round, return that; return default 
 		//priority if not 
-		if (hasPriorityObject(round))
-			return getPriorityObject(round).getPriority(); 
+		Priority priority = getPriorityObject(round); 
+		if (priority != null)
+			return priority.getPriority(); 
 		else
 			return defaultPriority; 		
 	}
@@ -240,8 +280,11 @@ class Judge implements Comparable, Serializable, Prioritizable
 	//--------------------------------------------------------------------------
 	private Priority getPriorityObject (Round round)
 	{
-		for (Priority p : roundPriorities)
+		//(Indexed rather than with an iterator, since this is called for every 
+		//judge the pairing looks at, and shouldn't make any garbage.) 
+		for (int i = 0; i < roundPriorities.size(); i++)
 		{
+			Priority p = roundPriorities.get(i); 
 			if (p.getRound() != null && round.equals(p.getRound()))
 				return p; 
 		}
@@ -351,32 +394,38 @@ class Judge implements Comparable, Serializable, Prioritizable
 	{
 		schoolStrikes.add(school); 
 		Sort.sort(schoolStrikes);
+		tournament.rosterChanged(); 
 	}
 	
 	void removeStrike (School school)
 	{
 		Sort.remove(schoolStrikes, school);
+		tournament.rosterChanged(); 
 	}
 	
 	void setSchoolStrikes (ArrayList<School> schools)
 	{
 		schoolStrikes = schools; 
+		tournament.rosterChanged(); 
 	}
 
 	void addStrike (Competitor competitor) 
 	{
 		studentStrikes.add(competitor);
 		Sort.sort(studentStrikes);
+		tournament.rosterChanged(); 
 	}
 
 	void removeStrike (Competitor competitor)
 	{
 		Sort.remove(studentStrikes, competitor);
+		tournament.rosterChanged(); 
 	}
 	
 	void setStudentStrikes (ArrayList<Competitor> competitors)
 	{
 		studentStrikes = competitors; 
+		tournament.rosterChanged(); 
 	}
 
 	void addLock (JudgeInhabitable lock)
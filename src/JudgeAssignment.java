@@ -10,6 +10,7 @@
  
 
 import java.io.Serializable; 
+import java.io.IOException;
 import java.util.ArrayList; 
 import java.awt.Color;
 
@@ -44,8 +45,32 @@ class JudgeAssignment implements Flightable, Serializable, JudgeInhabitable
 		flight = f;
 		round = r; 
 	}
+
+	//Read from and write to a tournament file (see TabFile). (The judges'
+	//locks are saved with the judges.)
+	JudgeAssignment (TabFile.Input in) throws IOException
+	{
+		judges = in.readJudges();
+		flight = in.readChar();
+		round = in.readRound();
+	}
+
+	void write (TabFile.Output out) throws IOException
+	{
+		out.writeRefs(judges);
+		out.writeChar(flight);
+		out.writeRef(round);
+	}
 		
 	
+	//Tells the round that its pairings have changed (see Round.pairingsChanged())
+	private void pairingsChanged ()
+	{
+		if (round != null)
+			round.pairingsChanged(); 
+	}
+	
+	
 	//Note: by default, methods can be used when there's only one judge, as in 
 	//prelims, so that's what they assume when you call certain methods like 
 	//setJudge. 
@@ -57,11 +82,13 @@ class JudgeAssignment implements Flightable, Serializable, JudgeInhabitable
 			judges.add(judge); 
 		else
 			judges.set(0, judge);
+		pairingsChanged(); 
 	}
 	
 	public void addJudge (Judge judge)
 	{
 		judges.add(judge);
+		pairingsChanged(); 
 	}
 	
 	public void removeJudge (Judge judge)
@@ -69,11 +96,13 @@ class JudgeAssignment implements Flightable, Serializable, JudgeInhabitable
 		for (Judge j : judges)
 			if (judges.equals(j))
 				Sort.remove(judges, judge);
+		pairingsChanged(); 
 	}
 	
 	public void removeJudges ()
 	{
 		judges.clear();
+		pairingsChanged(); 
 	}
 	
 	public Judge getJudge()
@@ -92,6 +121,7 @@ class JudgeAssignment implements Flightable, Serializable, JudgeInhabitable
 	public void setFlight (char f)
 	{
 		flight = f;
+		pairingsChanged(); 
 	}
 	
 	public char getFlight ()
@@ -156,6 +186,7 @@ class JudgeAssignment implements Flightable, Serializable, JudgeInhabitable
 	void setLocked (boolean isLocked)
 	{
 		judges.get(0).setLocked (this, isLocked);
+		pairingsChanged(); 
 	}
 	
 	public void setJudgeLocked (boolean isLocked)
@@ -166,7 +197,8 @@ class JudgeAssignment implements Flightable, Serializable, JudgeInhabitable
 	public void setJudgeLocked (Judge judge, boolean isLocked)
 	{
 		judge.setLocked (this, isLocked);
-	}	
+		pairingsChanged(); 
+	}
 
 
 
@@ -184,8 +216,7 @@ class JudgeAssignment implements Flightable, Serializable, JudgeInhabitable
 			return Color.BLACK;
 		
 		//Otherwise, if the round has not yet started: 
-		ConflictChecker.setRound(round);
-		Conflict[] conflicts = ConflictChecker.checkForConflict(this); 
+		Conflict[] conflicts = round.getConflictChecker().checkForConflict(this); 
 		
 		if (conflicts == null)
 			return Color.BLUE; 
@@ -0,0 +1,143 @@
+//*****************************************************************************
+// JudgeHistory.java
+// Kevin Coltin
+//
+// The history of a single judge - which entries they've judged and on which
+// sides, how many debates they've judged, and how good the rooms were - as
+// of the start of each round. Like Judge.getDebates(), only rounds that have
+// started count. These are kept up to date by HistoryIndex, which has one
+// for each judge.
+//*****************************************************************************
+
+
+
+
+import java.util.IdentityHashMap;
+
+class JudgeHistory
+{
+	//For each round position p (see HistoryIndex), the number of times the
+	//judge judged each entry before round p - on the aff, on the neg, and in
+	//all. Arrays have one more element than there are rounds, for the totals
+	//after the last round.
+	private IdentityHashMap<Entry, int[]> affs, negs, entries;
+
+	//For each round position p, the number of debates judged before round p,
+	//and the number of them with a room and the sum of those rooms' ratings
+	//(where A is 5, B is 4, etc., as in Judge.getRoomsDesirability())
+	private int[] numDebates, numRooms, roomRatings;
+
+	private int numRounds;
+
+
+	//---------------------------------------------------------------------------
+	// Constructor
+	//---------------------------------------------------------------------------
+	JudgeHistory (int rounds)
+	{
+		numRounds = rounds;
+		affs = new IdentityHashMap<Entry, int[]>();
+		negs = new IdentityHashMap<Entry, int[]>();
+		entries = new IdentityHashMap<Entry, int[]>();
+		numDebates = new int[rounds + 1];
+		numRooms = new int[rounds + 1];
+		roomRatings = new int[rounds + 1];
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Starts the totals after round p from the totals before it
+	//---------------------------------------------------------------------------
+	void carry (int p)
+	{
+		numDebates[p+1] = numDebates[p];
+		numRooms[p+1] = numRooms[p];
+		roomRatings[p+1] = roomRatings[p];
+
+		for (int[] times : affs.values())
+			times[p+1] = times[p];
+		for (int[] times : negs.values())
+			times[p+1] = times[p];
+		for (int[] times : entries.values())
+			times[p+1] = times[p];
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Adds a debate judged in round p to the totals after it
+	//---------------------------------------------------------------------------
+	void add (int p, Debate debate)
+	{
+		numDebates[p+1]++;
+
+		if (debate.getRoom() != null)
+		{
+			numRooms[p+1]++;
+			roomRatings[p+1] += 5 - debate.getRoom().getRating().ordinal();
+		}
+
+		if (debate.getAff() != null)
+			increment (affs, debate.getAff(), p);
+		if (debate.getNeg() != null)
+			increment (negs, debate.getNeg(), p);
+		if (debate.getTeam1() != null)
+			increment (entries, debate.getTeam1(), p);
+		if (debate.getTeam2() != null)
+			increment (entries, debate.getTeam2(), p);
+	}
+
+	private void increment (IdentityHashMap<Entry, int[]> map, Entry entry,
+									int p)
+	{
+		int[] times = map.get(entry);
+
+		if (times == null)
+		{
+			times = new int[numRounds + 1];
+			map.put(entry, times);
+		}
+
+		times[p+1]++;
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Returns the number of times the judge judged this entry before round p,
+	// on the given side (or on either side, if side is Side.NONE)
+	//---------------------------------------------------------------------------
+	int getTimesJudged (Entry entry, Side side, int p)
+	{
+		IdentityHashMap<Entry, int[]> map = entries;
+
+		if (side == Side.AFF)
+			map = affs;
+		else if (side == Side.NEG)
+			map = negs;
+
+		int[] times = map.get(entry);
+		return times == null ? 0 : times[p];
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the number of debates judged in all rounds
+	//---------------------------------------------------------------------------
+	int getNumDebates ()
+	{
+		return numDebates[numRounds];
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the average rating of the rooms judged in, in all rounds (see
+	// Judge.getRoomsDesirability())
+	//---------------------------------------------------------------------------
+	int getRoomsDesirability ()
+	{
+		if (numRooms[numRounds] == 0)
+			return 0;
+
+		return roomRatings[numRounds] / numRooms[numRounds];
+	}
+}
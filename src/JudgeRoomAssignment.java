@@ -10,6 +10,7 @@
  
 
 import java.io.Serializable;
+import java.io.IOException;
 import java.util.ArrayList; 
 import java.awt.Color;
 
@@ -54,6 +55,34 @@ class JudgeRoomAssignment implements Flightable, Serializable, JudgeInhabitable,
 		roomLocked = rl; 
 		round = rd; 
 	}
+
+	//Read from and write to a tournament file (see TabFile). (The judges'
+	//locks are saved with the judges.)
+	JudgeRoomAssignment (TabFile.Input in) throws IOException
+	{
+		judges = in.readJudges();
+		room = in.readRoom();
+		flight = in.readChar();
+		roomLocked = in.readBoolean();
+		round = in.readRound();
+	}
+
+	void write (TabFile.Output out) throws IOException
+	{
+		out.writeRefs(judges);
+		out.writeRef(room);
+		out.writeChar(flight);
+		out.writeBoolean(roomLocked);
+		out.writeRef(round);
+	}
+	
+	
+	//Tells the round that its pairings have changed (see Round.pairingsChanged())
+	private void pairingsChanged ()
+	{
+		if (round != null)
+			round.pairingsChanged(); 
+	}
 	
 	
 	//Mutators and accessors 
@@ -63,11 +92,13 @@ class JudgeRoomAssignment implements Flightable, Serializable, JudgeInhabitable,
 			judges.add(judge); 
 		else
 			judges.set(0, judge);
+		pairingsChanged(); 
 	}
 	
 	public void addJudge (Judge judge)
 	{
 		judges.add(judge);
+		pairingsChanged(); 
 	}
 	
 
@@ -76,17 +107,20 @@ class JudgeRoomAssignment implements Flightable, Serializable, JudgeInhabitable,
 		for (int i = judges.size() - 1; i >= 0; i--)
 			if (judge.equals(judges.get(i)))
 				judges.remove(i);
+		pairingsChanged(); 
 	}
 	
 	public void removeJudges ()
 	{
 		judges.clear();
+		pairingsChanged(); 
 	}
 	
 
 	public void setRoom (Room r)
 	{
 		room = r;
+		pairingsChanged(); 
 	}
 	
 	public Judge getJudge()
@@ -111,6 +145,7 @@ class JudgeRoomAssignment implements Flightable, Serializable, JudgeInhabitable,
 	public void setFlight (char f)
 	{
 		flight = f;
+		pairingsChanged(); 
 	}
 	
 	public char getFlight ()
@@ -171,11 +206,13 @@ class JudgeRoomAssignment implements Flightable, Serializable, JudgeInhabitable,
 	public void setJudgeLocked (boolean isLocked)
 	{
 		judges.get(0).setLocked(this, isLocked); 
+		pairingsChanged(); 
 	}
 	
 	public void setJudgeLocked (Judge judge, boolean isLocked)
 	{
 		judge.setLocked (this, isLocked);
+		pairingsChanged(); 
 	}	
 
 
@@ -189,6 +226,7 @@ class JudgeRoomAssignment implements Flightable, Serializable, JudgeInhabitable,
 	public void setRoomLocked (boolean islocked)
 	{
 		roomLocked = islocked;
+		pairingsChanged(); 
 	}
 	
 	
@@ -206,8 +244,7 @@ class JudgeRoomAssignment implements Flightable, Serializable, JudgeInhabitable,
 			return Color.BLACK;
 		
 		//Otherwise, if the round has not yet started: 
-		ConflictChecker.setRound(round);
-		Conflict[] conflicts = ConflictChecker.checkForConflict(this); 
+		Conflict[] conflicts = round.getConflictChecker().checkForConflict(this); 
 		
 		if (conflicts == null)
 			return Color.BLUE; 
@@ -226,8 +263,7 @@ class JudgeRoomAssignment implements Flightable, Serializable, JudgeInhabitable,
 			return Color.BLACK;
 		
 		//Otherwise, if the round has not yet started: 
-		ConflictChecker.setRound(round);
-		Conflict[] conflicts = ConflictChecker.checkForConflict(this); 
+		Conflict[] conflicts = round.getConflictChecker().checkForConflict(this); 
 		
 		if (conflicts == null)
 			return Color.BLUE; 
@@ -9,47 +9,141 @@
 // applicable. The LOP is assumed to have a certain number of equality 
 // constraints, followed by possibly one or more inequality constraints (which 
 // are all strictly below the equality constraints). 
+//
+// The tableau is kept in a single array, row by row, so entry (i, j) is
+// tableau[i*ncols + j]. The basis is tracked as the tableau is pivoted, so
+// finding a basic variable or the value of a variable doesn't require
+// scanning the tableau.
+//
+// Entries are longs, and every operation on them checks for overflow. If a
+// row's entries get too big for a long, that row (and only that row) is
+// stored as BigIntegers instead, and goes back to longs once they're small
+// enough again.
 //******************************************************************************
 
 
 
 
-public class LOP implements Solution
+import java.math.BigInteger;
+
+public class LOP implements IntegerSolution
 {
-	private int[][] tableau; 
+	private long[] tableau;
 	
 	//Number of problem variables, slack variables, and constraints 
 	private final int nvars, nconsts, nslacks; 
 	private final int nrows, ncols; //number of rows and columns 
 	
-	private static final double EPSILON = .0001; //for floating pt comparisons
+	//Rows that don't fit in longs, stored as BigIntegers (null if there are
+	//none). If bigRows[i] isn't null, row i's entries in tableau are out of
+	//date.
+	private BigInteger[][] bigRows;
+	
+	//Space to compute a pivoted row in before it's copied to the tableau, so
+	//an overflow partway through doesn't leave the row half done
+	private long[] scratch;
 	
 	//value of previous pivot, used by pivot() method. This is equivalent to the
-	//coefficient of each basic variable. 
-	private int prevPivotVal; 
+	//coefficient of each basic variable. If it doesn't fit in a long, it's
+	//stored in bigPrevPivotVal instead (which is otherwise null).
+	private long prevPivotVal;
+	private BigInteger bigPrevPivotVal;
+	
+	//Column of the variable that is basic in each constraint row (or -1 if
+	//none), and row in which each variable is basic (or -1 if it's nonbasic).
+	private int[] basis;
+	private int[] basicRow;
 	
 	//codes used by addConstraint method 
 	private static final int LESS_THAN = 1, GREATER_THAN = 2; 
 	
+	//Whether the tableau has been converted to its solved form yet. Child LOPs
+	//aren't solved until they're first used, so that a parallel solver can 
+	//solve them on different threads. 
+	private boolean solved; 
+	
+	//Whether this is a child LOP that starts from its parent's optimal basis. 
+	//If so, it only needs dual simplex pivots to be solved. 
+	private final boolean warmStart; 
+	
+	//Number of pivots done to solve this LOP 
+	private int numPivots; 
+	
 
 	//---------------------------------------------------------------------------
 	// Constructor - takes as its argument a two-dimensional array that is the
 	// problem tableau, and the number of *problem* (as opposed to slack) 
-	// variables. 
+	// variables. The array is copied, so it isn't changed.
 	//---------------------------------------------------------------------------
 	public LOP (int[][] table, int nvar)
 	{
-		tableau = table;
 		nvars = nvar;
 		nconsts = table.length - 1; 
 		nrows = table.length; 
 		ncols = table[0].length; 
 		nslacks = ncols - nvars - 2; 
 		
+		tableau = new long[nrows * ncols];
+		for (int i = 0; i < nrows; i++)
+			for (int j = 0; j < ncols; j++)
+				tableau[i*ncols + j] = table[i][j];
+		
+		//No basis until phase zero makes one
+		basis = new int[nconsts];
+		for (int i = 0; i < nconsts; i++)
+			basis[i] = -1;
+		
+		basicRow = new int[nvars + nslacks];
+		for (int j = 0; j < nvars + nslacks; j++)
+			basicRow[j] = -1;
+		
 		prevPivotVal = 1; 
+		warmStart = false; 
 		
 		//Convert tableau to final solved form 
-		solveSimplex(); 
+		ensureSolved(); 
+	}
+	
+	
+	//---------------------------------------------------------------------------
+	// Constructor for a child LOP. The table is the parent's optimal tableau 
+	// with one constraint added (see addConstraint), along with its basis, and
+	// ppv is the parent's previous pivot value. It isn't solved until it's
+	// first needed.
+	//---------------------------------------------------------------------------
+	private LOP (long[] table, BigInteger[][] big, int rows, int columns,
+						int[] bas, int[] basRow, int nvar, long ppv, BigInteger bigPPV)
+	{
+		tableau = table;
+		bigRows = big;
+		nvars = nvar;
+		nconsts = rows - 1;
+		nrows = rows;
+		ncols = columns;
+		nslacks = ncols - nvars - 2; 
+		basis = bas;
+		basicRow = basRow;
+		
+		prevPivotVal = ppv; 
+		bigPrevPivotVal = bigPPV;
+		warmStart = true; 
+	}
+	
+	
+	//---------------------------------------------------------------------------
+	// Converts the tableau to its final solved form, if it hasn't been already
+	//---------------------------------------------------------------------------
+	private void ensureSolved ()
+	{
+		if (solved)
+			return; 
+		
+		solved = true; 
+		
+		if (warmStart)
+			doDualSimplex(); 
+		else
+			solveSimplex(); 
 	}
 	
 	
@@ -59,9 +153,11 @@ public class LOP implements Solution
 	//---------------------------------------------------------------------------
 	public boolean isFeasible ()
 	{
+		ensureSolved(); 
+		
 		for (int i = 0; i < nconsts; i++)
 		{
-			if (tableau[i][ncols-1] < 0)
+			if (signum(i, ncols-1) < 0)
 				return false;
 		}
 
@@ -79,6 +175,8 @@ public class LOP implements Solution
 	//---------------------------------------------------------------------------
 	public boolean isComplete ()
 	{
+		ensureSolved(); 
+		
 		return isFeasible() == false || isIntegral();
 	}
 	
@@ -90,7 +188,9 @@ public class LOP implements Solution
 	//---------------------------------------------------------------------------
 	public double getObjective ()
 	{
-		return (double) tableau[nrows-1][ncols-1] / tableau[nrows-1][ncols-2]; 
+		ensureSolved(); 
+		
+		return getDouble(nrows-1, ncols-1) / getDouble(nrows-1, ncols-2);
 	}
 	
 	
@@ -99,12 +199,14 @@ public class LOP implements Solution
 	// problem instance but also on all of the solutions that can be derived from
 	// it. This is the same as the floor of the objective value, because the
 	// objective value of all subproblems is bounded by the objective of this
-	// parent problem. If it is infeasible, it provides no bound. 
+	// parent problem. If it is infeasible, it provides no bound. (The floor is
+	// taken in integers, so rounding error can't knock an integral objective
+	// down by one.)
 	//---------------------------------------------------------------------------
 	public int getBound ()
 	{
 		if (isFeasible())
-			return (int) Math.floor(getObjective());
+			return (int) floorDiv(nrows-1, ncols-1, ncols-2);
 		else
 			return Integer.MIN_VALUE; 
 	}
@@ -112,11 +214,31 @@ public class LOP implements Solution
 
 
 	//---------------------------------------------------------------------------
-	// Returns tableau 
+	// Returns the number of pivots it took to solve this LOP. For child LOPs,
+	// this only counts the pivots done after the parent was solved. 
+	//---------------------------------------------------------------------------
+	public int getNumPivots ()
+	{
+		ensureSolved(); 
+		
+		return numPivots; 
+	}
+	
+	
+	//---------------------------------------------------------------------------
+	// Returns the values of the problem variables, rounded to the nearest
+	// integer. (This is meant to be called on a complete, feasible LOP, whose
+	// variables are all integral.)
 	//---------------------------------------------------------------------------
-	public int[][] getTableau ()
+	public int[] getSolution ()
 	{
-		return tableau; 
+		ensureSolved(); 
+		
+		int[] x = new int[nvars];
+		for (int j = 0; j < nvars; j++)
+			x[j] = (int) Math.round(getValueOfVariable(j));
+		
+		return x;
 	}
 
 	//---------------------------------------------------------------------------
@@ -137,14 +259,17 @@ public class LOP implements Solution
 
 	//---------------------------------------------------------------------------
 	// Indicates whether the solution (meaning the problem variables) is all 
-	// integral. 
+	// integral. Nonbasic variables are zero, so this only has to check that
+	// each basic problem variable's right hand side is divisible by its
+	// coefficient.
 	//---------------------------------------------------------------------------
 	private boolean isIntegral ()
 	{
-		for (int j = 0; j < nvars; j++)
+		for (int i = 0; i < nconsts; i++)
 		{
-			double x = getValueOfVariable(j);
-			if (Math.abs(x % 1) > EPSILON) //if x is nonintegral 
+			int j = basis[i];
+			
+			if (j >= 0 && j < nvars && divides(i, j) == false)
 				return false;
 		}
 		
@@ -164,7 +289,7 @@ public class LOP implements Solution
 		{
 			//Get farthest-left non-zero entry in row i 
 			int j = 0; 
-			while (j < nvars + nslacks && tableau[i][j] == 0)
+			while (j < nvars + nslacks && signum(i, j) == 0)
 				j++; 
 			
 			//if it goes past the last column, this row is all zeros
@@ -194,7 +319,7 @@ public class LOP implements Solution
 			//negative)
 			for (int i = 0; i < nconsts; i++)
 			{
-				if (tableau[i][ncols-1] < tableau[r][ncols-1])
+				if (compare(i, r, ncols-1) < 0)
 					r = i; 
 			}
 			
@@ -203,7 +328,7 @@ public class LOP implements Solution
 			
 			for (int j = 0; j < nvars + nslacks; j++)
 			{
-				if (tableau[r][j] < 0)
+				if (signum(r, j) < 0)
 				{
 					c = j; 
 					break;
@@ -225,6 +350,8 @@ public class LOP implements Solution
 	//---------------------------------------------------------------------------
 	private void doPhaseII ()
 	{
+		int z = nrows-1; //objective row
+		
 		while (true) //repeat
 		{
 			//Find pivot column- the negative entry on the bottom row with the
@@ -233,7 +360,7 @@ public class LOP implements Solution
 
 			for (int j = 0; j < nvars + nslacks; j++)
 			{
-				if (tableau[nrows-1][j] < 0)
+				if (signum(z, j) < 0)
 				{
 					c = j;
 					break;
@@ -248,51 +375,37 @@ public class LOP implements Solution
 			//Find pivot row- the row with the lowest nonnegative ratio b/a, where
 			//b is the rightmost entry and a is the entry in column c. (Notes: a
 			//must be positive, even if the ratio = 0. Checking this first also
-			//avoids a divide by zero exception.)
+			//avoids a divide by zero exception.) Ratios are compared exactly, by
+			//cross multiplying.
 			int r = -1;
 		
 			for (int i = 0; i < nconsts; i++)
 			{
-				int a = tableau[i][c]; 
-				int b = tableau[i][ncols-1]; 
+				if (signum(i, c) <= 0 || signum(i, ncols-1) < 0)
+					continue;
 			
 				if (r >= 0)
 				{
+					//Compare b(i)/a(i) with b(r)/a(r)
+					int cmp = compareProducts(i, ncols-1, r, c, r, ncols-1, i, c);
+					
 					//Check whether row i has a lower nonnegative ratio
-					if (a > 0 && b/a >= 0 
-						&& (double) b/a < (double) tableau[r][ncols-1]/tableau[r][c])
+					if (cmp < 0)
 					{
 						r = i;
 					}
 
 					//Check whether there is a tie- if so, pivot on the row such
 					//that the leaving variable has the least subscript.
-					else if (a > 0 && b/a >= 0 && Math.abs((double) b/a 
-						- (double) tableau[r][ncols-1]/tableau[r][c]) < EPSILON)
+					else if (cmp == 0)
 					{
-						//Iterate through columns until you find the column where the
-						//entry in either row i or row r is the only nonzero entry - 
-						//whichever one it encounters first is the pivot row as per 
-						//the least subscripts criterion 
-						for (int j = 0; j < nvars + nslacks; j++)
-						{
-							//Check if (i,j) is the only nonzero entry in its column
-							if (isBasicVariable(i, j))
-							{
-								r = i; //set i as new pivot row 
-								break;
-							}
-							if (isBasicVariable(r, j))
-							{
-								break; //r remains the pivot row
-							}
-						}
+						if (basis[i] >= 0 && (basis[r] < 0 || basis[i] < basis[r]))
+							r = i; //set i as new pivot row
 					}
 				}
 				else 
 				{
-					if (a > 0 && b/a >= 0)
-						r = i; 
+					r = i;
 				}
 			}
 			
@@ -314,147 +427,374 @@ public class LOP implements Solution
 
 
 
-	//--------------------------------------------------------------------------
-	// Returns the value of the variable in a particular column (after the
-	// Simplex algorithm is completed). If there is only one nonzero entry in
-	// the column, the value is the value in the far right column of the row
-	// containing the nonzero entry divided by the nonzero entry. If there are
-	// multiple nonzero entries, the variable equals zero.
-	//--------------------------------------------------------------------------
-	private double getValueOfVariable (int column)
+	//---------------------------------------------------------------------------
+	// Does the dual simplex algorithm. This is used for child LOPs, which start
+	// out with the parent's optimal tableau plus one new constraint row: the 
+	// objective row is still optimal (no negative entries), but the new row may
+	// have made the basis infeasible. Each pivot removes a row with a negative
+	// right hand side from the basis while keeping the objective row 
+	// nonnegative, until the tableau is feasible (and therefore optimal) or it
+	// turns out to be infeasible. 
+	//---------------------------------------------------------------------------
+	private void doDualSimplex ()
 	{
-		//If all goes right, x should take on a nonzero value (at least at some
-		//intermediate step). It's initialized to zero just to satisfy the
-		//compiler.
-		double x = 0;
-
-		//Find the first nonzero entry (moving down), and set x = b/a (where b is
-		//the rightmost entry in that row)
-		int i = 0;
-
-		while(i < nconsts)
+		int z = nrows-1; //objective row
+		
+		while (true)
 		{
-			if (tableau[i][column] != 0)
+			//Find pivot row - among rows with a negative right hand side, the one
+			//whose basic variable has the least subscript (to prevent cycling) 
+			int r = -1; 
+			
+			for (int i = 0; i < nconsts; i++)
 			{
-				x = (double) tableau[i][ncols-1] / tableau[i][column];
-				i++; //need to increment i before breaking, or the next loop will
-						//just check the same entry.
-				break;
+				if (signum(i, ncols-1) < 0 && (r == -1 || basis[i] < basis[r]))
+				{
+					r = i; 
+				}
 			}
-
-			i++;
-		}
-
-		//Check if there are any more nonzero entries (if so, the variable for
-		//this column is not part of the basis and thus equals zero)
-		while (i < nconsts)
-		{
-			if (tableau[i][column] != 0)
+			
+			//If no right hand side is negative, the solution is optimal 
+			if (r == -1)
+				return; 
+			
+			//Find pivot column - among negative entries in row r, the one with the 
+			//lowest ratio of objective entry to -(entry), so that the objective 
+			//row stays nonnegative. Ties go to the least subscript. 
+			int c = -1; 
+			
+			for (int j = 0; j < nvars + nslacks; j++)
 			{
-				x = 0;
-				break;
+				if (signum(r, j) >= 0)
+					continue; 
+				
+				//Compare obj(j)/-a(r,j) < obj(c)/-a(r,c) by cross multiplying 
+				//(which is the same as obj(j)*a(r,c) > obj(c)*a(r,j))
+				if (c == -1 || compareProducts(z, j, r, c, z, c, r, j) > 0)
+				{
+					c = j; 
+				}
 			}
-
-			i++;
+			
+			//If there is no negative entry, the row can't be satisfied, so the 
+			//problem is infeasible 
+			if (c == -1)
+				return; 
+			
+			pivot (r, c); 
 		}
+	}
+	
+	
 
-		return x;
+	//--------------------------------------------------------------------------
+	// Returns the value of the variable in a particular column (after the
+	// Simplex algorithm is completed). If the variable is basic, the value is
+	// the value in the far right column of its row divided by its coefficient;
+	// otherwise it is zero.
+	//--------------------------------------------------------------------------
+	private double getValueOfVariable (int column)
+	{
+		int i = basicRow[column];
+		
+		if (i == -1)
+			return 0;
+	
+		return getDouble(i, ncols-1) / getDouble(i, column);
 	}
 
 
 
-	//--------------------------------------------------------------------------
-	// Determines whether there is a basic variable in the given column with its
-	// coefficient in the given row. I.e., returns "true" if entry (row, column)
-	// is the only nonzero entry in the given column. (Be careful- it will still
-	// return true if the column is the z-column or the farthest left column,
-	// even though these are not truly basic variables.)
-	//--------------------------------------------------------------------------
-	private boolean isBasicVariable (int row, int column)
+	//---------------------------------------------------------------------------
+	// Does a pivot operation on the entry in the given row and column. Every
+	// other row is multiplied by the pivot entry, has the pivot row (times its
+	// entry in the pivot column) subtracted from it to erase that entry, and is
+	// divided by the previous pivot value, which keeps all entries integers.
+	//---------------------------------------------------------------------------
+	private void pivot (int row, int column)
 	{
-		//Check that entry (row, column) is nonzero
-		if (tableau[row][column] == 0)
-			return false;
+		//If pivot is negative, multiply pivot row by -1 (this will occur in
+		//Phase I)
+		if (signum(row, column) < 0)
+			negateRow (row);
 
-		//Check that all other entries in the column (excluding objective row)
-		//are nonzero
-		for (int i = 0; i < nconsts; i++)
+		if (scratch == null)
+			scratch = new long[ncols];
+		
+		//Rows can only be pivoted with longs if the pivot row and the previous
+		//pivot value are longs
+		boolean allLong = isBig(row) == false && bigPrevPivotVal == null;
+		
+		//Cycle through each row- multiply row i by the value of the pivot entry
+		//and the pivot row by the entry in row i of the pivot column. Then
+		//subtract the pivot row from row i, and divide by the previous pivot
+		//value. If that overflows a long, do it with BigIntegers.
+		for (int i = 0; i < nrows; i++)
 		{
-			//Skip the given row
+			//skip the pivot row
 			if (i == row)
 				continue;
-
-			if (tableau[i][column] != 0)
-				return false;
+			
+			if (allLong == false || isBig(i) || pivotRow(i, row, column) == false)
+				pivotBigRow (i, row, column);
 		}
-
-		return true;
+		
+		//Update basis: the variable in this column replaces the one that was
+		//basic in this row
+		if (basis[row] >= 0)
+			basicRow[basis[row]] = -1;
+		if (basicRow[column] >= 0)
+			basis[basicRow[column]] = -1;
+		
+		basis[row] = column;
+		basicRow[column] = row;
+		
+		//record pivot value 
+		if (isBig(row))
+			setPrevPivotVal (bigRows[row][column]);
+		else
+		{
+			prevPivotVal = tableau[row*ncols + column];
+			bigPrevPivotVal = null;
+		}
+		
+		numPivots++; 
 	}
 
 
 	//---------------------------------------------------------------------------
-	// Does a pivot operation on the entry in the given row and column. The row
-	// is first divided by the value of the pivot entry, and then the row is
-	// multiplied and added to the other rows to erase their entry in the given
-	// column.
+	// Does the pivot operation on row i using longs. Returns false, without
+	// changing the row, if anything overflows.
 	//---------------------------------------------------------------------------
-	private void pivot (int row, int column)
+	private boolean pivotRow (int i, int row, int column)
 	{
-		//If pivot is negative, multiply pivot row by -1 (this will occur in
-		//Phase I)
-		if (tableau[row][column] < 0)
+		int irow = i * ncols;
+		int prow = row * ncols; //start of pivot row
+		long pivotVal = tableau[prow + column];
+		
+		//Factor by which the pivot row will be multiplied before subtracting
+		//it from the current row i (it's set so it will erase the entry in
+		//row i and the pivot column)
+		long factor = tableau[irow + column];
+		
+		//If the row wouldn't change, don't bother
+		if (factor == 0 && pivotVal == prevPivotVal)
+			return true;
+		
+		try
 		{
 			for (int j = 0; j < ncols; j++)
-				tableau[row][j] = (-1) * tableau[row][j];
+			{
+				//(Note that the result will necessarily be divisible by the
+				//previous pivot value due to the algorithm.)
+				scratch[j] = Math.subtractExact(
+										Math.multiplyExact(tableau[irow + j], pivotVal),
+										Math.multiplyExact(tableau[prow + j], factor))
+										/ prevPivotVal;
+			}
+		}
+		catch (ArithmeticException e)
+		{
+			return false;
 		}
+		
+		System.arraycopy (scratch, 0, tableau, irow, ncols);
+		return true;
+	}
 
-		//Get entering and leaving variables
-		int enteringVariable = column + 1; //Add 1 to get the variable subscript
-		int leavingVariable = 0; //must be initialized to satisfy compiler
 
-		for (int j = 0; j < ncols - 1; j++)
+	//---------------------------------------------------------------------------
+	// Does the pivot operation on row i using BigIntegers
+	//---------------------------------------------------------------------------
+	private void pivotBigRow (int i, int row, int column)
+	{
+		BigInteger pivotVal = getBig(row, column);
+		BigInteger factor = getBig(i, column);
+		BigInteger ppv = getBigPrevPivotVal();
+		
+		BigInteger[] values = new BigInteger[ncols];
+		for (int j = 0; j < ncols; j++)
 		{
-			if (isBasicVariable (row, j))
-				leavingVariable = j + 1; //Add 1 to get the variable subscript
+			values[j] = getBig(i, j).multiply(pivotVal)
+								.subtract(getBig(row, j).multiply(factor)).divide(ppv);
 		}
 		
-		//temporarily hold pivot value to input at end of function (don't want to
-		//overwrite prevPivotVal yet) 
-		int tempPPV = tableau[row][column];
+		setRow (i, values);
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Multiplies a row by -1
+	//---------------------------------------------------------------------------
+	private void negateRow (int row)
+	{
+		int prow = row * ncols;
+		
+		//Negating a long only overflows for Long.MIN_VALUE
+		boolean fits = isBig(row) == false;
+		for (int j = 0; j < ncols && fits; j++)
+			fits = tableau[prow + j] != Long.MIN_VALUE;
 		
-		//Cycle through each row- multiply row i by the value of the pivot entry
-		//and the pivot row by the entry in row i of the pivot column. Then
-		//subtract the pivot row from row i, and divide the pivot row to what it
-		//was originally.
-		for (int i = 0; i < nrows; i++)
+		if (fits)
 		{
-			//skip the pivot row
-			if (i == row)
-				continue;
-			
-			//Factor by which the pivot row will be multiplied before subtracting
-			//it from the current row i (it's set so it will erase the entry in
-			//row i and the pivot column)
-			int factor = tableau[i][column];
+			for (int j = 0; j < ncols; j++)
+				tableau[prow + j] = -tableau[prow + j];
+		}
+		else
+		{
+			BigInteger[] values = new BigInteger[ncols];
+			for (int j = 0; j < ncols; j++)
+				values[j] = getBig(row, j).negate();
 			
+			setRow (row, values);
+		}
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Sets the entries in row i. They're stored as longs if they all fit, and
+	// as BigIntegers otherwise.
+	//---------------------------------------------------------------------------
+	private void setRow (int i, BigInteger[] values)
+	{
+		boolean fits = true;
+		for (int j = 0; j < ncols && fits; j++)
+			fits = values[j].bitLength() < 64;
+		
+		if (fits)
+		{
 			for (int j = 0; j < ncols; j++)
-			{
-				//Multiply by the pivot entry
-				tableau[i][j] *= tableau[row][column];
+				tableau[i*ncols + j] = values[j].longValue();
+			
+			if (bigRows != null)
+				bigRows[i] = null;
+		}
+		else
+		{
+			if (bigRows == null)
+				bigRows = new BigInteger[nrows][];
+			
+			bigRows[i] = values;
+		}
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Sets the previous pivot value, as a long if it fits
+	//---------------------------------------------------------------------------
+	private void setPrevPivotVal (BigInteger value)
+	{
+		if (value.bitLength() < 64)
+		{
+			prevPivotVal = value.longValue();
+			bigPrevPivotVal = null;
+		}
+		else
+			bigPrevPivotVal = value;
+	}
 
-				//Subtract the pivot row (multiplied by the factor)
-				tableau[i][j] -= tableau[row][j] * factor;
 
-				//Divide entry i,j by the previous pivot value. (Note that at this
-				//point, the i,j entry will necessarily be divisible by this value
-				//due to the algorithm. Note that size-2 returns index of the pivot
-				//before the current one.
-				tableau[i][j] /= prevPivotVal;
+	//---------------------------------------------------------------------------
+	// Returns the previous pivot value as a BigInteger
+	//---------------------------------------------------------------------------
+	private BigInteger getBigPrevPivotVal ()
+	{
+		if (bigPrevPivotVal != null)
+			return bigPrevPivotVal;
+		else
+			return BigInteger.valueOf(prevPivotVal);
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Methods for reading entries of the tableau, whichever way their rows are
+	// stored
+	//---------------------------------------------------------------------------
+	private boolean isBig (int i)
+	{
+		return bigRows != null && bigRows[i] != null;
+	}
+
+	private BigInteger getBig (int i, int j)
+	{
+		if (isBig(i))
+			return bigRows[i][j];
+		else
+			return BigInteger.valueOf(tableau[i*ncols + j]);
+	}
+
+	private double getDouble (int i, int j)
+	{
+		if (isBig(i))
+			return bigRows[i][j].doubleValue();
+		else
+			return tableau[i*ncols + j];
+	}
+
+	private int signum (int i, int j)
+	{
+		if (isBig(i))
+			return bigRows[i][j].signum();
+		else
+			return Long.signum(tableau[i*ncols + j]);
+	}
+
+	//Compares the entries in column j of rows i1 and i2
+	private int compare (int i1, int i2, int j)
+	{
+		if (isBig(i1) || isBig(i2))
+			return getBig(i1, j).compareTo(getBig(i2, j));
+		else
+			return Long.compare(tableau[i1*ncols + j], tableau[i2*ncols + j]);
+	}
+
+	//Compares the products (i1, j1)*(i2, j2) and (i3, j3)*(i4, j4)
+	private int compareProducts (int i1, int j1, int i2, int j2,
+											int i3, int j3, int i4, int j4)
+	{
+		if (isBig(i1) == false && isBig(i2) == false && isBig(i3) == false
+			&& isBig(i4) == false)
+		{
+			try
+			{
+				return Long.compare(
+					Math.multiplyExact(tableau[i1*ncols + j1], tableau[i2*ncols + j2]),
+					Math.multiplyExact(tableau[i3*ncols + j3], tableau[i4*ncols + j4]));
+			}
+			catch (ArithmeticException e)
+			{
+				//fall through and compare them as BigIntegers
 			}
 		}
 		
-		//record pivot value 
-		prevPivotVal = tempPPV; 
+		return getBig(i1, j1).multiply(getBig(i2, j2))
+						.compareTo(getBig(i3, j3).multiply(getBig(i4, j4)));
+	}
+
+	//Indicates whether the entry in column j of row i divides the right hand
+	//side of the row
+	private boolean divides (int i, int j)
+	{
+		if (isBig(i))
+			return bigRows[i][ncols-1].remainder(bigRows[i][j]).signum() == 0;
+		else
+			return tableau[i*ncols + ncols-1] % tableau[i*ncols + j] == 0;
+	}
+
+	//Returns the floor of the entry in column j of row i divided by the entry
+	//in column k
+	private long floorDiv (int i, int j, int k)
+	{
+		if (isBig(i) == false)
+			return Math.floorDiv(tableau[i*ncols + j], tableau[i*ncols + k]);
+		
+		BigInteger[] qr = bigRows[i][j].divideAndRemainder(bigRows[i][k]);
+		
+		//divide() rounds toward zero, so round down if the quotient is negative
+		if (qr[1].signum() != 0 && qr[1].signum() != bigRows[i][k].signum())
+			return qr[0].longValue() - 1;
+		else
+			return qr[0].longValue();
 	}
 	
 	
@@ -480,14 +820,13 @@ public class LOP implements Solution
 		
 		//Find the least-subscript nonintegral problem variable. 
 		int j = 0; //subscript of variable to branch on
-		double x = 0; //value of variable to branch on
 		
 		while (j < nvars)
 		{
-			x = getValueOfVariable(j); 
+			int i = basicRow[j];
 			
-			if (Math.abs(x % 1) > EPSILON) //if x is nonintegral 
-				break; 
+			if (i >= 0 && divides(i, j) == false)
+				break; //x is nonintegral
 			
 			j++;
 		}
@@ -503,16 +842,13 @@ public class LOP implements Solution
 		
 		//Branch on x(j) <= a or x(j) >= b, where a and b are the floor and ceil 
 		//of the current x value. 
-		int a = (int) Math.floor(x); 
-		int b = (int) Math.ceil(x); 
+		long a = floorDiv(basicRow[j], ncols-1, j);
+		long b = a + 1;
 		
-		//Create new tableaux after adding rows for constraints x <= a and x >= b
-		int[][] tableauLT = addConstraint (j, a, LESS_THAN);
-		int[][] tableauGT = addConstraint (j, b, GREATER_THAN); 
-		
-		//Return array of the two new child LOPs 
-		LOP lopLT = new LOP (tableauLT, nvars);
-		LOP lopGT = new LOP (tableauGT, nvars); 
+		//Return array of the two new child LOPs. They start from this LOP's 
+		//basis, and are solved when they are first used. 
+		LOP lopLT = addConstraint (j, a, LESS_THAN);
+		LOP lopGT = addConstraint (j, b, GREATER_THAN);
 		
 		LOP[] out = {lopLT, lopGT}; 
 		return out; 
@@ -520,56 +856,107 @@ public class LOP implements Solution
 
 
 	//---------------------------------------------------------------------------
-	// Returns a new tableau created by adding a constraint of the form 
+	// Returns a new child LOP created by adding a constraint of the form
 	// x(j) <= b or of the form x(j) >= b. Type should be either LOP.LESS_THAN
-	// or LOP.GREATER_THAN. 
+	// or LOP.GREATER_THAN. X(j) must be a basic variable. 
 	//---------------------------------------------------------------------------
-	private int[][] addConstraint (int column, int b, int type)
+	private LOP addConstraint (int column, long b, int type)
 	{
+		int newCols = ncols + 1;
+		int slack = nvars + nslacks; //column of the new slack variable
+		
 		//Create new tableau with blank row at bottom 
-		int[][] newTab = new int[nrows+1][ncols+1]; 
+		long[] newTab = new long[(nrows+1) * newCols];
+		BigInteger[][] newBig = null;
 		
-		//Copy existing constraint rows 
-		for (int i = 0; i < nconsts; i++)
+		//Copy existing constraint rows, and the objective row into the last row
+		//of the new tableau (along with the objective (z) entry and entry to
+		//left of it). The new slack variable's column is left as zeros.
+		for (int i = 0; i < nrows; i++)
 		{
-			for (int j = 0; j < nvars + nslacks; j++)
-				newTab[i][j] = tableau[i][j]; 
+			int newI = i < nconsts ? i : nrows;
+			
+			System.arraycopy (tableau, i*ncols, newTab, newI*newCols, slack);
+			newTab[newI*newCols + newCols-1] = tableau[i*ncols + ncols-1];
+			newTab[newI*newCols + newCols-2] = tableau[i*ncols + ncols-2]; //z
 			
-			newTab[i][ncols] = tableau[i][ncols-1]; 
+			if (isBig(i))
+			{
+				if (newBig == null)
+					newBig = new BigInteger[nrows+1][];
+				
+				newBig[newI] = new BigInteger[newCols];
+				System.arraycopy (bigRows[i], 0, newBig[newI], 0, slack);
+				newBig[newI][slack] = BigInteger.ZERO;
+				newBig[newI][newCols-1] = bigRows[i][ncols-1];
+				newBig[newI][newCols-2] = bigRows[i][ncols-2];
+			}
 		}
-
-		//Copy objective row into last row of new tableau 
-		for (int j = 0; j < nvars + nslacks; j++)
-			newTab[nrows][j] = tableau[nrows-1][j]; 
 		
-		//Copy objective (z) entry and entry to left of it
-		newTab[nrows][ncols] = tableau[nrows-1][ncols-1]; 
-		newTab[nrows][ncols-1] = tableau[nrows-1][ncols-2]; 
+		//The new constraint is x(j) + s = b or -x(j) + s = -b, where s is a new 
+		//slack variable. It has to be written in terms of the current basis, so
+		//that s is basic in the new row and x(j) (which is basic in row r) 
+		//doesn't appear in it: multiply it by the basic coefficient and subtract
+		//(or add) row r. This leaves s with the basic coefficient, so the new
+		//tableau can be pivoted on from here without starting over. 
+		int r = basicRow[column];
+		int newRow = nconsts * newCols;
+		long sign = type == LESS_THAN ? 1 : -1;
+		boolean fits = isBig(r) == false && bigPrevPivotVal == null;
 		
-		//Add entry for variable x(j)
-		newTab[nconsts][column] = 1;
-		
-		//Add entry for slack var 
-		if (type == LESS_THAN)
-			newTab[nconsts][nvars+nslacks] = 1; 
-		if (type == GREATER_THAN)
-			newTab[nconsts][nvars+nslacks] = -1;
+		if (fits)
+		{
+			try
+			{
+				for (int j = 0; j < slack; j++)
+					newTab[newRow + j] = Math.negateExact(
+							Math.multiplyExact(sign, tableau[r*ncols + j]));
+				
+				newTab[newRow + newCols-1] = Math.multiplyExact(sign, Math.subtractExact(
+						Math.multiplyExact(prevPivotVal, b), tableau[r*ncols + ncols-1]));
+			}
+			catch (ArithmeticException e)
+			{
+				fits = false;
+			}
+		}
 		
-		//Add a entry 
-		newTab[nconsts][ncols] = b;
+		newTab[newRow + column] = 0;
+		newTab[newRow + slack] = prevPivotVal;
 		
-		//Multiply new constraint row so that its basic variable (the new slack
-		//var) has the correct basic coefficient. 	
+		//If it overflowed, do the same thing with BigIntegers
+		if (fits == false)
+		{
+			BigInteger bigSign = BigInteger.valueOf(sign);
+			BigInteger ppv = getBigPrevPivotVal();
+			
+			BigInteger[] row = new BigInteger[newCols];
+			for (int j = 0; j < slack; j++)
+				row[j] = getBig(r, j).multiply(bigSign).negate();
+			
+			row[column] = BigInteger.ZERO;
+			row[slack] = ppv;
+			row[newCols-2] = BigInteger.ZERO;
+			row[newCols-1] = ppv.multiply(BigInteger.valueOf(b))
+										.subtract(getBig(r, ncols-1)).multiply(bigSign);
+			
+			if (newBig == null)
+				newBig = new BigInteger[nrows+1][];
+			
+			newBig[nconsts] = row;
+		}
 		
-		//Find factor to multiply the row by (this will convert the coefficient of
-		//the new slcak var to the current basic coefficent) 
-		int factor = type == LESS_THAN ? prevPivotVal : -prevPivotVal; 
+		//The new slack variable is basic in the new row
+		int[] newBasis = new int[nconsts+1];
+		System.arraycopy (basis, 0, newBasis, 0, nconsts);
+		newBasis[nconsts] = slack;
 		
-		//Multiply new row by factor 
-		for (int j = 0; j < nrows + 1; j++)
-			newTab[nconsts][j] *= factor;
+		int[] newBasicRow = new int[slack+1];
+		System.arraycopy (basicRow, 0, newBasicRow, 0, slack);
+		newBasicRow[slack] = nconsts;
 		
-		return newTab; 
+		return new LOP (newTab, newBig, nrows+1, newCols, newBasis, newBasicRow,
+								nvars, prevPivotVal, bigPrevPivotVal);
 	}
 	
 	
@@ -581,7 +968,7 @@ public class LOP implements Solution
 		for (int i = 0; i < nrows; i++)
 		{
 			for (int j = 0; j < ncols; j++)
-				System.out.print(tableau[i][j] + "  ");
+				System.out.print(getBig(i, j) + "  ");
 		
 			System.out.print("\n");
 		}
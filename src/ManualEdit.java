@@ -49,19 +49,14 @@ public class ManualEdit
 	private static Tournament read (String filename) 
 	{
 		Tournament tournament = null; 
-		ObjectInputStream ois = null; 
 		try
 		{
 			File inFile = new File (filename); 
-			FileInputStream fis = new FileInputStream (inFile);
-			ois = new ObjectInputStream (fis);
-			tournament = (Tournament) ois.readObject();
-			ois.close();
+			tournament = TabFile.read (inFile); 
 		}
 		catch (Exception e)
 		{
 			e.printStackTrace(); 
-			try{ois.close();}catch(Exception ex){ex.printStackTrace();} 
 			System.exit(1);
 		}
 		
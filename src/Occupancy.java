@@ -0,0 +1,126 @@
+//*****************************************************************************
+// Occupancy.java
+// Kevin Coltin
+//
+// Keeps track of how many containers on a round's pairings (debates and
+// Assignments) each judge and each room is in, in each flight, so that
+// checking whether a judge or room is unassigned or double booked doesn't
+// mean looking through every container. Each round has one (see
+// Round.getOccupancy()).
+//
+// Judges and rooms are counted by name, the same as Judge.equals() and
+// Room.equals(). The counts are made again the first time they're needed
+// after the pairings (or the judges and rooms themselves) change.
+//*****************************************************************************
+
+
+
+
+import java.util.HashMap;
+import java.util.HashSet;
+
+class Occupancy
+{
+	private Round round;
+	private Tournament tournament;
+
+	//Version (see Round.getPairingsVersion()) the counts were made at; -1
+	//means they haven't been made yet
+	private long version = -1;
+
+	//Number of containers each judge and room is in, by name. [0] is flight A
+	//and [1] is flight B.
+	private HashMap<String, int[]> judges, rooms;
+
+
+	//---------------------------------------------------------------------------
+	// Constructor
+	//---------------------------------------------------------------------------
+	Occupancy (Round r)
+	{
+		round = r;
+		tournament = r.getTournament();
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Return the number of containers this judge or room is in, in the given
+	// flight
+	//---------------------------------------------------------------------------
+	synchronized int getNumContainers (Judge judge, char flight)
+	{
+		refresh();
+		return get(judges, judge.getName(), flight);
+	}
+
+	synchronized int getNumContainers (Room room, char flight)
+	{
+		refresh();
+		return get(rooms, room.getName(), flight);
+	}
+
+	private int get (HashMap<String, int[]> counts, String name, char flight)
+	{
+		int[] n = counts.get(name);
+
+		if (n == null || (flight != 'A' && flight != 'B'))
+			return 0;
+
+		return n[flight - 'A'];
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Counts the containers again if the pairings have changed
+	//---------------------------------------------------------------------------
+	private void refresh ()
+	{
+		long v = Math.max(tournament.getRosterVersion(),
+								round.getPairingsVersion());
+		if (v == version)
+			return;
+
+		judges = new HashMap<String, int[]>();
+		rooms = new HashMap<String, int[]>();
+
+		for (Flightable container : round.getItemsOnPairings())
+		{
+			char flight = container.getFlight();
+
+			//(A judge who is in a container twice is only counted once, since
+			//hasJudge() can't tell them apart.)
+			if (container instanceof JudgeInhabitable)
+			{
+				HashSet<String> names = new HashSet<String>();
+
+				for (Judge judge : ((JudgeInhabitable) container).getJudges())
+					if (judge != null && names.add(judge.getName()))
+						add (judges, judge.getName(), flight);
+			}
+
+			if (container instanceof RoomInhabitable
+				&& ((RoomInhabitable) container).getRoom() != null)
+				add (rooms, ((RoomInhabitable) container).getRoom().getName(),
+						flight);
+		}
+
+		version = v;
+	}
+
+	private void add (HashMap<String, int[]> counts, String name, char flight)
+	{
+		if (flight != 'A' && flight != 'B')
+			return;
+
+		int[] n = counts.get(name);
+
+		if (n == null)
+		{
+			n = new int[2];
+			counts.put(name, n);
+		}
+
+		n[flight - 'A']++;
+	}
+}
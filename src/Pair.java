@@ -9,7 +9,9 @@
  
 
 import java.util.ArrayList; 
+import javax.swing.JDialog; 
 import javax.swing.JOptionPane; 
+import javax.swing.SwingUtilities; 
 
 class Pair 
 {
@@ -18,6 +20,25 @@ class Pair
 	static final int DEBATES = 1, DEBATES_AND_JUDGES = 2, ALL_THREE = 3,
 			JUDGES_AND_ROOMS = 4, JUDGES = 5, ROOMS = 6;  
 	
+	//Algorithms that can be used to solve each part of the pairing. The LOP 
+	//engine sets the problem up as an integer linear program; the others solve
+	//it directly. 
+	static final int LOP_ENGINE = 1, HUNGARIAN_ENGINE = 2, BLOSSOM_ENGINE = 3; 
+	
+	//Engines used to pair debates and to assign judges 
+	private static int debateEngine = BLOSSOM_ENGINE; 
+	private static int judgeEngine = HUNGARIAN_ENGINE; 
+	
+	//Ways of searching for the best solution to an integer LOP, and the one 
+	//used (see makeSolver()) 
+	static final int DEPTH_FIRST = 1, BEST_FIRST = 2; 
+	private static int search = DEPTH_FIRST; 
+	
+	//Longest time (in milliseconds) to spend searching for the best solution 
+	//to each integer LOP, or 0 for no limit. When it runs out, the best 
+	//pairing found so far is used. 
+	private static long timeLimit = 30000; 
+	
 	
 	//*NOTE: As of now, this completely disregards "locks." That functionality 
 	//will have to be added later. (The exception is that it acknowledges locks
@@ -34,6 +55,69 @@ class Pair
 	}
 
 	
+	//--------------------------------------------------------------------------
+	// Sets and returns the engine used to pair debates (LOP_ENGINE or 
+	// BLOSSOM_ENGINE). Both find a pairing with the lowest possible total cost.
+	// It's set from the RoundPanel's menu. 
+	//--------------------------------------------------------------------------
+	static void setDebateEngine (int engine)
+	{
+		debateEngine = engine; 
+	}
+
+	static int getDebateEngine ()
+	{
+		return debateEngine; 
+	}
+
+	
+	//--------------------------------------------------------------------------
+	// Sets and returns the engine used to assign judges (LOP_ENGINE or 
+	// HUNGARIAN_ENGINE). The LOP engine is kept so its results can be compared
+	// with the others. It's set from the RoundPanel's menu too. 
+	//--------------------------------------------------------------------------
+	static void setJudgeEngine (int engine)
+	{
+		judgeEngine = engine; 
+	}
+
+	static int getJudgeEngine ()
+	{
+		return judgeEngine; 
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Sets and returns the way the integer LOPs are searched (DEPTH_FIRST or 
+	// BEST_FIRST). Both find the same total cost. It's set from the 
+	// RoundPanel's menu too. 
+	//--------------------------------------------------------------------------
+	static void setSearch (int s)
+	{
+		search = s; 
+	}
+
+	static int getSearch ()
+	{
+		return search; 
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Sets and returns the longest time, in milliseconds, to spend solving each
+	// integer LOP (0 for no limit). It's set from the RoundPanel's menu. 
+	//--------------------------------------------------------------------------
+	static void setTimeLimit (long millis)
+	{
+		timeLimit = millis; 
+	}
+
+	static long getTimeLimit ()
+	{
+		return timeLimit; 
+	}
+
+	
 	//--------------------------------------------------------------------------
 	// Primary method of the class - pairs a debate round. 
 	//--------------------------------------------------------------------------
@@ -138,23 +222,23 @@ class Pair
 		if (teams.size() % 2 != 0)
 			assignBye(teams, round); 
 		
+		if (debateEngine == BLOSSOM_ENGINE)
+		{
+			int[] opponents = Blossom.minCostPerfectMatching (
+													makeCostMatrix(round, teams)); 
+			addDebates (round, teams, opponents); 
+			return; 
+		}
+		
 		//Make tableau representing conflicts among each combination of unassigned
 		//teams 
 		int[][] tabOrig = makeTableau(round, teams); 
 		
-		//Copy to new tableau
-		int[][] tabFinal = new int[tabOrig.length][tabOrig[0].length]; 
-		for (int i = 0; i < tabOrig.length; i++)
-			for (int j = 0; j < tabOrig[0].length; j++)
-				tabFinal[i][j] = tabOrig[i][j]; 
-		
 		//Solve the tableau 
-		LOP lop = new LOP(tabFinal, tabFinal[0].length - 2); 
-		DepthFirstSolver solver = new DepthFirstSolver();
-		tabFinal = ((LOP) solver.solve(lop)).getTableau();
+		int[] solution = solve(round, tabOrig, tabOrig[0].length - 2).getSolution();
 		
-		//Obtain a series of debates from this tableau 
-		addDebates (round, teams, tabFinal, tabOrig); 
+		//Obtain a series of debates from this solution 
+		addDebates (round, teams, solution, tabOrig); 
 	}
 	
 
@@ -220,16 +304,16 @@ class Pair
 	//---------------------------------------------------------------------------
 	private static void pairJudges (Round round, char flight)
 	{
+		if (judgeEngine == HUNGARIAN_ENGINE)
+		{
+			pairJudgesByAssignment (round, flight); 
+			return; 
+		}
+		
 		//Make tableau representing conflicts among each combination of judges and
 		//debates 
 		int[][] jTabOrig = makeJudgeTableau (round, flight); 
 
-		//Copy to new tableau 
-		int[][] jTabFinal = new int[jTabOrig.length][jTabOrig[0].length];
-		for (int i = 0; i < jTabOrig.length; i++)
-			for (int j = 0; j < jTabOrig[0].length; j++)
-				jTabFinal[i][j] = jTabOrig[i][j]; 
-
 		//Find number of debates and judges in this round, just to determine the 
 		//number of problem variables in the LOP 
 		int numdebates = round.getTrueDebates(flight).size(); 
@@ -239,12 +323,11 @@ class Pair
 				numjudges++; 
 		
 		//Solve the tableau 
-		LOP jLop = new LOP(jTabFinal, numdebates * numjudges); 
-		DepthFirstSolver solver = new DepthFirstSolver();
+		int[] solution = null; 
 		boolean success = false; 
 		try
 		{
-			jTabFinal = ((LOP) solver.solve(jLop)).getTableau(); 
+			solution = solve(round, jTabOrig, numdebates * numjudges).getSolution(); 
 			success = true; 
 		}
 		catch (NullPointerException e)
@@ -265,12 +348,73 @@ class Pair
 					((JudgeInhabitable) container).removeJudges();
 			}
 		
-			setJudges (round, flight, jTabFinal, jTabOrig); 
+			setJudges (round, flight, solution, jTabOrig); 
 		}
 	}
 	
 
 
+	//---------------------------------------------------------------------------
+	// Assigns judges to all true debates in this flight by solving it as an 
+	// assignment problem with the Hungarian algorithm, rather than building a
+	// simplex tableau. Each debate gets one row of the cost matrix for each 
+	// judge it needs, and each available judge is a column; the costs are the 
+	// same ones used by makeJudgeTableau. 
+	//---------------------------------------------------------------------------
+	private static void pairJudgesByAssignment (Round round, char flight)
+	{
+		ArrayList<Debate> debates = round.getTrueDebates(flight); 
+		
+		//Make list of judges available for this round 
+		ArrayList<Judge> judges = new ArrayList<Judge>(); 
+		for (Judge judge : tournament.getJudges())
+			if (judge.getPriority(round) != Priority.PriorityLevel.Unavailable)
+				judges.add(judge); 
+		
+		int perDebate = round.getNumJudges(); 
+		
+		if (debates.size() * perDebate > judges.size())
+		{
+			JOptionPane.showMessageDialog (null, "There are not enough judges "
+			 + "available to judge this round - either\nadd more judges or make "
+			 + "the round flighted.", "Pair Round", JOptionPane.ERROR_MESSAGE); 
+			return;
+		}
+		
+		//Make cost matrix. Debates with a panel share the same row of costs once
+		//for each judge they need. 
+		CostMatrix costs = round.getCostMatrix(); 
+		
+		int[][] cost = new int[debates.size() * perDebate][]; 
+		
+		for (int n = 0; n < debates.size(); n++)
+		{
+			Debate debate = debates.get(n); 
+			int[] row = new int[judges.size()]; 
+			
+			for (int m = 0; m < judges.size(); m++)
+				row[m] = costs.getJudgeCost(debate, judges.get(m)); 
+			
+			for (int k = 0; k < perDebate; k++)
+				cost[n*perDebate + k] = row; 
+		}
+		
+		int[] assignment = Hungarian.solve(cost); 
+		
+		//Remove all judges currently assigned to rounds 
+		for (Flightable container : round.getItemsOnPairings(flight))
+		{
+			if (container instanceof JudgeInhabitable)
+				((JudgeInhabitable) container).removeJudges();
+		}
+		
+		//Set judges based on the assignment 
+		for (int i = 0; i < assignment.length; i++)
+			debates.get(i / perDebate).addJudge(judges.get(assignment[i])); 
+	}
+	
+	
+
 	//---------------------------------------------------------------------------
 	// Assigns rooms to all true debates with a judge currently assigned to this
 	// round.
@@ -280,12 +424,6 @@ class Pair
 		//Make tableau representing conflicts among each room and judge 
 		int[][] tableauOrig = makeRoomsTableau(round); 
 
-		//Copy to new tableau 
-		int[][] tableauFinal = new int[tableauOrig.length][tableauOrig[0].length];
-		for (int i = 0; i < tableauOrig.length; i++)
-			for (int j = 0; j < tableauOrig[0].length; j++)
-				tableauFinal[i][j] = tableauOrig[i][j]; 
-
 		//Find number of debates and judges in this round, just to determine the 
 		//number of problem variables in the LOP 
 		int numjudges = round.getNumAssignedJudges(); 
@@ -295,12 +433,11 @@ class Pair
 				numrooms++; 
 		
 		//Solve the tableau 
-		LOP lop = new LOP(tableauFinal, numjudges * numrooms); 
-		DepthFirstSolver solver = new DepthFirstSolver();
+		int[] solution = null; 
 		boolean success = false; 
 		try
 		{
-			tableauFinal = ((LOP) solver.solve(lop)).getTableau(); 
+			solution = solve(round, tableauOrig, numjudges * numrooms).getSolution(); 
 			success = true; 
 		}
 		catch (NullPointerException e)
@@ -321,13 +458,165 @@ class Pair
 					((RoomInhabitable) container).setRoom(null);
 			}
 		
-			setRooms (round, tableauFinal, tableauOrig); 
+			setRooms (round, solution, tableauOrig); 
 		}
 	}
 	
 	
 	
 	
+	//---------------------------------------------------------------------------
+	// Makes a symmetric matrix of the costs of each pair of teams debating each
+	// other, for the blossom engine. 
+	//---------------------------------------------------------------------------
+	private static int[][] makeCostMatrix (Round round, ArrayList<Team> teams)
+	{
+		int num = teams.size(); 
+		int[][] cost = new int[num][num]; 
+		
+		CostMatrix costs = round.getCostMatrix(); 
+		
+		for (int i = 0; i < num; i++)
+		{
+			for (int j = i + 1; j < num; j++)
+			{
+				cost[i][j] = costs.getTeamCost(teams.get(i).entry, 
+															teams.get(j).entry); 
+				cost[j][i] = cost[i][j]; 
+			}
+		}
+		
+		return cost; 
+	}
+	
+	
+	
+	//---------------------------------------------------------------------------
+	// Returns the solver used for the integer LOPs. Either way, it skips any 
+	// branch that can't beat the best pairing found so far. A depth-first 
+	// search uses all the processors if there's more than one; a best-first 
+	// search usually looks at fewer solutions, but only uses one processor and
+	// keeps every solution it hasn't looked at yet in memory. 
+	//---------------------------------------------------------------------------
+	private static AnytimeSolver makeSolver ()
+	{
+		if (search == BEST_FIRST)
+			return new BestFirstSolver(); 
+		else if (Runtime.getRuntime().availableProcessors() > 1)
+			return new ParallelSolver(); 
+		else
+			return new BranchAndBoundSolver(); 
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Solves the integer LOP with the given tableau and number of problem 
+	// variables, and returns the solution (or null if there is none). 
+	// 
+	// The search starts from a greedy solution, so there's always something to
+	// use, and stops when the time limit runs out. It runs on a separate 
+	// thread; if it takes more than a moment, a dialog lets the user stop it 
+	// and use the best pairing found so far. 
+	//---------------------------------------------------------------------------
+	private static IntegerSolution solve (Round round, final int[][] tableau, 
+													  final int nvar)
+	{
+		final AnytimeSolver solver = makeSolver(); 
+		solver.setTimeLimit(timeLimit); 
+		
+		GreedySolution greedy = new GreedySolution(tableau, nvar); 
+		if (greedy.isFeasible())
+			solver.setIncumbent(greedy); 
+		
+		JOptionPane pane = new JOptionPane("Searching for the best pairing...",
+			JOptionPane.INFORMATION_MESSAGE, JOptionPane.DEFAULT_OPTION, null, 
+			new Object[] {"Stop and use best so far"}); 
+		final JDialog dialog = pane.createDialog(round.getPanel(), "Pair Round"); 
+		
+		final Solution[] result = new Solution[1]; 
+		final Throwable[] failure = new Throwable[1]; 
+		
+		Thread thread = new Thread(new Runnable() 
+			{
+				public void run ()
+				{
+					try
+					{
+						result[0] = solver.solve(new LOP(tableau, nvar)); 
+					}
+					catch (Throwable e)
+					{
+						failure[0] = e; 
+					}
+					finally
+					{
+						//Close the dialog, if it was opened - even if the search 
+						//failed, so that it doesn't stay open for good 
+						SwingUtilities.invokeLater(new Runnable() 
+							{
+								public void run ()
+								{
+									dialog.dispose(); 
+								}
+							}); 
+					}
+				}
+			}); 
+		thread.start(); 
+		
+		try
+		{
+			//Only show the dialog if the search doesn't finish right away. It 
+			//closes when the search finishes or the user presses the button.
+			thread.join(500); 
+			
+			if (thread.isAlive())
+			{
+				dialog.setVisible(true); 
+				
+				//(The dialog also closes when the search finishes by itself.) 
+				if (thread.isAlive())
+					solver.cancel(); 
+				
+				thread.join(); 
+			}
+		}
+		catch (InterruptedException e)
+		{
+			solver.cancel(); 
+		}
+		
+		//If the search failed, fail here, now that the dialog is closed 
+		if (failure[0] instanceof RuntimeException)
+			throw (RuntimeException) failure[0]; 
+		if (failure[0] instanceof Error)
+			throw (Error) failure[0]; 
+		
+		if (result[0] != null && solver.isStopped())
+		{
+			String message = "Pairing was stopped before the best pairing could "
+				+ "be found."; 
+			
+			double gap = solver.getGap(); 
+			if (gap < Double.MAX_VALUE / 2)
+				message += "\nThe pairing used has a total conflict value at most "
+					+ (long) gap + " more than the best possible."; 
+			
+			message += "\n\nLooked at " + solver.getNumNodes() + " possible "
+				+ "pairings, up to " + solver.getMaxDepth() + " levels deep, and \n"
+				+ "skipped " + solver.getNumPruned() + " that couldn't have been "
+				+ "better."; 
+			
+			JOptionPane.showMessageDialog (round.getPanel(), message, 
+				"Pair Round", JOptionPane.INFORMATION_MESSAGE); 
+		}
+		
+		return (IntegerSolution) result[0]; 
+	}
+	
+	
+	
 	//---------------------------------------------------------------------------
 	// Makes a Simplex tableau representing the values of conflicts between 
 	// different teams. 
@@ -380,23 +669,16 @@ class Pair
 		}
 
 		//Add "costs" resulting from conflicts at bottom 
-		ConflictChecker.setRound(round);
+		CostMatrix costs = round.getCostMatrix(); 
 		
 		for (int j = 0; j < nmatch; j++)
 		{
-			//Get the two teams in this column, compare conflicts of their matchup
+			//Get the two teams in this column, look up the cost of their matchup
 			int[] indices = getTeamIndices(tableau, j);
 			Team team1 = teams.get(indices[0]);
 			Team team2 = teams.get(indices[1]);
-			Conflict[] conflicts = ConflictChecker.checkForConflict(team1.entry, 
-																					team2.entry);
 			
-			int cost = 0; 
-			
-			for (int k = 0; k < conflicts.length; k++)
-				cost += conflicts[k].problem.value; 
-			
-			tableau[num][j] = cost;
+			tableau[num][j] = costs.getTeamCost(team1.entry, team2.entry);
 		}
 
 		
@@ -475,23 +757,16 @@ class Pair
 		}
 
 		//Add "costs" resulting from conflicts at bottom 
-		ConflictChecker.setRound(round);
+		CostMatrix costs = round.getCostMatrix(); 
 		
 		for (int j = 0; j < nvars; j++)
 		{
-			//Get the judge and debate in this column, compare conflicts of their 
+			//Get the judge and debate in this column, look up the cost of their 
 			//matchup 
 			Debate debate = debates.get(getDebateIndex(tableau, j)); 
 			Judge judge = judges.get(getJudgeIndex(tableau, j, debates.size()));
-			Conflict[] conflicts = ConflictChecker.checkForConflict(
-				debate.getTeam1(), debate.getTeam2(), debate.isSidelocked(), judge);
-			
-			int cost = 0; 
 			
-			for (int k = 0; k < conflicts.length; k++)
-				cost += conflicts[k].problem.value; 
-			
-			tableau[nconsts][j] = cost;
+			tableau[nconsts][j] = costs.getJudgeCost(debate, judge);
 		}
 		
 		return tableau; 
@@ -578,22 +853,16 @@ class Pair
 		}
 		
 		//Add "costs" resulting from conflicts at bottom 
-		ConflictChecker.setRound(round);
+		CostMatrix costs = round.getCostMatrix(); 
 		
 		for (int j = 0; j < nvars; j++)
 		{
-			//Get the judge and room in this column, compare conflicts of their 
+			//Get the judge and room in this column, look up the cost of their 
 			//matchup 
 			Judge judge = judges.get(getJudgeIndex(tableau, j));
 			Room room = rooms.get(getRoomIndex(tableau, j, judges.size())); 
-			Conflict conflicts[] = ConflictChecker.checkForConflict(judge, room); 
-			
-			int cost = 0; 
 			
-			for (int k = 0; k < conflicts.length; k++)
-				cost += conflicts[k].problem.value;
-			
-			tableau[nconsts][j] = cost; 
+			tableau[nconsts][j] = costs.getRoomCost(judge, room); 
 		}
 		
 		return tableau;
@@ -743,11 +1012,41 @@ class Pair
 
 
 	//---------------------------------------------------------------------------
-	// Given an iloptimal Simplex tableau, calculates the matchups it refers to 
-	// and makes those into actual debates to be added to the round. 
+	// Given the solution to the integer LOP (the value of each matchup 
+	// variable), calculates the matchups it refers to and makes those into 
+	// actual debates to be added to the round. 
 	//---------------------------------------------------------------------------
-	static void addDebates (Round round, ArrayList<Team> teams, int[][] tableau, 
+	static void addDebates (Round round, ArrayList<Team> teams, int[] solution, 
 									int[][] origTableau)
+	{
+		//Index of the opponent of each team 
+		int[] opponents = new int[teams.size()]; 
+		for (int i = 0; i < opponents.length; i++)
+			opponents[i] = -1; 
+		
+		//Cycle through each matchup that's in the solution 
+		for (int j = 0; j < solution.length; j++)
+		{
+			if (solution[j] == 0)
+				continue; 
+			
+			//Get indices of teams who are represented in the debate in this column
+			int[] indices = getTeamIndices (origTableau, j); 
+			opponents[indices[0]] = indices[1]; 
+			opponents[indices[1]] = indices[0]; 
+		}
+		
+		addDebates (round, teams, opponents); 
+	}
+	
+	
+	
+	//---------------------------------------------------------------------------
+	// Makes debates out of the given matchups and adds them to the round. 
+	// Opponents[i] is the index of the team that team i should debate. 
+	//---------------------------------------------------------------------------
+	private static void addDebates (Round round, ArrayList<Team> teams, 
+												int[] opponents)
 	{
 		//Remove everything except locked true debates (i.e. ones that are already
 		//assigned) from itemsOnPairings. Iterates backwards to avoid weird 
@@ -769,30 +1068,14 @@ class Pair
 			}
 		}
 	
-		//Cycle through each row of the tableau 
-		for (int i = 0; i < tableau.length - 1; i++)
+		for (int i = 0; i < opponents.length; i++)
 		{
-			int basic = -1; 
-			
-			//Get column variable that is basic in that row 
-			for (int j = 0; j < tableau[0].length - 2; j++)
-			{
-				if (isBasicVariable(tableau, i, j) 
-					&& tableau[i][tableau[i].length-1] != 0)
-				{
-					basic = j; 
-					break;
-				}
-			}
-			
-			//If no variable is basic, go to next row
-			if (basic == -1)
+			//Only make each debate once 
+			if (opponents[i] < i)
 				continue; 
 			
-			//Get indices of teams who are represented in the debate in this column
-			int[] indices = getTeamIndices (origTableau, basic); 
-			Team team1 = teams.get(indices[0]);
-			Team team2 = teams.get(indices[1]); 
+			Team team1 = teams.get(i);
+			Team team2 = teams.get(opponents[i]); 
 			
 			//Create new debate containing these teams 
 			Debate debate = new Debate (round);
@@ -944,10 +1227,9 @@ class Pair
 
 
 	//---------------------------------------------------------------------------
-	// Given a final solved tableau of judge/debate conflicts, assigns judges to
-	// debates. 
+	// Given the solution to the judge/debate LOP, assigns judges to debates. 
 	//---------------------------------------------------------------------------
-	private static void setJudges (Round round, char flight, int[][] tableau, 
+	private static void setJudges (Round round, char flight, int[] solution, 
 											int[][] origTableau)
 	{
 		ArrayList<Debate> debates = round.getTrueDebates(flight); 
@@ -958,29 +1240,15 @@ class Pair
 			if (judge.getPriority(round) != Priority.PriorityLevel.Unavailable)
 				judges.add(judge); 
 		
-		//Cycle through each row of the tableau 
-		for (int i = 0; i < tableau.length - 1; i++)
+		//Cycle through each matchup that's in the solution 
+		for (int j = 0; j < solution.length; j++)
 		{
-			int basic = -1; 
-			
-			//Get column variable that is basic in that row 
-			for (int j = 0; j < debates.size() * judges.size(); j++)
-			{
-				if (isBasicVariable(tableau, i, j) 
-					&& tableau[i][tableau[i].length-1] != 0)
-				{
-					basic = j; 
-					break;
-				}
-			}
-			
-			//If no variable is basic, go to next row
-			if (basic == -1)
+			if (solution[j] == 0)
 				continue; 
 
-			//Get judge and debate who are represented by this basic variable 
-			Debate debate = debates.get(getDebateIndex(origTableau, basic)); 
-			Judge judge = judges.get(getJudgeIndex(origTableau, basic, debates.size()));
+			//Get judge and debate who are represented by this variable 
+			Debate debate = debates.get(getDebateIndex(origTableau, j)); 
+			Judge judge = judges.get(getJudgeIndex(origTableau, j, debates.size()));
 
 			//Set this as (one of) the judge(s) of this debate 
 			debate.addJudge(judge); 
@@ -991,10 +1259,9 @@ class Pair
 
 
 	//---------------------------------------------------------------------------
-	// Given a final tableau of solved judge/room matchups, assigns rooms to 
-	// debates. 
+	// Given the solution to the judge/room LOP, assigns rooms to debates. 
 	//---------------------------------------------------------------------------
-	private static void setRooms(Round round, int[][] tableau, 
+	private static void setRooms(Round round, int[] solution, 
 												int[][] origTableau)
 	{
 		//Make list of judges who are assigned to a complete debate (i.e. one with
@@ -1017,29 +1284,15 @@ class Pair
 			if (room.getPriority(round) != Priority.PriorityLevel.Unavailable)
 				rooms.add(room); 
 		
-		//Cycle through each row of the tableau 
-		for (int i = 0; i < tableau.length - 1; i++)
+		//Cycle through each matchup that's in the solution 
+		for (int j = 0; j < solution.length; j++)
 		{
-			int basic = -1; 
-			
-			//Get column variable that is basic in that row 
-			for (int j = 0; j < judges.size() * rooms.size(); j++)
-			{
-				if (isBasicVariable(tableau, i, j) 
-					&& tableau[i][tableau[i].length-1] != 0)
-				{
-					basic = j; 
-					break;
-				}
-			}
-			
-			//If no variable is basic, go to next row
-			if (basic == -1)
+			if (solution[j] == 0)
 				continue; 
 
-			//Get judge and room that are represented by this basic variable 
-			Judge judge = judges.get(getJudgeIndex(origTableau, basic)); 
-			Room room = rooms.get(getRoomIndex(origTableau, basic, judges.size()));
+			//Get judge and room that are represented by this variable 
+			Judge judge = judges.get(getJudgeIndex(origTableau, j)); 
+			Room room = rooms.get(getRoomIndex(origTableau, j, judges.size()));
 			
 			//Set this as the room for the debate(s) this judge is judging 
 			Debate debate1 = round.getDebate(judge, 'A');
@@ -1105,36 +1358,6 @@ class Pair
 				teams.remove(i); 
 	}
 
-
-
-	//---------------------------------------------------------------------------
-	// Determines whether there is a basic variable in the given column with its
-	// coefficient in the given row. I.e., returns "true" if entry (row, column)
-	// is the only nonzero entry in the given column. (Be careful- it will still
-	// return true if the column is the z-column or the farthest left column,
-	// even though these are not truly basic variables.)
-	//---------------------------------------------------------------------------
-	private static boolean isBasicVariable (int[][] tableau, int row, int column)
-	{
-		//Check that entry (row, column) is nonzero
-		if (tableau[row][column] == 0)
-			return false;
-
-		//Check that all other entries in the column (excluding objective row)
-		//are nonzero
-		for (int i = 0; i < tableau.length - 1; i++)
-		{
-			//Skip the given row
-			if (i == row)
-				continue;
-		
-			if (tableau[i][column] != 0)
-				return false;
-		}
-
-		return true;
-	}
-
 	
 
 	//---------------------------------------------------------------------------
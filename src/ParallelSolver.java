@@ -0,0 +1,258 @@
+//******************************************************************************
+// ParallelSolver.java
+// Kevin Coltin
+//
+// Branch and bound that searches different branches at the same time on a
+// ForkJoinPool. Every branch's successors are searched as separate tasks
+// (child LOPs aren't solved until they're used, so the solving itself is
+// spread across threads too). The best solution found so far is shared by all
+// the threads and updated atomically, so a good solution found on one thread
+// lets the others prune their branches right away.
+//
+// Like AbstractSolver, this is for a problem where the goal is to *maximize*
+// the objective. If there's more than one optimal solution, which one is
+// returned depends on the order the threads happen to finish in.
+//
+// Every task checks the time limit before it starts, so once time runs out 
+// (or the search is cancelled) the tasks that are left finish right away.
+//******************************************************************************
+
+
+
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ParallelSolver implements AnytimeSolver
+{
+	//Shared by all parallel solvers; has one thread per processor
+	private static final ForkJoinPool pool = new ForkJoinPool();
+
+	//Best solution found so far, along with its objective
+	private final AtomicReference<Incumbent> best =
+													new AtomicReference<Incumbent>();
+
+	//Statistics about the last search (see AbstractSolver)
+	private final AtomicInteger numNodes = new AtomicInteger();
+	private final AtomicInteger numPruned = new AtomicInteger();
+	private final AtomicInteger maxDepth = new AtomicInteger();
+
+	//Time limit in milliseconds (0 for none), and the time it runs out
+	private long timeLimit, deadline;
+	
+	//Solution to start from, if any
+	private Solution incumbent;
+	
+	//Set by cancel(), which may be called from another thread
+	private volatile boolean cancelled;
+
+	//Set when the search is cut short, because it was cancelled or ran out of
+	//time
+	private volatile boolean stopped;
+	
+	//Highest bound of any solution that wasn't searched because the search
+	//was stopped
+	private double openBound;
+	
+
+	public Solution solve (Solution initial)
+	{
+		best.set(new Incumbent(null, -Double.MAX_VALUE));
+		numNodes.set(0);
+		numPruned.set(0);
+		maxDepth.set(0);
+
+		stopped = cancelled = false;
+		openBound = -Double.MAX_VALUE;
+		deadline = timeLimit > 0 ? System.currentTimeMillis() + timeLimit
+										 : Long.MAX_VALUE;
+		
+		if (incumbent != null)
+			updateBest (incumbent);
+		
+		pool.invoke(new Search(initial, 0, Double.MAX_VALUE));
+
+		return best.get().solution;
+	}
+
+
+	public void setTimeLimit (long millis)
+	{
+		timeLimit = millis;
+	}
+
+	public void setIncumbent (Solution solution)
+	{
+		incumbent = solution;
+	}
+
+	public void cancel ()
+	{
+		cancelled = true;
+	}
+
+	public boolean isStopped ()
+	{
+		return stopped;
+	}
+
+	public synchronized double getGap ()
+	{
+		if (stopped == false)
+			return 0;
+		
+		return Math.max(0, openBound - best.get().objective);
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Indicates whether the search should stop now
+	//---------------------------------------------------------------------------
+	private boolean isOutOfTime ()
+	{
+		if (cancelled || System.currentTimeMillis() > deadline)
+			stopped = true;
+		
+		return stopped;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Records the bound of a branch that wasn't searched, for getGap()
+	//---------------------------------------------------------------------------
+	private synchronized void skip (double bound)
+	{
+		openBound = Math.max(openBound, bound);
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Replaces the best solution with the given one if it's better. Uses
+	// compare-and-set so that two threads finding solutions at the same time
+	// can't overwrite a better one with a worse one.
+	//---------------------------------------------------------------------------
+	private void updateBest (Solution solution)
+	{
+		if (solution.isComplete() == false || solution.isFeasible() == false)
+			return;
+
+		Incumbent candidate = new Incumbent(solution, solution.getObjective());
+		Incumbent current = best.get();
+
+		while (candidate.objective > current.objective)
+		{
+			if (best.compareAndSet(current, candidate))
+				return;
+
+			current = best.get();
+		}
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Indicates whether the given solution, or any solution derived from it,
+	// could be better than the best solution found so far.
+	//---------------------------------------------------------------------------
+	private boolean canImprove (Solution solution)
+	{
+		return solution.isFeasible()
+			&& solution.getBound() > best.get().objective;
+	}
+
+
+	public int getNumNodes ()
+	{
+		return numNodes.get();
+	}
+
+	public int getNumPruned ()
+	{
+		return numPruned.get();
+	}
+
+	public int getMaxDepth ()
+	{
+		return maxDepth.get();
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Task that searches the branch below one solution
+	//---------------------------------------------------------------------------
+	private class Search extends RecursiveAction
+	{
+		private static final long serialVersionUID = 3318207554012746295L;
+
+		private final Solution solution;
+		private final int depth;
+
+		//Bound of the parent solution, which is also a bound on this one. (It
+		//can be used without solving this one.)
+		private final double parentBound;
+		
+		//Constructor
+		Search (Solution s, int d, double bound)
+		{
+			solution = s;
+			depth = d;
+			parentBound = bound;
+		}
+
+		protected void compute ()
+		{
+			if (isOutOfTime())
+			{
+				skip (parentBound);
+				return;
+			}
+			
+			numNodes.incrementAndGet();
+
+			int deepest = maxDepth.get();
+			while (depth > deepest && !maxDepth.compareAndSet(deepest, depth))
+				deepest = maxDepth.get();
+
+			if (solution.isComplete())
+			{
+				updateBest (solution);
+				return;
+			}
+
+			if (canImprove(solution) == false)
+			{
+				numPruned.incrementAndGet();
+				return;
+			}
+
+			ArrayList<Search> tasks = new ArrayList<Search>();
+			int bound = solution.getBound();
+
+			Enumeration i = solution.getSuccessors();
+			while (i.hasMoreElements())
+				tasks.add(new Search((Solution) i.nextElement(), depth + 1, bound));
+
+			invokeAll (tasks);
+		}
+	}
+
+
+	//---------------------------------------------------------------------------
+	// A solution together with its objective, so both can be replaced at once
+	//---------------------------------------------------------------------------
+	private static class Incumbent
+	{
+		final Solution solution;
+		final double objective;
+
+		//Constructor
+		Incumbent (Solution s, double obj)
+		{
+			solution = s;
+			objective = obj;
+		}
+	}
+}
+
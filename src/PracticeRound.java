@@ -8,6 +8,8 @@
  
  
 
+import java.io.IOException;
+
 class PracticeRound extends Round 
 {
 	private static final long serialVersionUID = 25243646141613461L; 
@@ -23,4 +25,10 @@ class PracticeRound extends Round
 		name = "Practice Round " + number; 
 	}
 
+	//Constructor for reading from a tournament file (see TabFile)
+	PracticeRound (TabFile.Input in) throws IOException
+	{
+		super(in);
+	}
+
 }
@@ -9,6 +9,8 @@
  
  
 
+import java.io.IOException;
+
 class PrelimRound extends Round 
 {
 	private static final long serialVersionUID = 151748597485435324L; 
@@ -24,4 +26,10 @@ class PrelimRound extends Round
 		name = "Round " + number; 
 	}
 
+	//Constructor for reading from a tournament file (see TabFile)
+	PrelimRound (TabFile.Input in) throws IOException
+	{
+		super(in);
+	}
+
 }
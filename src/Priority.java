@@ -13,6 +13,7 @@
  
 
 import java.io.Serializable; 
+import java.io.IOException;
 
 class Priority implements Serializable
 {
@@ -34,6 +35,23 @@ class Priority implements Serializable
 		priority = p; 
 	}
 
+
+	//--------------------------------------------------------------------------
+	// Read from and write to a tournament file, as part of the judge or
+	// room (see TabFile)
+	//--------------------------------------------------------------------------
+	Priority (TabFile.Input in) throws IOException
+	{
+		round = in.readRound();
+		priority = in.readEnum(PriorityLevel.class);
+	}
+
+	void write (TabFile.Output out) throws IOException
+	{
+		out.writeRef(round);
+		out.writeEnum(priority);
+	}
+
 	//--------------------------------------------------------------------------
 	// Mutator and accessor methods 
 	//--------------------------------------------------------------------------
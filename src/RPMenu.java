@@ -50,6 +50,12 @@ class RPMenu extends JMenuBar
 		JMenuItem pairButton = new JMenuItem("Pair debates..."); 
 		pairButton.addActionListener(new PairListener()); 
 		
+		JMenuItem timeLimitButton = new JMenuItem("Set time limit for pairing...");
+		timeLimitButton.addActionListener(new TimeLimitListener()); 
+		
+		JMenuItem enginesButton = new JMenuItem("Set pairing methods..."); 
+		enginesButton.addActionListener(new EnginesListener()); 
+		
 		//menu items to add blank lines 
 		JMenuItem addLine = new JMenuItem("Add blank line"); 
 		addLine.addActionListener (new AddLineListener()); 
@@ -75,6 +81,8 @@ class RPMenu extends JMenuBar
 		subMenuDelete.add(deleteFromB);
 
 		pairMenu.add(pairButton); 
+		pairMenu.add(timeLimitButton); 
+		pairMenu.add(enginesButton); 
 		pairMenu.add(addLine); 
 		pairMenu.add(subMenuAdd);
 		pairMenu.add(deleteLine);
@@ -343,6 +351,98 @@ class RPMenu extends JMenuBar
 
 
 	
+	//---------------------------------------------------------------------------
+	// Allows the user to set the longest time to spend searching for the best 
+	// pairing (see Pair.setTimeLimit()). When it runs out, the best pairing 
+	// found so far is used. 
+	//---------------------------------------------------------------------------
+	private class TimeLimitListener implements ActionListener 
+	{
+		public void actionPerformed (ActionEvent event)
+		{
+			String[] choices = {"10 seconds", "30 seconds", "1 minute", 
+										"2 minutes", "5 minutes", "No limit"}; 
+			long[] millis = {10000, 30000, 60000, 120000, 300000, 0}; 
+			
+			//Start with the current limit selected, if it's one of the choices 
+			String current = choices[1]; 
+			for (int i = 0; i < millis.length; i++)
+				if (millis[i] == Pair.getTimeLimit())
+					current = choices[i]; 
+			
+			Object choice = JOptionPane.showInputDialog (rp, "Select the longest "
+								+ "time to spend searching for the best pairing.\n"
+								+ "When it runs out, the best pairing found so far "
+								+ "is used.", "Pairing Time Limit", 
+								JOptionPane.PLAIN_MESSAGE, null, choices, current);
+			
+			if (choice == null) //if user clicks cancel
+				return; 
+			
+			for (int i = 0; i < choices.length; i++)
+				if (choices[i].equals(choice))
+					Pair.setTimeLimit (millis[i]); 
+		}
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Allows the user to choose how debates are paired and judges assigned 
+	// (see Pair.setDebateEngine() and setJudgeEngine()), and how the integer 
+	// LOPs (which rooms are always assigned with) are searched (see 
+	// Pair.setSearch()). Either way gives a pairing with the lowest total 
+	// conflicts; the LOP is much slower, but is kept so that the results can 
+	// be compared. 
+	//---------------------------------------------------------------------------
+	private class EnginesListener implements ActionListener 
+	{
+		public void actionPerformed (ActionEvent event)
+		{
+			String lop = "Integer linear program (slower)"; 
+			
+			String[] debateChoices = {"Blossom matching", lop}; 
+			Object debates = JOptionPane.showInputDialog (rp, "Select how to "
+								+ "pair debates:", "Pairing Methods", 
+								JOptionPane.PLAIN_MESSAGE, null, debateChoices, 
+								Pair.getDebateEngine() == Pair.LOP_ENGINE 
+								? lop : debateChoices[0]);
+			
+			if (debates == null) //if user clicks cancel
+				return; 
+			
+			String[] judgeChoices = {"Hungarian assignment", lop}; 
+			Object judges = JOptionPane.showInputDialog (rp, "Select how to "
+								+ "assign judges:", "Pairing Methods", 
+								JOptionPane.PLAIN_MESSAGE, null, judgeChoices, 
+								Pair.getJudgeEngine() == Pair.LOP_ENGINE 
+								? lop : judgeChoices[0]);
+			
+			if (judges == null)
+				return; 
+			
+			String bestFirst = "Best first (uses more memory)"; 
+			String[] searchChoices = {"Depth first", bestFirst}; 
+			Object search = JOptionPane.showInputDialog (rp, "Select how to "
+								+ "search for the best solution to an integer\n"
+								+ "linear program (rooms are always assigned "
+								+ "with one):", "Pairing Methods", 
+								JOptionPane.PLAIN_MESSAGE, null, searchChoices, 
+								Pair.getSearch() == Pair.BEST_FIRST 
+								? bestFirst : searchChoices[0]);
+			
+			if (search == null)
+				return; 
+			
+			Pair.setSearch (search.equals(bestFirst) ? Pair.BEST_FIRST 
+															: Pair.DEPTH_FIRST); 
+			Pair.setDebateEngine (debates.equals(lop) ? Pair.LOP_ENGINE 
+															: Pair.BLOSSOM_ENGINE); 
+			Pair.setJudgeEngine (judges.equals(lop) ? Pair.LOP_ENGINE 
+															: Pair.HUNGARIAN_ENGINE); 
+		}
+	}
+
+
 	//---------------------------------------------------------------------------
 	// Adds one more blank line to the round panel. If the round is flighted, it 
 	// adds it to whichever flight has fewer items, or to Flight A if it's a tie.
@@ -371,6 +471,7 @@ class RPMenu extends JMenuBar
 			else
 			{
 				round.getItemsOnPairings().add (new BlankLine(flight)); 
+				round.pairingsChanged(); 
 				rp.initialize(rp.getTournamentFrame());
 			}
 		}
@@ -9,11 +9,14 @@
  
 
 import java.io.Serializable; 
+import java.io.IOException;
 import java.util.ArrayList; 
 
 class Room implements Comparable, Serializable, Prioritizable 
 {
-	private static final long SerialVersionUID = 4520843958342095L; 
+	//(The UID the class had before one was declared, so that older files can
+	//still be read)
+	private static final long serialVersionUID = 7091942952303834090L; 
 	private Tournament tournament; 
 	
 	//name of the room, e.g. "Jun 201." Should be in abbreviated form as it 
@@ -49,6 +52,38 @@ class Room implements Comparable, Serializable, Prioritizable
 		residents = new ArrayList<Competitor>();
 	}
 
+
+	//--------------------------------------------------------------------------
+	// Read from and write to a tournament file (see TabFile)
+	//--------------------------------------------------------------------------
+	Room (TabFile.Input in) throws IOException
+	{
+		tournament = in.getTournament();
+		name = in.readString();
+		rating = in.readEnum(RoomRating.class);
+		defaultPriority = in.readEnum(Priority.PriorityLevel.class);
+
+		roundPriorities = new ArrayList<Priority>();
+		int n = in.readInt();
+		for (int i = 0; i < n; i++)
+			roundPriorities.add(new Priority(in));
+
+		residents = in.readCompetitors();
+	}
+
+	void write (TabFile.Output out) throws IOException
+	{
+		out.writeString(name);
+		out.writeEnum(rating);
+		out.writeEnum(defaultPriority);
+
+		out.writeInt(roundPriorities.size());
+		for (Priority p : roundPriorities)
+			p.write(out);
+
+		out.writeRefs(residents);
+	}
+
 	
 	
 	//--------------------------------------------------------------------------
@@ -82,11 +117,13 @@ class Room implements Comparable, Serializable, Prioritizable
 	void setRating (RoomRating r)
 	{
 		rating = r;
+		tournament.rosterChanged(); 
 	}
 	
 	void setName (String n)
 	{
 		name = n;
+		tournament.rosterChanged(); 
 	}
 
 	public void setDefaultPriority (Priority.PriorityLevel level)
@@ -110,6 +147,7 @@ class Room implements Comparable, Serializable, Prioritizable
 			if (roundPriorities.get(i).getPriority().equals(defaultPriority))
 				roundPriorities.remove(i); 
 		}	
+		tournament.rosterChanged(); 
 	}
 
 
@@ -136,6 +174,7 @@ class Room implements Comparable, Serializable, Prioritizable
 			else 
 				roundPriorities.add (new Priority(round, level));
 		}
+		tournament.rosterChanged(); 
 	}
 	
 
@@ -146,8 +185,9 @@ class Room implements Comparable, Serializable, Prioritizable
 	{
 		//If the room has a priority level for this round, return that; return default 
 		//priority if not 
-		if (hasPriorityObject(round))
-			return getPriorityObject(round).getPriority(); 
+		Priority priority = getPriorityObject(round); 
+		if (priority != null)
+			return priority.getPriority(); 
 		else
 			return defaultPriority; 		
 	}
@@ -161,8 +201,11 @@ class Room implements Comparable, Serializable, Prioritizable
 	//--------------------------------------------------------------------------
 	private Priority getPriorityObject (Round round)
 	{
-		for (Priority p : roundPriorities)
+		//(Indexed rather than with an iterator, since this is called for every 
+		//room the pairing looks at, and shouldn't make any garbage.) 
+		for (int i = 0; i < roundPriorities.size(); i++)
 		{
+			Priority p = roundPriorities.get(i); 
 			if (p.getRound() != null && round.equals(p.getRound()))
 				return p; 
 		}
@@ -217,16 +260,19 @@ class Room implements Comparable, Serializable, Prioritizable
 	{
 		residents.add(res); 
 		Sort.sort(residents);
+		tournament.rosterChanged(); 
 	}
 	
 	void removeResident (Competitor res)
 	{
 		Sort.remove(residents, res); 
+		tournament.rosterChanged(); 
 	}
 	
 	void setResidents (ArrayList<Competitor> roommates)
 	{
 		residents = roommates; 
+		tournament.rosterChanged(); 
 	}
 	
 	boolean hasResident (Competitor res)
@@ -256,6 +302,11 @@ class Room implements Comparable, Serializable, Prioritizable
 		return name.equals(other.getName());
 	}
 	
+	public int hashCode ()
+	{
+		return name.hashCode(); 
+	}
+
 	//--------------------------------------------------------------------------
 	// Comparison based first on desirability (better first) and then on name
 	//--------------------------------------------------------------------------
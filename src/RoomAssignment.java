@@ -10,6 +10,7 @@
  
 
 import java.io.Serializable; 
+import java.io.IOException;
 import java.awt.Color;
 
 class RoomAssignment implements Flightable, Serializable, RoomInhabitable
@@ -31,11 +32,37 @@ class RoomAssignment implements Flightable, Serializable, RoomInhabitable
 		round = rd;
 	}
 
+	//Read from and write to a tournament file (see TabFile)
+	RoomAssignment (TabFile.Input in) throws IOException
+	{
+		room = in.readRoom();
+		flight = in.readChar();
+		round = in.readRound();
+		locked = in.readBoolean();
+	}
+
+	void write (TabFile.Output out) throws IOException
+	{
+		out.writeRef(room);
+		out.writeChar(flight);
+		out.writeRef(round);
+		out.writeBoolean(locked);
+	}
+
+	
+	//Tells the round that its pairings have changed (see Round.pairingsChanged())
+	private void pairingsChanged ()
+	{
+		if (round != null)
+			round.pairingsChanged(); 
+	}
+	
 	
 	//Mutators and accessors 
 	public void setRoom (Room r)
 	{
 		room = r;
+		pairingsChanged(); 
 	}
 	
 	public Room getRoom()
@@ -46,6 +73,7 @@ class RoomAssignment implements Flightable, Serializable, RoomInhabitable
 	public void setFlight (char f)
 	{
 		flight = f;
+		pairingsChanged(); 
 	}
 	
 	public char getFlight ()
@@ -78,11 +106,13 @@ class RoomAssignment implements Flightable, Serializable, RoomInhabitable
 	void setLocked (boolean islocked)
 	{
 		locked = islocked;
+		pairingsChanged(); 
 	}
 	
 	public void setRoomLocked (boolean isLocked)
 	{
 		locked = isLocked; 
+		pairingsChanged(); 
 	}
 	
 	
@@ -93,8 +123,7 @@ class RoomAssignment implements Flightable, Serializable, RoomInhabitable
 			return Color.BLACK;
 		
 		//Otherwise, if the round has not yet started: 
-		ConflictChecker.setRound(round);
-		Conflict[] conflicts = ConflictChecker.checkForConflict(this); 
+		Conflict[] conflicts = round.getConflictChecker().checkForConflict(this); 
 		
 		if (conflicts == null)
 			return Color.BLUE; 
@@ -11,6 +11,7 @@
  
 
 import java.io.Serializable;
+import java.io.IOException;
 import java.util.ArrayList; 
 
 class Round implements Comparable, Serializable
@@ -107,6 +108,21 @@ class Round implements Comparable, Serializable
 	//pairings exactly in the order in which they are in the array list. 
 	protected ArrayList<Flightable> itemsOnPairings; 
 
+	//Versions (see Tournament.version) of the last change to the debates in 
+	//this round, to their decisions, and to the details shown on the postings 
+	protected transient volatile long pairingsVersion, resultsVersion;
+	protected transient volatile long detailsVersion; 
+	
+	//Costs of the conflicts in this round, and what checks for them; made when
+	//first needed
+	protected transient CostMatrix costMatrix; 
+	protected transient ConflictChecker conflictChecker;
+	
+	//Number of containers each judge and room is in, and the debate each 
+	//entry, judge and room is in; made when first needed 
+	protected transient Occupancy occupancy; 
+	protected transient DebateIndex debateIndex; 
+	
 	//Codes used for writing tournament to file 
 	private static final String ROUND_TYPE = "00", NUMBER = "01", LEVEL = "02",
 										DEBATE_START = "03", ROUND_STATUS = "04", 
@@ -133,6 +149,57 @@ class Round implements Comparable, Serializable
 		roundPanel = new RoundPanel(this, tf); 
 		itemsOnPairings = new ArrayList<Flightable>(); 
 	}
+
+
+	//--------------------------------------------------------------------------
+	// Read from and write to a tournament file (see TabFile). The debates
+	// and the items on the pairings are left to TabFile, since they're read
+	// after the rounds; the round panel is made by the TournamentFrame (see
+	// resetRoundPanel()). read() reads the round's fields again over the ones
+	// it has, from a record in a journal (see Journal).
+	//--------------------------------------------------------------------------
+	Round (TabFile.Input in) throws IOException
+	{
+		tournament = in.getTournament();
+		readFields(in);
+		debates = new ArrayList<Debate>();
+		itemsOnPairings = new ArrayList<Flightable>();
+	}
+
+	void read (TabFile.Input in) throws IOException
+	{
+		readFields(in);
+	}
+
+	private void readFields (TabFile.Input in) throws IOException
+	{
+		name = in.readString();
+		number = in.readInt();
+		roundStatus = in.readEnum(Status.class);
+		numJudges = in.readInt();
+		sidelocked = in.readBoolean();
+		time = in.readString();
+		BTime = in.readString();
+		asap = in.readBoolean();
+		day = in.readString();
+		commentsOnPostings = in.readString();
+		flighted = in.readBoolean();
+	}
+
+	void write (TabFile.Output out) throws IOException
+	{
+		out.writeString(name);
+		out.writeInt(number);
+		out.writeEnum(roundStatus);
+		out.writeInt(numJudges);
+		out.writeBoolean(sidelocked);
+		out.writeString(time);
+		out.writeString(BTime);
+		out.writeBoolean(asap);
+		out.writeString(day);
+		out.writeString(commentsOnPostings);
+		out.writeBoolean(flighted);
+	}
 	
 
 	//--------------------------------------------------------------------------
@@ -140,12 +207,18 @@ class Round implements Comparable, Serializable
 	//--------------------------------------------------------------------------
 	void addDebate (Debate debate)
 	{
+		long before = pairingsVersion; 
 		debates.add(debate);
+		pairingsChanged(); 
+		getDebateIndex().debateAdded(debate, before); 
 	}
 
 	void removeDebate (Debate debate)
 	{
+		long before = pairingsVersion; 
 		Sort.remove(debates, debate);
+		pairingsChanged(); 
+		getDebateIndex().debateRemoved(debate, before); 
 	}
 
 	
@@ -168,36 +241,129 @@ class Round implements Comparable, Serializable
 	//returns the debate in this round that this debater was in. (This one, 
 	//unlike the other overloaded versions of the method, doesn't check the 
 	//flight because an entry can only have one flight in a round.)  
+	//(These are looked up in the round's DebateIndex rather than by going 
+	//through the debates.) 
 	Debate getDebate (Entry entry)
 	{
-		for (Debate debate : debates)
-			if (debate.hasEntry(entry))
-				return debate;
-		
-		return null; //if the debater is not assigned to a debate that round
+		//null if the debater is not assigned to a debate that round
+		return getDebateIndex().getDebate(entry); 
 	}
 	
 	//returns the debate in this round and flight that this judge judged 
 	Debate getDebate (Judge judge, char flight)
 	{
-		for (Debate debate : debates)
-			if (debate.getFlight() == flight && debate.hasJudge(judge))
-				return debate;
-		
-		return null; //if the judge did not judge that round 
+		//null if the judge did not judge that round 
+		return getDebateIndex().getDebate(judge, flight); 
 	}
 
 	//returns the debate in this round and flight held in this room
 	Debate getDebate (Room room, char flight)
 	{
-		for (Debate debate : debates)
-			if (debate.getFlight() == flight && room.equals(debate.getRoom()))
-				return debate;
-		
-		return null; //if the room was unused that round 
+		//null if the room was unused that round 
+		return getDebateIndex().getDebate(room, flight); 
 	}
 	
 	
+	//--------------------------------------------------------------------------
+	// Methods for versions. pairingsChanged() is called whenever a debate in 
+	// this round (or anything in it other than the decision) changes, 
+	// resultsChanged() whenever a decision changes, and detailsChanged() when 
+	// the time, day or comments on the postings change (which nothing is 
+	// computed from, so they don't change the other versions). 
+	//--------------------------------------------------------------------------
+	void pairingsChanged ()
+	{
+		pairingsVersion = tournament.nextVersion(); 
+		tournament.getHistory().roundChanged(this); 
+	}
+
+	//(Results change the history too, because the sides in a flip for sides 
+	//elim aren't set until the ballot is entered.) 
+	void resultsChanged ()
+	{
+		resultsVersion = tournament.nextVersion(); 
+		tournament.getHistory().roundChanged(this); 
+	}
+	//Called by a debate in this round when anything in it other than the 
+	//decision changes, so that the debate lookups can be updated for just 
+	//that debate (see DebateIndex) 
+	void debateChanged (Debate debate)
+	{
+		long before = pairingsVersion; 
+		pairingsChanged(); 
+		getDebateIndex().debateChanged(debate, before); 
+	}
+
+	void detailsChanged ()
+	{
+		detailsVersion = tournament.nextVersion(); 
+	}
+
+	long getPairingsVersion ()
+	{
+		return pairingsVersion; 
+	}
+
+	long getResultsVersion ()
+	{
+		return resultsVersion; 
+	}
+	long getDetailsVersion ()
+	{
+		return detailsVersion; 
+	}
+
+	//Returns the version of the last change to anything that happened before 
+	//this round: the roster, the pairings of earlier rounds, and the results 
+	//of any round (since records count all of the prelims). 
+	long getHistoryVersion ()
+	{
+		long version = tournament.getRosterVersion(); 
+		
+		for (Round rd : tournament.getRounds())
+		{
+			version = Math.max(version, rd.getResultsVersion()); 
+			
+			if (rd.compareTo(this) < 0)
+				version = Math.max(version, rd.getPairingsVersion()); 
+		}
+		
+		return version; 
+	}
+
+	synchronized CostMatrix getCostMatrix ()
+	{
+		if (costMatrix == null)
+			costMatrix = new CostMatrix(this); 
+		
+		return costMatrix; 
+	}
+
+	synchronized ConflictChecker getConflictChecker ()
+	{
+		if (conflictChecker == null)
+			conflictChecker = new ConflictChecker(this);
+		
+		return conflictChecker;
+	}
+
+	synchronized Occupancy getOccupancy ()
+	{
+		if (occupancy == null)
+			occupancy = new Occupancy(this); 
+		
+		return occupancy; 
+	}
+
+	private synchronized DebateIndex getDebateIndex ()
+	{
+		if (debateIndex == null)
+			debateIndex = new DebateIndex(this); 
+		
+		return debateIndex; 
+	}
+
+
 	//--------------------------------------------------------------------------
 	// Mutator and accessor methods
 	//--------------------------------------------------------------------------
@@ -209,6 +375,8 @@ class Round implements Comparable, Serializable
 	void setStatus (Status status)
 	{
 		roundStatus = status; 
+		pairingsChanged(); //since only debates that have happened are counted 
+									//in judges' histories 
 	}
 	
 	//Called on an in progress or completed debate after a ballot is entered or 
@@ -234,42 +402,50 @@ class Round implements Comparable, Serializable
 	void setNumJudges (int num)
 	{
 		numJudges = num; 
+		pairingsChanged(); 
 	}
 	
 	void setSidelocked (boolean locked)
 	{
 		sidelocked = locked; 
+		pairingsChanged(); 
 	}
 	
 	void setTime (String hour)
 	{
 		time = hour; 
+		detailsChanged(); 
 	}
 	
 	void setTimeFlightB (String hour)
 	{
 		if (flighted)
 			BTime = hour; 
+		detailsChanged(); 
 	}
 	
 	void setASAP (boolean isASAP)
 	{
 		asap = isASAP;
+		detailsChanged(); 
 	}
 	
 	void setDay (String date)
 	{
 		day = date; 
+		detailsChanged(); 
 	}
 	
 	void setCommentsOnPostings (String comment)
 	{
 		commentsOnPostings = comment; 
+		detailsChanged(); 
 	}
 
 	void setFlighted (boolean isFlighted)
 	{
 		flighted = isFlighted;
+		pairingsChanged(); 
 		
 		if (flighted && BTime == null)
 		{
@@ -631,23 +807,14 @@ class Round implements Comparable, Serializable
 	//---------------------------------------------------------------------------
 	boolean isUnassigned (Judge judge)
 	{
-		for (Flightable container : itemsOnPairings)
-			if (container instanceof JudgeInhabitable 
-				&& ((JudgeInhabitable) container).hasJudge(judge))
-				return false;
-		
-		return true;
+		return getOccupancy().getNumContainers(judge, 'A') == 0 
+			&& getOccupancy().getNumContainers(judge, 'B') == 0; 
 	}
 
 	boolean isUnassigned (Room room)
 	{
-		for (Flightable container : itemsOnPairings)
-			if (container instanceof RoomInhabitable 
-				&& ((RoomInhabitable) container).getRoom() != null 
-				&& ((RoomInhabitable) container).getRoom().equals(room))
-				return false;
-		
-		return true;
+		return getOccupancy().getNumContainers(room, 'A') == 0 
+			&& getOccupancy().getNumContainers(room, 'B') == 0; 
 	}
 	
 	//---------------------------------------------------------------------------
@@ -660,20 +827,8 @@ class Round implements Comparable, Serializable
 			return isUnassigned(judge); 
 		
 		//if flighted, only false if judge is in both flights. 
-		boolean inFltA = false; 
-		boolean inFltB = false; 
-
-		for (Flightable container : itemsOnPairings)
-		{
-			if (container instanceof JudgeInhabitable 
-				&& ((JudgeInhabitable) container).hasJudge(judge))
-			{
-				if (container.getFlight() == 'A')
-					inFltA = true; 
-				else if (container.getFlight() == 'B')
-					inFltB = true;
-			}
-		}
+		boolean inFltA = getOccupancy().getNumContainers(judge, 'A') > 0; 
+		boolean inFltB = getOccupancy().getNumContainers(judge, 'B') > 0; 
 		
 		//true unless it's assigned in both flights.  
 		return !(inFltA && inFltB); 		
@@ -685,21 +840,8 @@ class Round implements Comparable, Serializable
 			return isUnassigned(room); 
 		
 		//if flighted, only false if room is in both flights. 
-		boolean inFltA = false; 
-		boolean inFltB = false; 
-
-		for (Flightable container : itemsOnPairings)
-		{
-			if (container instanceof RoomInhabitable 
-				&& ((RoomInhabitable) container).getRoom() != null 
-				&& ((RoomInhabitable) container).getRoom().equals(room))
-			{
-				if (container.getFlight() == 'A')
-					inFltA = true; 
-				else if (container.getFlight() == 'B')
-					inFltB = true;
-			}
-		}
+		boolean inFltA = getOccupancy().getNumContainers(room, 'A') > 0; 
+		boolean inFltB = getOccupancy().getNumContainers(room, 'B') > 0; 
 		
 		//true unless it's assigned in both flights.  
 		return !(inFltA && inFltB); 		
@@ -810,36 +952,39 @@ class Round implements Comparable, Serializable
 	//---------------------------------------------------------------------------
 	// Converts to a text form for backup 
 	//---------------------------------------------------------------------------
-	String writeBackup ()
+	void writeBackup (Appendable out) throws IOException
 	{
-		String text = ROUND_TYPE; 
+		out.append(ROUND_TYPE); 
 		
 		if (this instanceof PracticeRound)
-			text += "PracticeRound";
+			out.append("PracticeRound");
 		else if (this instanceof PrelimRound)
-			text += "PrelimRound";
+			out.append("PrelimRound");
 		else if (this instanceof ElimRound)
-			text += "ElimRound";
+			out.append("ElimRound");
 		
-		text += " " + NUMBER + number + " " + LEVEL;
+		out.append(" ").append(NUMBER).append(String.valueOf(number))
+			.append(" ").append(LEVEL);
 		
 		if (this instanceof ElimRound && ((ElimRound) this).getLevel() != null)
-			text += ((ElimRound) this).getLevel().toString();
+			out.append(((ElimRound) this).getLevel().toString());
 		else
-			text += "null";
+			out.append("null");
 			
-		text += " ";
+		out.append(" ");
 		
 		for (Debate debate : debates)
-			text += DEBATE_START + debate.writeBackup() + " "; 
-		
-		text += ROUND_STATUS + roundStatus.toStringNoSpaces() + " ";
+		{
+			out.append(DEBATE_START); 
+			debate.writeBackup(out); 
+			out.append(" "); 
+		}
 		
-		text += NUM_JUDGES + numJudges + " ";
+		out.append(ROUND_STATUS).append(roundStatus.toStringNoSpaces()).append(" ");
 		
-		text += FLIGHTED + flighted + " ";
+		out.append(NUM_JUDGES).append(String.valueOf(numJudges)).append(" ");
 		
-		return text; 
+		out.append(FLIGHTED).append(String.valueOf(flighted)).append(" ");
 	}
 
 
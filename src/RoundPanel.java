@@ -14,6 +14,8 @@ import javax.swing.text.BadLocationException;
 import java.awt.*; 
 import java.awt.event.*; 
 import java.util.ArrayList; 
+import java.util.IdentityHashMap; 
+import java.util.Set; 
 
 class RoundPanel extends JFrame 
 {
@@ -46,6 +48,29 @@ class RoundPanel extends JFrame
 	//debates that still need to be assigned) the next time it's opened. 
 	boolean needToRefillBlanks; 
 	
+	//Items on the pairings as of when the flight panels were made, in order, 
+	//and the row each one is shown in, so that a row can be redrawn by itself
+	//(see redrawChanged()) 
+	private ArrayList<Flightable> itemsShown = new ArrayList<Flightable>(); 
+	private IdentityHashMap<Flightable, Row> rows 
+												= new IdentityHashMap<Flightable, Row>(); 
+	
+	//Set while the entries of an elim round are being reset, since that's 
+	//done while the screen is being reinitialized anyway 
+	private boolean resettingBreak; 
+	
+	
+	//--------------------------------------------------------------------------
+	// A row of a flight panel: the panel, the row's number on it, and the 
+	// components in it 
+	//--------------------------------------------------------------------------
+	private static class Row
+	{
+		JPanel panel; 
+		int gridy; 
+		Component[] components; 
+	}
+	
 	//--------------------------------------------------------------------------
 	// Constructor 
 	//--------------------------------------------------------------------------
@@ -100,10 +125,13 @@ class RoundPanel extends JFrame
 		if (round instanceof ElimRound 
 			&& tournament.getBreaks().isEmpty() == false)
 		{
+			resettingBreak = true; 
 			((ElimRound) round).resetBreakEntries(); 
+			resettingBreak = false; 
 		}
 		
 		//Make bar containing info for each flight 
+		rows.clear(); 
 		JPanel flightAPanel = makeFlightPanel('A'); 
 		mainPanel.add(flightAPanel); 
 		
@@ -113,6 +141,12 @@ class RoundPanel extends JFrame
 			mainPanel.add(flightBPanel);
 		}
 		
+		itemsShown = new ArrayList<Flightable>(round.getItemsOnPairings()); 
+		
+		//Everything has just been drawn, so start keeping track of which 
+		//containers' conflicts change from here 
+		round.getConflictChecker().takeChanged(); 
+		
 		resetBottomPanel(); 
 		mainPanel.add(bottomPanel); 
 		
@@ -330,21 +364,7 @@ TODO		&& round.getPreviousRound() != null
 			if (flight != obj.getFlight())
 				continue;
 			
-			if (obj instanceof Debate)
-				addDebateRow ((Debate) obj, flightPanel, gridy); 
-
-			else if (obj instanceof JudgeAssignment)
-				addJudgeRow ((JudgeAssignment) obj, flightPanel, gridy);
-
-			else if (obj instanceof RoomAssignment)
-				addRoomRow ((RoomAssignment) obj, flightPanel, gridy);
-			
-			else if (obj instanceof JudgeRoomAssignment)
-				addJudgeRoomRow ((JudgeRoomAssignment) obj, flightPanel, gridy);
-
-			else if (obj instanceof BlankLine) 
-				addBlankRow ((BlankLine) obj, flightPanel, gridy);
-			
+			addRow (obj, flightPanel, gridy); 
 			gridy++;	
 		}
 
@@ -354,6 +374,106 @@ TODO		&& round.getPreviousRound() != null
 	}
 	
 	
+	//--------------------------------------------------------------------------
+	// Adds the row for an item on the pairings to the flight panel, and keeps
+	// track of which components are in it. 
+	//--------------------------------------------------------------------------
+	private void addRow (Flightable obj, JPanel flightPanel, int gridy)
+	{
+		int first = flightPanel.getComponentCount(); 
+		
+		if (obj instanceof Debate)
+			addDebateRow ((Debate) obj, flightPanel, gridy); 
+
+		else if (obj instanceof JudgeAssignment)
+			addJudgeRow ((JudgeAssignment) obj, flightPanel, gridy);
+
+		else if (obj instanceof RoomAssignment)
+			addRoomRow ((RoomAssignment) obj, flightPanel, gridy);
+		
+		else if (obj instanceof JudgeRoomAssignment)
+			addJudgeRoomRow ((JudgeRoomAssignment) obj, flightPanel, gridy);
+
+		else if (obj instanceof BlankLine) 
+			addBlankRow ((BlankLine) obj, flightPanel, gridy);
+		
+		Row row = new Row(); 
+		row.panel = flightPanel; 
+		row.gridy = gridy; 
+		row.components = new Component[flightPanel.getComponentCount() - first];
+		
+		for (int i = 0; i < row.components.length; i++)
+			row.components[i] = flightPanel.getComponent(first + i); 
+		
+		rows.put(obj, row); 
+	}
+	
+	
+	//--------------------------------------------------------------------------
+	// After a change to the pairings made on this screen, redraws just the rows
+	// whose items were replaced (e.g. a blank line that became a debate) or 
+	// whose conflicts might have changed (see ConflictCache), and the rows of 
+	// the two containers involved, since their locks might have changed. The 
+	// bottom panel is redrawn too if "unassigned" is true. If items were added
+	// to or removed from the pairings, the whole screen is reinitialized 
+	// instead. Either way, the TournamentFrame is then told about the change.
+	//--------------------------------------------------------------------------
+	private void redrawChanged (Flightable container1, Flightable container2, 
+										boolean unassigned)
+	{
+		//(The screen is about to be reinitialized anyway.) 
+		if (resettingBreak)
+		{
+			tf.roundChanged(round); 
+			return; 
+		}
+		
+		ArrayList<Flightable> items = round.getItemsOnPairings(); 
+		Set<Flightable> changed = round.getConflictChecker().takeChanged(); 
+		
+		boolean sameRows = changed != null && items.size() == itemsShown.size();
+		
+		for (int i = 0; sameRows && i < items.size(); i++)
+			if (items.get(i).getFlight() != itemsShown.get(i).getFlight()
+				|| rows.containsKey(itemsShown.get(i)) == false)
+				sameRows = false; 
+		
+		if (sameRows == false)
+		{
+			initialize(tf); 
+			tf.roundChanged(round); 
+			return; 
+		}
+		
+		for (int i = 0; i < items.size(); i++)
+		{
+			Flightable item = items.get(i); 
+			Flightable shown = itemsShown.get(i); 
+			
+			if (item != shown || changed.contains(item) || item == container1
+				|| item == container2)
+			{
+				Row row = rows.remove(shown); 
+				
+				for (Component component : row.components)
+					row.panel.remove(component); 
+				
+				addRow (item, row.panel, row.gridy); 
+			}
+		}
+		
+		itemsShown = new ArrayList<Flightable>(items); 
+		
+		if (unassigned)
+			resetBottomPanel(); 
+		
+		mainPanel.revalidate(); 
+		mainPanel.repaint(); 
+		
+		tf.roundChanged(round); 
+	}
+	
+	
 	//--------------------------------------------------------------------------
 	// Makes the bottom panel which shows debaters, judges, or rooms that are
 	// not currently assigned to a debate. 
@@ -677,11 +797,13 @@ TODO		&& round.getPreviousRound() != null
 			|| getNumItemsInFlight('A') <= getNumItemsInFlight('B'))
 		{
 			round.getItemsOnPairings().add (new BlankLine('A')); 
+			round.pairingsChanged(); 
 			initialize(tf);
 		}
 		else
 		{
 			round.getItemsOnPairings().add (new BlankLine('B'));
+			round.pairingsChanged(); 
 			initialize(tf);
 		}
 	}
@@ -733,6 +855,7 @@ TODO		&& round.getPreviousRound() != null
 				&& itemsOnPairings.get(i).getFlight() == flight)
 			{
 				itemsOnPairings.remove(i);
+				round.pairingsChanged(); 
 				initialize(tf); 
 				return true;
 			}
@@ -1577,8 +1700,11 @@ TODO		&& round.getPreviousRound() != null
 		//end of Room methods
 		
 		
-		//Refresh everything 
-		tf.refresh();
+		//Redraw what changed. (If either item was on the bottom panel, it has 
+		//to be redrawn too.) 
+		redrawChanged (container1, container2, container1 == null 
+			|| container2 == null || rows.containsKey(container1) == false 
+			|| rows.containsKey(container2) == false);
 	}
 
 
@@ -1632,7 +1758,7 @@ TODO		&& round.getPreviousRound() != null
 				convertToObjWithoutRoom ((RoomInhabitable) container); 
 		}
 
-		tf.refresh(); 
+		redrawChanged (container, null, true); 
 	}
 
 
@@ -1692,6 +1818,7 @@ TODO		&& round.getPreviousRound() != null
 			if (round.getItemsOnPairings().get(i).equals(debate))
 			{
 				round.getItemsOnPairings().set (i, newContainer); 
+				round.pairingsChanged(); 
 				return; 
 			}
 			
@@ -1737,6 +1864,7 @@ TODO		&& round.getPreviousRound() != null
 			if (round.getItemsOnPairings().get(i).equals(container))
 			{
 				round.getItemsOnPairings().set (i, debate); 
+				round.pairingsChanged(); 
 				break;
 			}
 			
@@ -1776,6 +1904,7 @@ TODO		&& round.getPreviousRound() != null
 			if (round.getItemsOnPairings().get(i).equals(container))
 			{
 				round.getItemsOnPairings().set (i, newContainer); 
+				round.pairingsChanged(); 
 				return;
 			}
 			
@@ -1812,6 +1941,7 @@ TODO		&& round.getPreviousRound() != null
 				&& round.getItemsOnPairings().get(i).equals(container))
 			{
 				round.getItemsOnPairings().set (i, (Flightable) newContainer); 
+				round.pairingsChanged(); 
 				break;
 			}
 			
@@ -1862,6 +1992,7 @@ TODO		&& round.getPreviousRound() != null
 				&& round.getItemsOnPairings().get(i).equals(container))
 			{
 				round.getItemsOnPairings().set (i, newContainer); 
+				round.pairingsChanged(); 
 				return;
 			}
 			
@@ -1910,6 +2041,7 @@ TODO		&& round.getPreviousRound() != null
 			if (round.getItemsOnPairings().get(i).equals(container))
 			{
 				round.getItemsOnPairings().set (i, (Flightable) newContainer); 
+				round.pairingsChanged(); 
 				break;
 			}
 			
@@ -2073,6 +2205,7 @@ TODO		&& round.getPreviousRound() != null
 			
 			for (int i = round.getDebates().size() - 1; i >= 0; i--)
 				round.getDebates().remove(i);
+			round.pairingsChanged(); 
 				
 			for (int i = 0; i < numitems; i++)
 				addBlankLine(); 
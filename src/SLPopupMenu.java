@@ -234,6 +234,8 @@ class SLPopupMenu extends JPopupMenu
 			else
 				label.getContainer().setFlight('A');
 			
+			//(A blank line doesn't know its round to tell it itself.) 
+			label.getRound().pairingsChanged(); 
 			label.getRound().getPanel().getTournamentFrame().refresh(); 
 		}
 	}
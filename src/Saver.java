@@ -0,0 +1,340 @@
+//*****************************************************************************
+// Saver.java
+// Kevin Coltin
+//
+// Writes files on a thread of its own, so that saving the tournament after
+// every change doesn't hold up the screens. Journals with changes waiting
+// (see Journal) and writes of whole files are handed to the program's one
+// Saver (see getSaver()), which writes the journals first and then does the
+// writes in the order they were asked for, and reports how long they took on
+// the TournamentFrame's status bar.
+//
+// The saver waits a moment after a journal or write is handed to it before
+// doing anything, and everything that comes in the meantime is done with it:
+// a journal writes all of its changes at once, and a write of a whole file
+// replaces any writes to that file still waiting. A whole file is written to
+// a temporary file first, which is then renamed over it, so that the file is
+// never left half written.
+//*****************************************************************************
+
+
+
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.DateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import javax.swing.SwingUtilities;
+
+class Saver extends Thread
+{
+	//Time to wait after a write is asked for, for others to combine with it
+	//(in milliseconds)
+	private static final long DELAY = 250;
+
+	//The program's saver; made when first needed
+	private static Saver saver;
+
+	//Journals with changes waiting to be written, with when the first of them
+	//was handed over (from System.nanoTime()); writes waiting to be done, in
+	//order; whether they're being done right now; and whether flush() is
+	//waiting for them
+	private LinkedHashMap<Journal, Long> journals = new LinkedHashMap<Journal, Long>();
+	private ArrayList<Write> pending = new ArrayList<Write>();
+	private boolean writing;
+	private boolean flushing;
+
+	//Files whose last write failed (see hasFailed())
+	private HashSet<File> failed = new HashSet<File>();
+
+
+	//---------------------------------------------------------------------------
+	// A write of a whole file waiting to be done. "requested" is when it was
+	// asked for (from System.nanoTime()).
+	//---------------------------------------------------------------------------
+	private static class Write
+	{
+		TournamentFrame tf; //frame to report to (can be null)
+		File file;
+		byte[] bytes;
+		long requested;
+
+		Write (TournamentFrame frame, File f, byte[] b)
+		{
+			tf = frame;
+			file = f;
+			bytes = b;
+			requested = System.nanoTime();
+		}
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Constructor - use getSaver()
+	//---------------------------------------------------------------------------
+	private Saver ()
+	{
+		super("Saver");
+
+		//(flush() is called when a window is closed; the saver shouldn't keep
+		//the program running by itself.)
+		setDaemon(true);
+	}
+
+	//Returns the program's saver, starting it if it hasn't been yet
+	static synchronized Saver getSaver ()
+	{
+		if (saver == null)
+		{
+			saver = new Saver();
+			saver.start();
+		}
+
+		return saver;
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Ask for the journal's changes to be written (see Journal.write())
+	//---------------------------------------------------------------------------
+	synchronized void save (Journal journal)
+	{
+		if (journals.containsKey(journal) == false)
+			journals.put(journal, System.nanoTime());
+
+		notifyAll();
+	}
+
+	//---------------------------------------------------------------------------
+	// Ask for the whole file to be written with these bytes. The bytes
+	// shouldn't be changed afterward.
+	//---------------------------------------------------------------------------
+	synchronized void write (TournamentFrame tf, File file, byte[] bytes)
+	{
+		//Any writes to the file still waiting don't need to be done
+		for (int i = pending.size() - 1; i >= 0; i--)
+			if (pending.get(i).file.equals(file))
+				pending.remove(i);
+
+		pending.add(new Write(tf, file, bytes));
+		notifyAll();
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns whether a write to this file has failed since the last time this
+	// was called for it
+	//---------------------------------------------------------------------------
+	synchronized boolean hasFailed (File file)
+	{
+		return failed.remove(file);
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Does every write that has been asked for right away, and waits until
+	// they're done
+	//---------------------------------------------------------------------------
+	synchronized void flush ()
+	{
+		flushing = true;
+		notifyAll();
+
+		try
+		{
+			while (journals.isEmpty() == false || pending.isEmpty() == false
+					|| writing)
+				wait();
+		}
+		catch (InterruptedException e) {}
+
+		flushing = false;
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Waits for journals and writes to be handed over and does them
+	//---------------------------------------------------------------------------
+	public void run ()
+	{
+		while (true)
+		{
+			LinkedHashMap<Journal, Long> saves;
+			ArrayList<Write> writes;
+
+			synchronized (this)
+			{
+				try
+				{
+					while (journals.isEmpty() && pending.isEmpty())
+						wait();
+
+					//Give more writes a chance to come in
+					long end = System.currentTimeMillis() + DELAY;
+					long now = System.currentTimeMillis();
+
+					while (flushing == false && now < end)
+					{
+						wait(end - now);
+						now = System.currentTimeMillis();
+					}
+				}
+				catch (InterruptedException e)
+				{
+					return;
+				}
+
+				saves = journals;
+				journals = new LinkedHashMap<Journal, Long>();
+				writing = true;
+			}
+
+			//When the first thing done for each frame was asked for, and what to
+			//report to each frame that something failed for
+			IdentityHashMap<TournamentFrame, Long> requested =
+										new IdentityHashMap<TournamentFrame, Long>();
+			IdentityHashMap<TournamentFrame, String> errors =
+										new IdentityHashMap<TournamentFrame, String>();
+
+			//(The journals go first, since they hand over the text backups.)
+			for (Journal journal : saves.keySet())
+			{
+				TournamentFrame tf = journal.getFrame();
+
+				try
+				{
+					journal.write();
+				}
+				catch (IOException e)
+				{
+					fail (journal.getFile(), e);
+
+					if (tf != null && errors.containsKey(tf) == false)
+						errors.put(tf, "Couldn't save " + journal.getFile().getName()
+												+ ": " + e.getMessage());
+				}
+
+				if (tf != null && requested.containsKey(tf) == false)
+					requested.put(tf, saves.get(journal));
+			}
+
+			synchronized (this)
+			{
+				writes = pending;
+				pending = new ArrayList<Write>();
+			}
+
+			for (Write w : writes)
+			{
+				try
+				{
+					write (w.file, w.bytes);
+				}
+				catch (IOException e)
+				{
+					fail (w.file, e);
+
+					if (w.tf != null && errors.containsKey(w.tf) == false)
+						errors.put(w.tf, "Couldn't save " + w.file.getName() + ": "
+												+ e.getMessage());
+				}
+
+				if (w.tf != null && requested.containsKey(w.tf) == false)
+					requested.put(w.tf, w.requested);
+			}
+
+			for (final TournamentFrame tf : requested.keySet())
+			{
+				final boolean error = errors.containsKey(tf);
+				long ms = (System.nanoTime() - requested.get(tf)) / 1000000;
+				final String report = error ? errors.get(tf)
+											: "Saved at " + DateFormat.getTimeInstance()
+												.format(new Date()) + " (" + ms + " ms)";
+
+				SwingUtilities.invokeLater(new Runnable()
+					{
+						public void run ()
+						{
+							tf.setStatus(report, error);
+						}
+					});
+			}
+
+			synchronized (this)
+			{
+				writing = false;
+				notifyAll();
+			}
+		}
+	}
+
+	//Records that a write to the file failed (see hasFailed())
+	private synchronized void fail (File file, IOException e)
+	{
+		failed.add(file);
+		System.out.println("Warning: couldn't save " + file + " (" + e.toString()
+									+ ").");
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Writes the whole file, by writing a temporary file next to it and then
+	// renaming that over it (on the Saver's thread)
+	//---------------------------------------------------------------------------
+	static void write (File file, byte[] bytes) throws IOException
+	{
+		File temp = new File(file.getPath() + ".tmp");
+		FileOutputStream out = new FileOutputStream(temp);
+
+		try
+		{
+			out.write(bytes);
+			out.getFD().sync(); //make sure it's on disk before it's renamed
+		}
+		finally
+		{
+			out.close();
+		}
+
+		try
+		{
+			Files.move(temp.toPath(), file.toPath(),
+						StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException e)
+		{
+			Files.move(temp.toPath(), file.toPath(),
+						StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	//---------------------------------------------------------------------------
+	// Adds the bytes to the end of the file (on the Saver's thread)
+	//---------------------------------------------------------------------------
+	static void append (File file, byte[] bytes) throws IOException
+	{
+		FileChannel channel = new FileOutputStream(file, true).getChannel();
+
+		try
+		{
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+		}
+		finally
+		{
+			channel.close();
+		}
+	}
+}
@@ -9,6 +9,7 @@
  
 
 import java.io.Serializable;
+import java.io.IOException;
 import java.util.ArrayList; 
 
 class School implements Comparable, Serializable 
@@ -26,6 +27,20 @@ class School implements Comparable, Serializable
 	}
 
 
+	//--------------------------------------------------------------------------
+	// Read from and write to a tournament file (see TabFile)
+	//--------------------------------------------------------------------------
+	School (TabFile.Input in) throws IOException
+	{
+		name = in.readString();
+	}
+
+	void write (TabFile.Output out) throws IOException
+	{
+		out.writeString(name);
+	}
+
+
 	//--------------------------------------------------------------------------
 	// Get and set name
 	//--------------------------------------------------------------------------
@@ -0,0 +1,183 @@
+//******************************************************************************
+// ScoreBenchmark.java
+// Kevin Coltin
+//
+// This is a driver for the programmer (me) to check that the scores used by
+// the pairing (ConflictChecker.scoreMatchup(), scoreJudge() and scoreRoom())
+// stay fast and don't make any garbage, since CostMatrix calls them for every
+// pair of teams, every judge and debate, and every judge and room. It reads a
+// tournament (.tab) file, and for each round, scores everything a few times
+// over to warm up and then prints the time and the number of bytes allocated
+// per call, as counted by the JVM for this thread.
+//
+// Usage: java [-XX:-DoEscapeAnalysis] ScoreBenchmark [file.tab]
+//
+// The bytes per call should be 0, even with -XX:-DoEscapeAnalysis (so that
+// it doesn't depend on the JIT getting rid of iterators and the like). The
+// first calls after the tournament changes fill in the HistoryIndex,
+// StrikeMatrix, Standings and DebateIndex, which does allocate, but only once
+// per change - that's what the warm-up is for.
+//******************************************************************************
+
+
+
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+public class ScoreBenchmark
+{
+	//Times everything is scored before it's measured, and while it is
+	private static final int WARM_UP = 20, REPEATS = 20;
+
+	private static final com.sun.management.ThreadMXBean threads =
+		(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	//Sum of all the scores, printed at the end so that the calls can't be
+	//optimized away
+	private static long total;
+
+
+	public static void main (String[] args)
+	{
+		final String filename = args.length > 0 ? args[0] : "SWSDI LD.tab";
+		Tournament tournament = read (filename);
+
+		System.out.println ("Round                matchup        judge"
+								+ "          room");
+
+		for (Round round : tournament.getRounds())
+		{
+			ConflictChecker checker = round.getConflictChecker();
+
+			for (int i = 0; i < WARM_UP; i++)
+			{
+				scoreMatchups (tournament, checker);
+				scoreJudges (tournament, checker);
+				scoreRooms (tournament, checker);
+			}
+
+			System.out.printf ("%-16s", round.getName());
+			measure (0, tournament, checker);
+			measure (1, tournament, checker);
+			measure (2, tournament, checker);
+			System.out.println ();
+		}
+
+		System.out.println ("(" + total + ")");
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Scores the matchups (0), judges (1) or rooms (2) REPEATS times, and
+	// prints the nanoseconds and bytes per call
+	//--------------------------------------------------------------------------
+	private static void measure (int which, Tournament tournament,
+											ConflictChecker checker)
+	{
+		long id = Thread.currentThread().getId();
+		long calls = 0;
+
+		long bytes = threads.getThreadAllocatedBytes(id);
+		long time = System.nanoTime();
+
+		for (int i = 0; i < REPEATS; i++)
+		{
+			if (which == 0)
+				calls += scoreMatchups (tournament, checker);
+			else if (which == 1)
+				calls += scoreJudges (tournament, checker);
+			else
+				calls += scoreRooms (tournament, checker);
+		}
+
+		time = System.nanoTime() - time;
+		bytes = threads.getThreadAllocatedBytes(id) - bytes;
+
+		if (calls == 0)
+			System.out.printf ("%14s", "-");
+		else
+			System.out.printf ("%6.0f ns %3d B", (double) time / calls,
+									Math.round((double) bytes / calls));
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Score every pair of teams, every judge with every pair of teams next to
+	// each other in the list (as stand-ins for debates), and every judge with
+	// every room. Each returns the number of calls.
+	//--------------------------------------------------------------------------
+	private static int scoreMatchups (Tournament tournament,
+												ConflictChecker checker)
+	{
+		ArrayList<Entry> entries = tournament.getEntries();
+		int calls = 0;
+
+		for (int i = 0; i < entries.size(); i++)
+			for (int j = 0; j < entries.size(); j++)
+				if (i != j)
+				{
+					total += checker.scoreMatchup(entries.get(i), entries.get(j));
+					calls++;
+				}
+
+		return calls;
+	}
+
+	private static int scoreJudges (Tournament tournament,
+												ConflictChecker checker)
+	{
+		ArrayList<Entry> entries = tournament.getEntries();
+		ArrayList<Judge> judges = tournament.getJudges();
+		int calls = 0;
+
+		for (int i = 0; i < judges.size(); i++)
+			for (int j = 0; j + 1 < entries.size(); j += 2)
+			{
+				total += checker.scoreJudge(judges.get(i), entries.get(j),
+													entries.get(j + 1), true);
+				calls++;
+			}
+
+		return calls;
+	}
+
+	private static int scoreRooms (Tournament tournament,
+											ConflictChecker checker)
+	{
+		ArrayList<Judge> judges = tournament.getJudges();
+		ArrayList<Room> rooms = tournament.getRooms();
+		int calls = 0;
+
+		for (int i = 0; i < judges.size(); i++)
+			for (int j = 0; j < rooms.size(); j++)
+			{
+				total += checker.scoreRoom(judges.get(i), rooms.get(j));
+				calls++;
+			}
+
+		return calls;
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Reads a selected file to obtain the Tournament object.
+	//--------------------------------------------------------------------------
+	private static Tournament read (String filename)
+	{
+		Tournament tournament = null;
+		try
+		{
+			File inFile = new File (filename);
+			tournament = TabFile.read (inFile);
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+			System.exit(1);
+		}
+
+		return tournament;
+	}
+}
@@ -0,0 +1,267 @@
+//*****************************************************************************
+// Seeding.java
+// Kevin Coltin
+//
+// Keeps the order of the entries' seeds after prelims (see
+// Entry.compareSeedTo() for how they're seeded), so that the break screen and
+// elim pairings don't sort all the entries again every time they need it. The
+// tournament has one (see Tournament.getSeeding()).
+//
+// Each entry's wins, strength of opp and losses are looked up once, and the
+// head to head results between entries are counted once from the prelims,
+// before the entries are sorted, rather than for every comparison. The order
+// is kept until the pairings or results of a prelim change (or the entries
+// themselves do), which is checked with the version stamps in Tournament and
+// Round.
+//*****************************************************************************
+
+
+
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+class Seeding
+{
+	private Tournament tournament;
+
+	//Version (see getVersion()) the entries were seeded at; -1 means they
+	//haven't been seeded yet
+	private long version = -1;
+
+	//Entries who can break, in order by seed
+	private ArrayList<Entry> seeds;
+
+	//While seeding: the entries who can break, and for each of them (by
+	//position in "entries") its wins, strength of opp, losses and random
+	//number
+	private ArrayList<Entry> entries;
+	private int[] wins, oppWins, losses;
+	private double[] rand;
+
+	//While seeding: the number of times the second entry of each pair has
+	//beaten the first minus the number of times the first has beaten the
+	//second, for each pair that has debated. See h2hKey() for the keys.
+	private HashMap<Long, Integer> h2h;
+
+
+	//---------------------------------------------------------------------------
+	// Constructor
+	//---------------------------------------------------------------------------
+	Seeding (Tournament t)
+	{
+		tournament = t;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the entries who can break (i.e. aren't ineligible), in order by
+	// seed. The returned list is a copy, so it can be changed.
+	//---------------------------------------------------------------------------
+	synchronized ArrayList<Entry> getSeeds ()
+	{
+		long v = getVersion();
+
+		if (v != version)
+		{
+			seeds = seed();
+			version = v;
+		}
+
+		return new ArrayList<Entry>(seeds);
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Looks up each entry's record and the head to head results, then sorts the
+	// entries on them
+	//---------------------------------------------------------------------------
+	private ArrayList<Entry> seed ()
+	{
+		Standings standings = tournament.getStandings();
+
+		entries = new ArrayList<Entry>();
+		for (Entry entry : tournament.getEntries())
+			if (!(entry.isIneligibleToBreak())) //ignore those who can't break
+				entries.add(entry);
+
+		int n = entries.size();
+		wins = new int[n];
+		oppWins = new int[n];
+		losses = new int[n];
+		rand = new double[n];
+
+		//Position of each entry (by equals(), the same as compareSeedTo())
+		HashMap<Entry, Integer> index = new HashMap<Entry, Integer>();
+
+		for (int i = 0; i < n; i++)
+		{
+			Entry entry = entries.get(i);
+
+			wins[i] = standings.getWins(entry);
+			oppWins[i] = standings.getOppWins(entry);
+			losses[i] = standings.getLosses(entry);
+			rand[i] = entry.getRand();
+
+			if (index.containsKey(entry) == false)
+				index.put(entry, i);
+		}
+
+		h2h = new HashMap<Long, Integer>();
+
+		for (int i = 0; i < n; i++)
+		{
+			Entry entry = entries.get(i);
+
+			for (PrelimRound round : tournament.getPrelims())
+			{
+				Debate debate = round.getDebate(entry);
+				if (debate == null || debate.getOpponent(entry) == null)
+					continue;
+
+				Integer j = index.get(debate.getOpponent(entry));
+				if (j == null)
+					continue;
+
+				int change = 0;
+				if (debate.getDecision(entry) == Debate.Outcome.WIN)
+					change = -1;
+				else if (debate.getDecision(entry) == Debate.Outcome.LOSS)
+					change = 1;
+
+				if (change != 0)
+					h2h.put(h2hKey(i, j), getH2H(i, j) + change);
+			}
+		}
+
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++)
+			order[i] = i;
+
+		mergeSort (order, 0, n - 1);
+
+		ArrayList<Entry> sorted = new ArrayList<Entry>();
+		for (int i : order)
+			sorted.add(entries.get(i));
+
+		//Don't hold on to the tables once they've been used
+		entries = null;
+		wins = oppWins = losses = null;
+		rand = null;
+		h2h = null;
+
+		return sorted;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Same as Entry.compareSeedTo(), for the entries at these positions
+	//---------------------------------------------------------------------------
+	private int compare (int i, int j)
+	{
+		//First, test wins.
+		int compare = wins[j] - wins[i];
+		if (compare != 0)
+			return compare;
+
+		//Next, compare strength of opp
+		compare = oppWins[j] - oppWins[i];
+		if (compare != 0)
+			return compare;
+
+		//Next, compare total number of debates - i.e., losses.
+		compare = losses[j] - losses[i];
+		if (compare != 0)
+			return compare;
+
+		//Next, see if one has beaten the other head-to-head.
+		compare = getH2H(i, j);
+		if (compare != 0)
+			return compare;
+
+		//Finally, compare random numbers.
+		return rand[i] > rand[j] ? -1 : 1;
+	}
+
+	//Returns the head to head result between the entries at these positions -
+	//negative if i has beaten j more times than j has beaten i
+	private int getH2H (int i, int j)
+	{
+		Integer result = h2h.get(h2hKey(i, j));
+		return result == null ? 0 : result;
+	}
+
+	private long h2hKey (int i, int j)
+	{
+		return (long) i * entries.size() + j;
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Internal method - implements merge sort algorithm, on positions in
+	// "entries" (see Sort.mergeSort())
+	//---------------------------------------------------------------------------
+	private void mergeSort (int[] order, int start, int end)
+	{
+		if (start < end)
+		{
+			int mid = (start + end) / 2; //integer division
+			mergeSort (order, start, mid);
+			mergeSort (order, mid + 1, end);
+			merge (order, start, mid, end);
+		}
+	}
+
+	//--------------------------------------------------------------------------
+	// Internal method used by mergeSort
+	//--------------------------------------------------------------------------
+	private void merge (int[] order, int start, int mid, int end)
+	{
+		int[] left = new int[mid - start + 1];
+		int[] right = new int[end - mid];
+		int i, j, k;
+
+		for (i = 0; i < left.length; i++)
+			left[i] = order[start + i];
+		for (j = 0; j < right.length; j++)
+			right[j] = order[mid + 1 + j];
+
+		i = 0;
+		j = 0;
+		k = start;
+
+		while (i < left.length && j < right.length)
+		{
+			if (compare(left[i], right[j]) <= 0)
+				order[k++] = left[i++];
+			else
+				order[k++] = right[j++];
+		}
+
+		while (i < left.length)
+			order[k++] = left[i++];
+		while (j < right.length)
+			order[k++] = right[j++];
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Returns the version of the last change to the entries or to the pairings
+	// or results of any prelim
+	//---------------------------------------------------------------------------
+	private long getVersion ()
+	{
+		long v = tournament.getRosterVersion();
+
+		for (PrelimRound round : tournament.getPrelims())
+		{
+			v = Math.max(v, round.getPairingsVersion());
+			v = Math.max(v, round.getResultsVersion());
+		}
+
+		return v;
+	}
+}
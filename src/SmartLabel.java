@@ -528,18 +528,18 @@ class SmartLabel extends JLabel implements Serializable
 	Conflict[] getConflicts ()
 	{
 		Conflict[] conflicts = null; 
-		ConflictChecker.setRound(round); 
+		ConflictChecker checker = round.getConflictChecker(); 
 
 		if (container instanceof Debate)
-			conflicts = ConflictChecker.checkForConflict((Debate) container);
+			conflicts = checker.checkForConflict((Debate) container);
 		else if (container instanceof JudgeRoomAssignment)
-			conflicts = ConflictChecker.checkForConflict(
+			conflicts = checker.checkForConflict(
 															(JudgeRoomAssignment) container);
 		else if (container instanceof JudgeAssignment)
-			conflicts = ConflictChecker.checkForConflict(
+			conflicts = checker.checkForConflict(
 															(JudgeAssignment) container);
 		else if (container instanceof RoomAssignment)
-			conflicts = ConflictChecker.checkForConflict(
+			conflicts = checker.checkForConflict(
 															(RoomAssignment) container);
 		
 		//If conflicts is null, return null 
@@ -50,22 +50,14 @@ class Sort
 	// true, the returned array will contain all entries in the tournament; if it
 	// is false (default), then it will only show those who are actually 
 	// breaking.
+	//
+	// The order is kept by the tournament's Seeding, so the entries are only
+	// sorted again after a prelim's pairings or results change. The returned
+	// list is a new copy each time.
 	//---------------------------------------------------------------------------
 	static ArrayList<Entry> seed (Tournament tournament)
 	{
-		//Copy objects into new array list to be returned (to avoid changing 
-		//entries in tournament.getEntries(), if that's what is passed to the 
-		//argument. 
-		ArrayList<Entry> seeds = new ArrayList<Entry>(); 
-		
-		for (Entry entry : tournament.getEntries())
-			if (!(entry.isIneligibleToBreak())) //ignore those who can't break
-				seeds.add(entry);
-	
-		int start = 0; 
-		int end = seeds.size()-1; 
-		mergeSortSeeds (seeds, start, end);
-		return seeds; 
+		return tournament.getSeeding().getSeeds(); 
 	}
 
 	
@@ -73,8 +65,9 @@ class Sort
 	//---------------------------------------------------------------------------
 	// Returns the seeds of entries in a particular elim round. This takes as 
 	// given the entries who have broken at the tournament (the "breaks" array
-	// list in Tournament) for the first outround, then recursively computes the
-	// entries who are left standing in each subsequent outround. The returned
+	// list in Tournament) for the first outround, then computes the entries
+	// who are left standing in each subsequent outround (see
+	// EliminationBracket). The returned
 	// arraylist will contain precisely those entries who could potentially 
 	// compete in the given outround. If the tournament hasn't broken yet, it
 	// includes all entries, sorted in order based on their seeds from all 
@@ -89,117 +82,9 @@ class Sort
 		if (tournament.getBreaks().isEmpty()) //if it hasn't broken yet 
 			return seed (tournament); 
 			
-		//After this point, the tournament has already broken. 
-	
-		if (round.equals(tournament.getElims().get(0)))
-		{
-			return tournament.getBreaks(); 
-		}
-		
-		
-		ArrayList<ElimRound> elims = round.getTournament().getElims();
-		ArrayList<Entry> seeds = new ArrayList<Entry>();
-		
-		//Recursively get seeds from the outround immediately before this one 
-		ElimRound previousRd = (ElimRound) round.getPreviousRound(); 
-		ArrayList<Entry> previousSeeds = seed (previousRd); 
-		
-		int i = 0; 
-		
-		//Cycle through the student who should be in this round - e.g., if it's 
-		//semis, the top four. 
-		while (i < round.getLevel().getNumEntries()) 
-		{
-			//If the ith entry won the previous outround, or if its debate hasn't
-			//happened yet, it keeps its seed.
-			Entry entry = previousSeeds.get(i); 
-			Debate.Outcome decision = previousRd.getDebate(entry) != null 
-										? previousRd.getDebate(entry).getDecision(entry)
-										: Debate.Outcome.NO_DECISION; 
-
-			if (decision == Debate.Outcome.WIN 
-				|| decision == Debate.Outcome.BYE
-				|| decision == Debate.Outcome.NO_DECISION)
-			{
-				seeds.add (entry); 
-			}
-			//Otherwise, if its "complement" (the entry it debated in that 
-			//outround, based on seeds) won its round, the complement steals its 
-			//seed. 
-			else
-			{
-				int nComp =	getComplementNumber(previousRd.getLevel(), i); 
-				if (previousSeeds.size() <= nComp)
-					continue; //skip if there is no complement 
-				Entry complement = previousSeeds.get(nComp); 
-				Debate.Outcome decision2 = previousRd.getDebate(complement) != null 
-							? previousRd.getDebate(complement).getDecision(complement)
-							: Debate.Outcome.NO_DECISION; 
-				
-				if (decision2 == Debate.Outcome.WIN 
-					|| decision2 == Debate.Outcome.BYE)
-					seeds.add (complement); 
-			}
-			
-			i++;
-		}
-		
-		//Next, cycle through the remaining entries in the previous round and add 
-		//them if the round hasn't been decided. 
-		while (i < previousSeeds.size())
-		{
-			Entry entry = previousSeeds.get(i); 
-			Debate.Outcome decision = previousRd.getDebate(entry) != null 
-										? previousRd.getDebate(entry).getDecision(entry)
-										: Debate.Outcome.NO_DECISION; 
-			
-			if ((decision == Debate.Outcome.WIN 
-				|| decision == Debate.Outcome.BYE
-				|| decision == Debate.Outcome.NO_DECISION)
-				&& seeds.contains(entry) == false)
-			{
-				seeds.add (entry); 
-			}
-			
-			i++;
-		}
-		
-		return seeds; 
-	}
-
-
-
-	//---------------------------------------------------------------------------
-	// Returns the entry's complement in the given outround, i.e. the team it 
-	// is seeded to debate against. 
-	//---------------------------------------------------------------------------
-	static Entry getComplement (ElimRound round, Entry entry)
-	{
-		ArrayList<Entry> seeds = seed(round);
-		
-		int index = -1; //index of "entry", initialized to dummy value
-		
-		for (int i = 0; i < seeds.size(); i++)
-		{
-			if (seeds.get(i).equals(entry))
-			{
-				index = i;
-				break;
-			}
-		}
-		
-		//if index is still at the original dummy value, this entry is not in this
-		//outround. 
-		if (index == -1)
-			return null; 
-		
-		int nComp = getComplementNumber (round.getLevel(), index);
-		
-		//this may occur if it's a partial outround 
-		if (nComp > seeds.size()-1)
-			return null; 
-		else
-			return (seeds.get(nComp));
+		//After this point, the tournament has already broken, so the seeds are
+		//kept by the tournament's bracket.
+		return tournament.getBracket().getSeeds (round);
 	}
 
 
@@ -301,80 +186,6 @@ class Sort
 		}
 	}
 
-
-	//--------------------------------------------------------------------------
-	// Internal method - implements merge sort algorithm 
-	//--------------------------------------------------------------------------
-	private static void mergeSortSeeds (ArrayList<Entry> objects, int start, 
-													int end)
-	{
-		if (start < end)
-		{
-			int mid = (start + end) / 2; //integer division
-			mergeSortSeeds (objects, start, mid);
-			mergeSortSeeds (objects, mid + 1, end);
-			mergeSeeds (objects, start, mid, end);
-		}
-	}
-
-	//--------------------------------------------------------------------------
-	// Internal method used by mergeSort
-	//--------------------------------------------------------------------------
-	private static void mergeSeeds (ArrayList<Entry> objects, int start, int mid, 
-										int end)
-	{
-		ArrayList<Entry> left = new ArrayList<Entry>();
-		ArrayList<Entry> right = new ArrayList<Entry>();
-		int i, j, k;
-		int length1 = mid - start + 1;
-		int length2 = end - mid;
-
-		for (i = 0; i < length1; i++)
-			left.add(objects.get(start + i));
-		for (j = 0; j < length2; j++)
-			right.add(objects.get(mid + 1 + j));
-
-		i = 0;
-		j = 0;
-		k = start;
-
-		while (i < length1 && j < length2)
-		{
-			Entry leftObj = left.get(i);
-			Entry rightObj = right.get(j);
-			if (leftObj.compareSeedTo(rightObj) <= 0)
-			{
-				objects.set(k, left.get(i));
-				i++;
-				k++;
-			}
-			else
-			{
-				objects.set(k, right.get(j));
-				j++;
-				k++;
-			}
-		}
-
-		if (i == length1)
-		{
-			while (k <= end)
-			{
-				objects.set(k, right.get(j));
-				j++;
-				k++;
-			}
-		}
-		else
-		{
-			while (k <= end)
-			{
-				objects.set(k, left.get(i));
-				i++;
-				k++;
-			}
-		}
-	}
 }
 
 
@@ -0,0 +1,161 @@
+//*****************************************************************************
+// Standings.java
+// Kevin Coltin
+//
+// Keeps each entry's record in prelims - wins, losses, and strength of opp
+// (the total wins of its opponents) - so that seeding and powermatching don't
+// have to look through every prelim each time they compare two entries. The
+// tournament has one (see Tournament.getStandings()).
+//
+// An entry's record is counted the first time it's asked for, and kept until
+// the pairings or results of a prelim change (or the entries themselves do),
+// which is checked with the version stamps in Tournament and Round.
+//*****************************************************************************
+
+
+
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+class Standings
+{
+	private Tournament tournament;
+
+	//Version (see getVersion()) the records were counted at; -1 means they
+	//haven't been counted yet
+	private long version = -1;
+
+	//Each entry's record
+	private HashMap<Entry, Record> records;
+
+
+	//---------------------------------------------------------------------------
+	// Record of one entry. oppWins is -1 until it's counted, since it needs the
+	// opponents' records.
+	//---------------------------------------------------------------------------
+	private static class Record
+	{
+		int wins, losses;
+		int oppWins = -1;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Constructor
+	//---------------------------------------------------------------------------
+	Standings (Tournament t)
+	{
+		tournament = t;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Return the number of prelims this entry won (including byes) and lost
+	// (including forfeits), and the total number of prelims its opponents won
+	//---------------------------------------------------------------------------
+	synchronized int getWins (Entry entry)
+	{
+		refresh();
+		return getRecord(entry).wins;
+	}
+
+	synchronized int getLosses (Entry entry)
+	{
+		refresh();
+		return getRecord(entry).losses;
+	}
+
+	synchronized int getOppWins (Entry entry)
+	{
+		refresh();
+
+		Record record = getRecord(entry);
+
+		if (record.oppWins == -1)
+		{
+			record.oppWins = 0;
+
+			for (PrelimRound round : tournament.getPrelims())
+			{
+				Debate debate = round.getDebate(entry);
+
+				if (debate != null && debate.getOpponent(entry) != null)
+					record.oppWins += getRecord(debate.getOpponent(entry)).wins;
+			}
+		}
+
+		return record.oppWins;
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Returns this entry's record, counting its wins and losses if they haven't
+	// been counted yet
+	//---------------------------------------------------------------------------
+	private Record getRecord (Entry entry)
+	{
+		Record record = records.get(entry);
+
+		if (record == null)
+		{
+			record = new Record();
+
+			for (PrelimRound round : tournament.getPrelims())
+			{
+				Debate debate = round.getDebate(entry);
+
+				if (debate == null)
+					continue;
+
+				Debate.Outcome decision = debate.getDecision(entry);
+
+				if (decision.equals(Debate.Outcome.WIN)
+					|| decision.equals(Debate.Outcome.BYE))
+					record.wins++;
+				else if (decision.equals(Debate.Outcome.LOSS)
+					|| decision.equals(Debate.Outcome.FORFEIT))
+					record.losses++;
+			}
+
+			records.put(entry, record);
+		}
+
+		return record;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Throws away the records if any prelim has changed since they were counted
+	//---------------------------------------------------------------------------
+	private void refresh ()
+	{
+		long v = getVersion();
+		if (v == version)
+			return;
+
+		records = new HashMap<Entry, Record>();
+		version = v;
+	}
+
+	//Returns the version of the last change to the entries or to the pairings
+	//or results of any prelim
+	private long getVersion ()
+	{
+		long v = tournament.getRosterVersion();
+
+		//(Indexed, since this is checked on every call - e.g. twice for each
+		//pair of teams ConflictChecker.scoreMatchup() looks at - and an
+		//iterator would be garbage each time.)
+		ArrayList<PrelimRound> prelims = tournament.getPrelims();
+		for (int i = 0; i < prelims.size(); i++)
+		{
+			PrelimRound round = prelims.get(i);
+			v = Math.max(v, round.getPairingsVersion());
+			v = Math.max(v, round.getResultsVersion());
+		}
+
+		return v;
+	}
+}
@@ -0,0 +1,198 @@
+//*****************************************************************************
+// StrikeMatrix.java
+// Kevin Coltin
+//
+// Gives every school and competitor a small integer ID, and keeps each
+// judge's strikes and each entry's students and schools as sets of those IDs
+// (BitSets), so checking whether a judge is struck against a debate is a
+// matter of comparing a few words of bits rather than comparing every strike
+// to every student. The tournament has one (see Tournament.getStrikes()).
+//
+// IDs are by name, the same as School.equals() and Competitor.equals(), so
+// that equal schools or competitors get the same ID even if they're
+// different objects. Everything is thrown away when the roster changes
+// (which includes changing a judge's strikes or an entry's students). The
+// methods are synchronized, like HistoryIndex's.
+//*****************************************************************************
+
+
+
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+class StrikeMatrix
+{
+	private Tournament tournament;
+
+	//Roster version (see Tournament.version) this was set up at; -1 means it
+	//hasn't been set up yet
+	private long rosterVersion = -1;
+
+	//IDs of each school and competitor, by name. They're given out in order
+	//starting from 0 as new names are seen.
+	private HashMap<String, Integer> schoolIds, competitorIds;
+
+	//Schools and students struck by each judge, and the schools and students
+	//on each entry. [0] is the schools, [1] is the students.
+	private IdentityHashMap<Judge, BitSet[]> judges;
+	private IdentityHashMap<Entry, BitSet[]> entries;
+
+	private static final int SCHOOLS = 0, STUDENTS = 1;
+
+
+	//---------------------------------------------------------------------------
+	// Constructor
+	//---------------------------------------------------------------------------
+	StrikeMatrix (Tournament t)
+	{
+		tournament = t;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Return the ID of a school or competitor
+	//---------------------------------------------------------------------------
+	synchronized int getId (School school)
+	{
+		refresh();
+		return getId(schoolIds, school.getName());
+	}
+
+	synchronized int getId (Competitor competitor)
+	{
+		refresh();
+
+		//(The separator can't appear in a name typed into a text field.)
+		return getId(competitorIds, competitor.getFirstName() + "\n"
+												+ competitor.getLastName());
+	}
+
+	private int getId (HashMap<String, Integer> ids, String name)
+	{
+		Integer id = ids.get(name);
+
+		if (id == null)
+		{
+			id = ids.size();
+			ids.put(name, id);
+		}
+
+		return id;
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Indicates whether the judge is struck against any student on either team
+	// (either of which may be null)
+	//---------------------------------------------------------------------------
+	synchronized boolean isStudentStruck (Judge judge, Entry team1,
+													Entry team2)
+	{
+		return isStruck(judge, team1, team2, STUDENTS);
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Indicates whether the judge is struck against the school of any student
+	// on either team
+	//---------------------------------------------------------------------------
+	synchronized boolean isSchoolStruck (Judge judge, Entry team1,
+													Entry team2)
+	{
+		return isStruck(judge, team1, team2, SCHOOLS);
+	}
+
+
+	private boolean isStruck (Judge judge, Entry team1, Entry team2, int which)
+	{
+		refresh();
+
+		BitSet struck = getStrikes(judge)[which];
+
+		if (struck.isEmpty())
+			return false;
+
+		return (team1 != null && struck.intersects(getMembers(team1)[which]))
+			|| (team2 != null && struck.intersects(getMembers(team2)[which]));
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Returns the schools and students this judge is struck against
+	//---------------------------------------------------------------------------
+	private BitSet[] getStrikes (Judge judge)
+	{
+		BitSet[] strikes = judges.get(judge);
+
+		if (strikes == null)
+		{
+			strikes = new BitSet[] {new BitSet(), new BitSet()};
+
+			for (School school : judge.getSchoolStrikes())
+				strikes[SCHOOLS].set(getId(school));
+			for (Competitor student : judge.getStudentStrikes())
+				strikes[STUDENTS].set(getId(student));
+
+			judges.put(judge, strikes);
+		}
+
+		return strikes;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Returns the schools and students on this entry. Only the first
+	// getKidsPerTeam() students count, as in ConflictChecker.
+	//---------------------------------------------------------------------------
+	private BitSet[] getMembers (Entry entry)
+	{
+		BitSet[] members = entries.get(entry);
+
+		if (members == null)
+		{
+			members = new BitSet[] {new BitSet(), new BitSet()};
+			Competitor[] students = entry.getStudents();
+			int kids = tournament.getEvent().getKidsPerTeam();
+
+			for (int i = 0; i < kids && i < students.length; i++)
+			{
+				if (students[i] != null)
+				{
+					members[STUDENTS].set(getId(students[i]));
+
+					if (students[i].getSchool() != null)
+						members[SCHOOLS].set(getId(students[i].getSchool()));
+				}
+			}
+
+			entries.put(entry, members);
+		}
+
+		return members;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Starts over if the roster has changed
+	//---------------------------------------------------------------------------
+	private void refresh ()
+	{
+		if (tournament.getRosterVersion() == rosterVersion)
+			return;
+
+		schoolIds = new HashMap<String, Integer>();
+		competitorIds = new HashMap<String, Integer>();
+		judges = new IdentityHashMap<Judge, BitSet[]>();
+		entries = new IdentityHashMap<Entry, BitSet[]>();
+
+		//Give out IDs to the schools first, so they're in alphabetical order
+		for (School school : tournament.getSchools())
+			getId(schoolIds, school.getName());
+
+		rosterVersion = tournament.getRosterVersion();
+	}
+}
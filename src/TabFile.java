@@ -0,0 +1,948 @@
+//*****************************************************************************
+// TabFile.java
+// Kevin Coltin
+//
+// Reads and writes tournament (.tab) files. A file starts with a header (the
+// letters "SWDT" and the version of the format), then a table of every string
+// in the file, then the tournament itself: its schools, competitors, entries,
+// rounds, judges, rooms, and the containers (debates and Assignments) in each
+// round, in that order, each one written by its own write() method and read
+// back by its constructor that takes an Input.
+//
+// Every object is given an ID - its position among the objects of its kind -
+// and objects refer to each other by ID, so that each one is only written
+// once. Strings refer to the string table the same way, and numbers are
+// written as varints, so a debate only takes a few bytes. Each kind of object
+// only refers to kinds written before it, except for the rounds' debates and
+// pairings and the judges' locks, which are written after the containers.
+//
+// Files saved before this format (with Java serialization) are still read.
+//
+// The same format is used for the records in a journal (see Journal), each
+// of which holds one round - its fields, its containers, its debates and
+// pairings, and the judges' locks in its containers - and refers to
+// everything but its own containers by its ID in the last full save.
+//*****************************************************************************
+
+
+
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+class TabFile
+{
+	//Header that starts every file, and the version of the format (which
+	//should be increased whenever the format changes, so that a file from a
+	//newer version of the program isn't misread)
+	private static final int MAGIC = 0x53574454; //"SWDT"
+	static final int VERSION = 1;
+
+	//First two bytes of a file written with Java serialization
+	private static final int OLD_MAGIC = 0xACED;
+
+	//Kinds of objects, which are numbered separately
+	private static final int SCHOOL = 0, COMPETITOR = 1, ENTRY = 2, ROUND = 3,
+										JUDGE = 4, ROOM = 5, CONTAINER = 6;
+	private static final int NUM_KINDS = 7;
+
+	//Codes for each subclass of Round and each kind of container
+	private static final int PRACTICE = 0, PRELIM = 1, ELIM = 2;
+	private static final int DEBATE = 0, BLANK_LINE = 1, JUDGE_ASSIGNMENT = 2,
+										JUDGE_ROOM_ASSIGNMENT = 3, ROOM_ASSIGNMENT = 4;
+
+
+
+	//---------------------------------------------------------------------------
+	// Writes the tournament to the file
+	//---------------------------------------------------------------------------
+	static void write (Tournament tournament, File file) throws IOException
+	{
+		write(tournament).save(file);
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Writes the tournament to memory, and returns the Output it was written
+	// to (see Output.toFile()), which also has the ID of everything in it (for
+	// the journal's records)
+	//---------------------------------------------------------------------------
+	static Output write (Tournament tournament) throws IOException
+	{
+		Output out = new Output();
+
+		//First, find every object that has to be written, by "writing" the
+		//tournament without keeping anything but the objects it refers to.
+		writeLists (tournament, out);
+
+		for (int i = 0; i < out.queue.size(); i++)
+			writeObject (out.queue.get(i), out);
+
+		//Then write it for real.
+		out.startWriting();
+
+		tournament.write(out);
+
+		for (int kind = 0; kind < NUM_KINDS; kind++)
+		{
+			out.writeInt(out.tables.get(kind).size());
+
+			for (Object o : out.tables.get(kind))
+				writeObject (o, out, false);
+		}
+
+		for (Object round : out.tables.get(ROUND))
+			writeRoundLists ((Round) round, out);
+		for (Object judge : out.tables.get(JUDGE))
+			out.writeRefs(((Judge) judge).getLocks());
+
+		writeLists (tournament, out);
+
+		return out;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Writes everything about this object, including what's written after the
+	// containers (used when finding every object that has to be written)
+	//---------------------------------------------------------------------------
+	private static void writeObject (Object o, Output out) throws IOException
+	{
+		writeObject (o, out, true);
+	}
+
+	//---------------------------------------------------------------------------
+	// Writes the object in its kind's section, with a code for its subclass if
+	// it's a round or container. If "all" is true, also writes the parts of it
+	// that go after the containers.
+	//---------------------------------------------------------------------------
+	private static void writeObject (Object o, Output out, boolean all)
+		throws IOException
+	{
+		if (o instanceof School)
+			((School) o).write(out);
+		else if (o instanceof Competitor)
+			((Competitor) o).write(out);
+		else if (o instanceof Entry)
+			((Entry) o).write(out);
+		else if (o instanceof Round)
+		{
+			out.writeInt(getType((Round) o));
+			((Round) o).write(out);
+
+			if (all)
+				writeRoundLists ((Round) o, out);
+		}
+		else if (o instanceof Judge)
+		{
+			((Judge) o).write(out);
+
+			if (all)
+				out.writeRefs(((Judge) o).getLocks());
+		}
+		else if (o instanceof Room)
+			((Room) o).write(out);
+		else if (o instanceof Debate)
+		{
+			out.writeInt(DEBATE);
+			((Debate) o).write(out);
+		}
+		else if (o instanceof BlankLine)
+		{
+			out.writeInt(BLANK_LINE);
+			((BlankLine) o).write(out);
+		}
+		else if (o instanceof JudgeAssignment)
+		{
+			out.writeInt(JUDGE_ASSIGNMENT);
+			((JudgeAssignment) o).write(out);
+		}
+		else if (o instanceof JudgeRoomAssignment)
+		{
+			out.writeInt(JUDGE_ROOM_ASSIGNMENT);
+			((JudgeRoomAssignment) o).write(out);
+		}
+		else if (o instanceof RoomAssignment)
+		{
+			out.writeInt(ROOM_ASSIGNMENT);
+			((RoomAssignment) o).write(out);
+		}
+		else
+			throw new IOException("Can't write " + o.getClass());
+	}
+
+	//Returns the code for the round's subclass
+	private static int getType (Round round)
+	{
+		if (round instanceof PracticeRound)
+			return PRACTICE;
+		else if (round instanceof PrelimRound)
+			return PRELIM;
+		else
+			return ELIM;
+	}
+
+	//Writes the round's debates and the items on its pairings
+	private static void writeRoundLists (Round round, Output out)
+		throws IOException
+	{
+		out.writeRefs(round.getDebates());
+		out.writeRefs(round.getItemsOnPairings());
+	}
+
+	//Writes the tournament's lists of schools, entries, etc.
+	private static void writeLists (Tournament tournament, Output out)
+		throws IOException
+	{
+		out.writeRefs(tournament.getSchools());
+		out.writeRefs(tournament.getEntries());
+		out.writeRefs(tournament.getJudges());
+		out.writeRefs(tournament.getRooms());
+		out.writeRefs(tournament.getPractices());
+		out.writeRefs(tournament.getPrelims());
+		out.writeRefs(tournament.getElims());
+		out.writeRefs(tournament.getBreaks());
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Reads a tournament from the file, whether it's in this format or was
+	// saved with Java serialization
+	//---------------------------------------------------------------------------
+	static Tournament read (File file) throws IOException, ClassNotFoundException
+	{
+		DataInputStream data = new DataInputStream(new BufferedInputStream(
+														new FileInputStream(file)));
+
+		try
+		{
+			data.mark(4);
+
+			if (data.readUnsignedShort() == OLD_MAGIC)
+			{
+				data.reset();
+				ObjectInputStream ois = new ObjectInputStream (data);
+				return (Tournament) ois.readObject();
+			}
+
+			data.reset();
+
+			if (data.readInt() != MAGIC)
+				throw new IOException("Not a tournament file");
+
+			int version = readVarint(data);
+			if (version > VERSION)
+				throw new IOException("File is from a newer version (" + version
+																					+ ")");
+
+			Input in = new Input(data);
+			Tournament tournament = read (in);
+
+			//Bring it up to date with any changes made since it was saved
+			Journal.replay (file, in);
+
+			return tournament;
+		}
+		finally
+		{
+			data.close();
+		}
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Reads a tournament from a file written to memory by write(), and returns
+	// the Input it was read with (see Input.getTournament()), which journal
+	// records can be read over (see readRecord())
+	//---------------------------------------------------------------------------
+	static Input read (byte[] bytes) throws IOException
+	{
+		DataInputStream data = new DataInputStream(new ByteArrayInputStream(bytes));
+
+		if (data.readInt() != MAGIC || readVarint(data) > VERSION)
+			throw new IOException("Not a tournament file");
+
+		Input in = new Input(data);
+		read (in);
+
+		return in;
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Reads the tournament from after the header, in the same order it was
+	// written in by write()
+	//---------------------------------------------------------------------------
+	private static Tournament read (Input in) throws IOException
+	{
+		Tournament tournament = new Tournament(in);
+		in.tournament = tournament;
+
+		int n = in.readInt();
+		for (int i = 0; i < n; i++)
+			in.schools.add(new School(in));
+
+		n = in.readInt();
+		for (int i = 0; i < n; i++)
+			in.competitors.add(new Competitor(in));
+
+		n = in.readInt();
+		for (int i = 0; i < n; i++)
+			in.entries.add(new Entry(in));
+
+		n = in.readInt();
+		for (int i = 0; i < n; i++)
+			in.rounds.add(readRound(in));
+
+		n = in.readInt();
+		for (int i = 0; i < n; i++)
+			in.judges.add(new Judge(in));
+
+		n = in.readInt();
+		for (int i = 0; i < n; i++)
+			in.rooms.add(new Room(in));
+
+		readContainers (in);
+
+		for (Round round : in.rounds)
+			readRoundLists (round, in);
+
+		for (Judge judge : in.judges)
+		{
+			n = in.readInt();
+			for (int i = 0; i < n; i++)
+				judge.getLocks().add((JudgeInhabitable) in.readContainer());
+		}
+
+		//Finally, the tournament's lists (added directly, so that they're in the
+		//same order they were saved in)
+		tournament.getSchools().addAll(in.readSchools());
+		tournament.getEntries().addAll(in.readEntries());
+		tournament.getJudges().addAll(in.readJudges());
+		tournament.getRooms().addAll(in.readRooms());
+
+		n = in.readInt();
+		for (int i = 0; i < n; i++)
+			tournament.getPractices().add((PracticeRound) in.readRound());
+		n = in.readInt();
+		for (int i = 0; i < n; i++)
+			tournament.getPrelims().add((PrelimRound) in.readRound());
+		n = in.readInt();
+		for (int i = 0; i < n; i++)
+			tournament.getElims().add((ElimRound) in.readRound());
+
+		tournament.setBreaks(in.readEntries());
+
+		return tournament;
+	}
+
+	//Reads a round, written with its code by writeObject()
+	private static Round readRound (Input in) throws IOException
+	{
+		int type = in.readInt();
+
+		if (type == PRACTICE)
+			return new PracticeRound(in);
+		else if (type == PRELIM)
+			return new PrelimRound(in);
+		else if (type == ELIM)
+			return new ElimRound(in);
+		else
+			throw new IOException("Unknown kind of round " + type);
+	}
+
+	//Reads the number of containers and then each one, with its code
+	private static void readContainers (Input in) throws IOException
+	{
+		int n = in.readInt();
+		for (int i = 0; i < n; i++)
+		{
+			int type = in.readInt();
+
+			if (type == DEBATE)
+				in.containers.add(new Debate(in));
+			else if (type == BLANK_LINE)
+				in.containers.add(new BlankLine(in));
+			else if (type == JUDGE_ASSIGNMENT)
+				in.containers.add(new JudgeAssignment(in));
+			else if (type == JUDGE_ROOM_ASSIGNMENT)
+				in.containers.add(new JudgeRoomAssignment(in));
+			else if (type == ROOM_ASSIGNMENT)
+				in.containers.add(new RoomAssignment(in));
+			else
+				throw new IOException("Unknown kind of container " + type);
+		}
+	}
+
+	//Reads the round's debates and the items on its pairings
+	private static void readRoundLists (Round round, Input in) throws IOException
+	{
+		int n = in.readInt();
+		for (int i = 0; i < n; i++)
+			round.getDebates().add((Debate) in.readContainer());
+
+		n = in.readInt();
+		for (int i = 0; i < n; i++)
+			round.getItemsOnPairings().add(in.readContainer());
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Writes a journal record for the round, referring to everything but its
+	// containers by its ID in "snapshot" (the Output the tournament was last
+	// saved with). Throws an IOException if the round refers to something
+	// that wasn't in the snapshot, like a judge added since.
+	//---------------------------------------------------------------------------
+	static byte[] writeRecord (Round round, Output snapshot) throws IOException
+	{
+		Output out = new Output(snapshot);
+
+		//Find the round's containers
+		writeRoundLists (round, out);
+
+		for (int i = 0; i < out.queue.size(); i++)
+			writeObject (out.queue.get(i), out);
+
+		out.startWriting();
+
+		out.writeRef(round);
+		writeObject (round, out, false);
+
+		out.writeInt(out.tables.get(CONTAINER).size());
+		for (Object o : out.tables.get(CONTAINER))
+			writeObject (o, out, false);
+
+		writeRoundLists (round, out);
+
+		//Each judge locked in one of the round's containers, and the container
+		ArrayList<Object> locks = new ArrayList<Object>();
+
+		for (Object judge : snapshot.tables.get(JUDGE))
+		{
+			for (JudgeInhabitable lock : ((Judge) judge).getLocks())
+			{
+				if (out.ids.containsKey(lock))
+				{
+					locks.add(judge);
+					locks.add(lock);
+				}
+			}
+		}
+
+		out.writeRefs(locks);
+
+		return out.toByteArray();
+	}
+
+
+	//---------------------------------------------------------------------------
+	// Reads a record written by writeRecord() and puts what's in it in place of
+	// the round's fields, containers and judges' locks in them. "snapshot" is
+	// the Input the tournament was read with. Returns the round.
+	//---------------------------------------------------------------------------
+	static Round readRecord (byte[] record, Input snapshot) throws IOException
+	{
+		Input in = new Input(new DataInputStream(new ByteArrayInputStream(record)),
+									snapshot);
+
+		Round round = in.readRound();
+		if (round == null || in.readInt() != getType(round))
+			throw new IOException("Bad record");
+
+		round.read(in);
+		readContainers (in);
+
+		//Take out the round's old containers, and the locks in them
+		IdentityHashMap<Object, Object> old = new IdentityHashMap<Object, Object>();
+		for (Flightable container : round.getDebates())
+			old.put(container, container);
+		for (Flightable container : round.getItemsOnPairings())
+			old.put(container, container);
+
+		for (Judge judge : in.judges)
+		{
+			ArrayList<JudgeInhabitable> locks = judge.getLocks();
+
+			for (int i = locks.size() - 1; i >= 0; i--)
+				if (old.containsKey(locks.get(i)))
+					locks.remove(i);
+		}
+
+		round.getDebates().clear();
+		round.getItemsOnPairings().clear();
+		readRoundLists (round, in);
+
+		int n = in.readInt() / 2;
+		for (int i = 0; i < n; i++)
+		{
+			Judge judge = in.readJudge();
+			judge.getLocks().add((JudgeInhabitable) in.readContainer());
+		}
+
+		round.pairingsChanged();
+		round.resultsChanged();
+
+		return round;
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Writes a tournament, for the write() methods of the objects in it. There
+	// are two passes: first, each object that's referred to is given an ID and
+	// added to the queue (so that it will be written too), and nothing is kept
+	// but the strings; then, after startWriting(), everything is written.
+	//---------------------------------------------------------------------------
+	static class Output
+	{
+		private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		private DataOutputStream data = new DataOutputStream(bytes);
+		private boolean finding = true;
+
+		//Objects of each kind, in order by ID; the ID of each object; and the
+		//objects that have been found but not written yet
+		private ArrayList<ArrayList<Object>> tables =
+												new ArrayList<ArrayList<Object>>();
+		private IdentityHashMap<Object, Integer> ids =
+												new IdentityHashMap<Object, Integer>();
+		private ArrayList<Object> queue = new ArrayList<Object>();
+
+		//For a journal record, the Output of the snapshot it goes with; anything
+		//but a container is referred to by its ID there
+		private Output base;
+
+		//Strings in the string table, and the position of each
+		private ArrayList<String> strings = new ArrayList<String>();
+		private HashMap<String, Integer> stringIds = new HashMap<String, Integer>();
+
+		//Constructor
+		private Output ()
+		{
+			for (int kind = 0; kind < NUM_KINDS; kind++)
+				tables.add(new ArrayList<Object>());
+		}
+
+		//Constructor for a journal record
+		private Output (Output snapshot)
+		{
+			this();
+			base = snapshot;
+		}
+
+		//Starts writing for real, once every object has been found
+		private void startWriting ()
+		{
+			finding = false;
+			bytes.reset();
+		}
+
+		//Writes the file (see toFile())
+		private void save (File file) throws IOException
+		{
+			OutputStream out = new FileOutputStream(file);
+
+			try
+			{
+				out.write(toFile());
+			}
+			finally
+			{
+				out.close();
+			}
+		}
+
+		//Returns the whole file - the header, the string table and then
+		//everything else
+		byte[] toFile () throws IOException
+		{
+			ByteArrayOutputStream result = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(result);
+
+			out.writeInt(MAGIC);
+			writeVarint (out, VERSION);
+			writeTo (out);
+
+			return result.toByteArray();
+		}
+
+		//Returns the string table and then everything else (for a journal
+		//record, which has no header)
+		private byte[] toByteArray () throws IOException
+		{
+			ByteArrayOutputStream result = new ByteArrayOutputStream();
+			writeTo (new DataOutputStream(result));
+
+			return result.toByteArray();
+		}
+
+		private void writeTo (DataOutputStream out) throws IOException
+		{
+			writeVarint (out, strings.size());
+			for (String s : strings)
+			{
+				byte[] utf = s.getBytes("UTF-8");
+				writeVarint (out, utf.length);
+				out.write(utf);
+			}
+
+			bytes.writeTo(out);
+		}
+
+
+		//Writes a number (which can be negative, but takes fewer bytes the
+		//closer it is to 0)
+		void writeInt (int n) throws IOException
+		{
+			writeVarint (data, (n << 1) ^ (n >> 31));
+		}
+
+		void writeBoolean (boolean b) throws IOException
+		{
+			data.writeBoolean(b);
+		}
+
+		void writeDouble (double d) throws IOException
+		{
+			data.writeDouble(d);
+		}
+
+		void writeChar (char c) throws IOException
+		{
+			writeVarint (data, c);
+		}
+
+		//Writes a string (which can be null) as its position in the string table
+		void writeString (String s) throws IOException
+		{
+			if (s == null)
+			{
+				writeVarint (data, 0);
+				return;
+			}
+
+			Integer id = stringIds.get(s);
+
+			if (id == null)
+			{
+				id = strings.size();
+				strings.add(s);
+				stringIds.put(s, id);
+			}
+
+			writeVarint (data, id + 1);
+		}
+
+		//Writes the constant's name, so that the file doesn't depend on the
+		//order of the constants
+		void writeEnum (Enum<?> e) throws IOException
+		{
+			writeString (e == null ? null : e.name());
+		}
+
+		//Writes the ID of a school, competitor, entry, round, judge, room or
+		//container (which can be null)
+		void writeRef (Object o) throws IOException
+		{
+			if (o == null)
+			{
+				writeVarint (data, 0);
+				return;
+			}
+
+			Integer id = ids.get(o);
+
+			if (base != null && getKind(o) != CONTAINER)
+			{
+				id = base.ids.get(o);
+
+				if (id == null)
+					throw new IOException("Object isn't in the snapshot: " + o);
+			}
+			else if (id == null)
+			{
+				if (finding == false)
+					throw new IOException("Object wasn't found before writing: "
+																						+ o);
+
+				ArrayList<Object> table = tables.get(getKind(o));
+				id = table.size();
+				table.add(o);
+				ids.put(o, id);
+				queue.add(o);
+			}
+
+			writeVarint (data, id + 1);
+		}
+
+		//Writes the size of the list and then each object in it
+		void writeRefs (ArrayList<?> list) throws IOException
+		{
+			writeInt (list.size());
+
+			for (Object o : list)
+				writeRef (o);
+		}
+	}
+
+	//Returns the kind of object this is
+	private static int getKind (Object o) throws IOException
+	{
+		if (o instanceof School)
+			return SCHOOL;
+		else if (o instanceof Competitor)
+			return COMPETITOR;
+		else if (o instanceof Entry)
+			return ENTRY;
+		else if (o instanceof Round)
+			return ROUND;
+		else if (o instanceof Judge)
+			return JUDGE;
+		else if (o instanceof Room)
+			return ROOM;
+		else if (o instanceof Flightable)
+			return CONTAINER;
+		else
+			throw new IOException("Can't write " + o.getClass());
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Reads a tournament, for the constructors of the objects in it. Objects
+	// are added to their kind's list as they're read, so that the ones read
+	// later can refer to them.
+	//---------------------------------------------------------------------------
+	static class Input
+	{
+		private DataInputStream data;
+		private String[] strings;
+		private Tournament tournament;
+
+		private ArrayList<School> schools = new ArrayList<School>();
+		private ArrayList<Competitor> competitors = new ArrayList<Competitor>();
+		private ArrayList<Entry> entries = new ArrayList<Entry>();
+		private ArrayList<Round> rounds = new ArrayList<Round>();
+		private ArrayList<Judge> judges = new ArrayList<Judge>();
+		private ArrayList<Room> rooms = new ArrayList<Room>();
+		private ArrayList<Flightable> containers = new ArrayList<Flightable>();
+
+		//Constructor - reads the string table
+		private Input (DataInputStream d) throws IOException
+		{
+			data = d;
+			strings = new String[readVarint(data)];
+
+			for (int i = 0; i < strings.length; i++)
+			{
+				byte[] utf = new byte[readVarint(data)];
+				data.readFully(utf);
+				strings[i] = new String(utf, "UTF-8");
+			}
+		}
+
+		//Constructor for a journal record, which shares everything but the
+		//containers with the snapshot
+		private Input (DataInputStream d, Input snapshot) throws IOException
+		{
+			this(d);
+			tournament = snapshot.tournament;
+			schools = snapshot.schools;
+			competitors = snapshot.competitors;
+			entries = snapshot.entries;
+			rounds = snapshot.rounds;
+			judges = snapshot.judges;
+			rooms = snapshot.rooms;
+		}
+
+		//Returns the tournament being read (null while the tournament itself is
+		//being read)
+		Tournament getTournament ()
+		{
+			return tournament;
+		}
+
+
+		int readInt () throws IOException
+		{
+			int n = readVarint(data);
+			return (n >>> 1) ^ -(n & 1);
+		}
+
+		boolean readBoolean () throws IOException
+		{
+			return data.readBoolean();
+		}
+
+		double readDouble () throws IOException
+		{
+			return data.readDouble();
+		}
+
+		char readChar () throws IOException
+		{
+			return (char) readVarint(data);
+		}
+
+		String readString () throws IOException
+		{
+			int id = readVarint(data);
+			if (id == 0)
+				return null;
+
+			if (id > strings.length)
+				throw new IOException("Bad string " + id);
+
+			return strings[id - 1];
+		}
+
+		<E extends Enum<E>> E readEnum (Class<E> type) throws IOException
+		{
+			String name = readString();
+			if (name == null)
+				return null;
+
+			try
+			{
+				return Enum.valueOf(type, name);
+			}
+			catch (IllegalArgumentException e)
+			{
+				throw new IOException("Unknown " + type.getName() + " " + name);
+			}
+		}
+
+
+		School readSchool () throws IOException
+		{
+			return get(schools);
+		}
+
+		Competitor readCompetitor () throws IOException
+		{
+			return get(competitors);
+		}
+
+		Entry readEntry () throws IOException
+		{
+			return get(entries);
+		}
+
+		Round readRound () throws IOException
+		{
+			return get(rounds);
+		}
+
+		Judge readJudge () throws IOException
+		{
+			return get(judges);
+		}
+
+		Room readRoom () throws IOException
+		{
+			return get(rooms);
+		}
+
+		Flightable readContainer () throws IOException
+		{
+			return get(containers);
+		}
+
+		//Returns the object whose ID is next, from the objects of its kind
+		private <T> T get (ArrayList<T> objects) throws IOException
+		{
+			int id = readVarint(data);
+			if (id == 0)
+				return null;
+
+			if (id > objects.size())
+				throw new IOException("Bad reference " + id);
+
+			return objects.get(id - 1);
+		}
+
+
+		//Read lists written by Output.writeRefs()
+		ArrayList<School> readSchools () throws IOException
+		{
+			ArrayList<School> list = new ArrayList<School>();
+			int n = readInt();
+			for (int i = 0; i < n; i++)
+				list.add(readSchool());
+			return list;
+		}
+
+		ArrayList<Competitor> readCompetitors () throws IOException
+		{
+			ArrayList<Competitor> list = new ArrayList<Competitor>();
+			int n = readInt();
+			for (int i = 0; i < n; i++)
+				list.add(readCompetitor());
+			return list;
+		}
+
+		ArrayList<Entry> readEntries () throws IOException
+		{
+			ArrayList<Entry> list = new ArrayList<Entry>();
+			int n = readInt();
+			for (int i = 0; i < n; i++)
+				list.add(readEntry());
+			return list;
+		}
+
+		ArrayList<Judge> readJudges () throws IOException
+		{
+			ArrayList<Judge> list = new ArrayList<Judge>();
+			int n = readInt();
+			for (int i = 0; i < n; i++)
+				list.add(readJudge());
+			return list;
+		}
+
+		ArrayList<Room> readRooms () throws IOException
+		{
+			ArrayList<Room> list = new ArrayList<Room>();
+			int n = readInt();
+			for (int i = 0; i < n; i++)
+				list.add(readRoom());
+			return list;
+		}
+	}
+
+
+
+	//---------------------------------------------------------------------------
+	// Write and read a non-negative number 7 bits at a time, with the high bit
+	// of each byte set if there's another byte after it
+	//---------------------------------------------------------------------------
+	private static void writeVarint (DataOutputStream out, int n)
+		throws IOException
+	{
+		while ((n & ~0x7F) != 0)
+		{
+			out.writeByte((n & 0x7F) | 0x80);
+			n >>>= 7;
+		}
+
+		out.writeByte(n);
+	}
+
+	private static int readVarint (DataInputStream in) throws IOException
+	{
+		int n = 0;
+
+		for (int shift = 0; shift < 35; shift += 7)
+		{
+			int b = in.readUnsignedByte();
+			n |= (b & 0x7F) << shift;
+
+			if ((b & 0x80) == 0)
+				return n;
+		}
+
+		throw new IOException("Bad number");
+	}
+}
@@ -89,11 +89,7 @@ class TopMenu extends JMenuBar
 	private static Tournament read (File inFile) 
 		throws IOException, ClassNotFoundException
 	{
-		FileInputStream fis = new FileInputStream (inFile);
-		ObjectInputStream ois = new ObjectInputStream (fis);
-		Tournament tournament = (Tournament) ois.readObject();
-		ois.close();
-		return tournament;
+		return TabFile.read (inFile);
 	}
 
 
@@ -154,11 +150,11 @@ class TopMenu extends JMenuBar
 
 		try
 		{
-			tournament.write(outFile);
 			//set the "file" object in the whole program to the new file location
 			file = outFile; 
 			tf.setFile(file); 
 			assert tf.getFile().equals(file);
+			saveNow(); 
 		}
 		catch (Exception e)
 		{
@@ -174,6 +170,29 @@ class TopMenu extends JMenuBar
 
 
 
+	//--------------------------------------------------------------------------
+	// Saves the whole tournament and waits for the Saver to write it, so that 
+	// an error can be shown if it couldn't be. (The saves made as the 
+	// tournament changes only show errors on the status bar.) 
+	//--------------------------------------------------------------------------
+	private void saveNow () throws Exception
+	{
+		Saver saver = Saver.getSaver(); 
+		
+		//Forget any earlier failure, so that only this save's is shown 
+		saver.flush(); 
+		saver.hasFailed(file); 
+		
+		tf.save(true); 
+		saver.flush(); 
+		
+		if (saver.hasFailed(file))
+			throw new IOException("Couldn't write " + file); 
+	}
+
+
+
+
 	//--------------------------------------------------------------------------
 	// Initiates a "save as" dialog prompting the user where to save the 
 	// backup file for the tournament. 
@@ -399,7 +418,7 @@ class TopMenu extends JMenuBar
 			{
 				try
 				{
-					tournament.write(file);
+					saveNow(); 
 				}
 				catch (Exception e)
 				{
@@ -48,6 +48,32 @@ class Tournament implements Serializable
 							PRACTICES = "09", PRELIMS = "10", ELIMS = "11", 
 							BREAKS = "12"; 
 	
+	//Counter used to tell when something computed from the tournament (like a
+	//round's CostMatrix) is out of date. Every change to the pairings or 
+	//results of a round, or to the entries, judges and rooms, is stamped with
+	//the next version; anything computed saves the versions it was computed 
+	//at. (These aren't saved to file, and neither is anything that uses them.)
+	private transient long version; 
+	
+	//Version of the last change to the entries, judges, rooms or schools 
+	private transient volatile long rosterVersion; 
+	
+	//Who each entry has debated, and on which sides; made when first needed
+	private transient HistoryIndex history; 
+	
+	//Judges' strikes as sets of school and competitor IDs; made when first 
+	//needed 
+	private transient StrikeMatrix strikes; 
+	
+	//Each entry's wins, losses and strength of opp; made when first needed 
+	private transient Standings standings; 
+	
+	//Order of the entries' seeds; made when first needed 
+	private transient Seeding seeding; 
+	
+	//Who is left in each outround after the break; made when first needed 
+	private transient EliminationBracket bracket; 
+	
 	//--------------------------------------------------------------------------
 	// Constructor 
 	//--------------------------------------------------------------------------
@@ -67,6 +93,26 @@ class Tournament implements Serializable
 		elims = new ArrayList<ElimRound>();
 		breaks = new ArrayList<Entry>(); 
 	}
+
+
+	//--------------------------------------------------------------------------
+	// Read from and write to a tournament file (see TabFile). This is only
+	// the tournament's own fields; TabFile reads and writes everything in it.
+	//--------------------------------------------------------------------------
+	Tournament (TabFile.Input in) throws IOException
+	{
+		this (in.readEnum(Event.class), in.readString());
+		breakLevelSet = in.readBoolean();
+		cleanBreak = in.readBoolean();
+	}
+
+	void write (TabFile.Output out) throws IOException
+	{
+		out.writeEnum(event);
+		out.writeString(name);
+		out.writeBoolean(breakLevelSet);
+		out.writeBoolean(cleanBreak);
+	}
 	
 	
 
@@ -91,6 +137,7 @@ class Tournament implements Serializable
 	void setName (String n)
 	{
 		name = n;
+		rosterChanged(); 
 	}
 	
 	//Sets the level of outround to break to, and changes it accordingly in each
@@ -119,6 +166,8 @@ class Tournament implements Serializable
 				levnum++; 
 			}
 		}
+		
+		rosterChanged(); 
 	}
 	
 	boolean isCleanBreak ()
@@ -129,6 +178,7 @@ class Tournament implements Serializable
 	void setCleanBreak (boolean clean)
 	{
 		cleanBreak = clean; 
+		rosterChanged(); 
 	}
 	
 	//Note: the breaks array list will always be in order of seed. I.e., 
@@ -141,6 +191,73 @@ class Tournament implements Serializable
 	void setBreaks(ArrayList<Entry> brks)
 	{
 		breaks = brks;
+		rosterChanged(); //since this changes the bracket 
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Methods for versions (see the "version" data member) 
+	//--------------------------------------------------------------------------
+	synchronized long nextVersion ()
+	{
+		return ++version; 
+	}
+
+	synchronized long getVersion ()
+	{
+		return version; 
+	}
+
+	//Called when an entry, judge, room, or school is added, removed or changed,
+	//or the tournament's own settings (its name and the break) change 
+	void rosterChanged ()
+	{
+		rosterVersion = nextVersion(); 
+	}
+
+	long getRosterVersion ()
+	{
+		return rosterVersion; 
+	}
+
+	synchronized HistoryIndex getHistory ()
+	{
+		if (history == null)
+			history = new HistoryIndex(this); 
+		
+		return history; 
+	}
+
+	synchronized StrikeMatrix getStrikes ()
+	{
+		if (strikes == null)
+			strikes = new StrikeMatrix(this); 
+		
+		return strikes; 
+	}
+
+	synchronized Standings getStandings ()
+	{
+		if (standings == null)
+			standings = new Standings(this); 
+		
+		return standings; 
+	}
+
+	synchronized Seeding getSeeding ()
+	{
+		if (seeding == null)
+			seeding = new Seeding(this); 
+		
+		return seeding; 
+	}
+
+	synchronized EliminationBracket getBracket ()
+	{
+		if (bracket == null)
+			bracket = new EliminationBracket(this); 
+		
+		return bracket; 
 	}
 	
 
@@ -271,77 +388,91 @@ class Tournament implements Serializable
 	{
 		schools.add(school);
 		Sort.sort(schools);
+		rosterChanged(); 
 	}
 	
 	void removeSchool (School school)
 	{
 		Sort.remove(schools, school);
+		rosterChanged(); 
 	}
 	
 	void addJudge (Judge judge)
 	{
 		judges.add(judge);
 		Sort.sort(judges);
+		rosterChanged(); 
 	}
 	
 	void removeJudge (Judge judge)
 	{
 		Sort.remove(judges, judge);
+		rosterChanged(); 
 	}
 	
 	void addEntry (Entry entry)
 	{
 		entries.add(entry);
 		Sort.sort(entries);
+		rosterChanged(); 
 	}
 	
 	void removeEntry (Entry entry)
 	{
 		Sort.remove(entries, entry);
+		rosterChanged(); 
 	}
 	
 	void addRoom (Room room)
 	{
 		rooms.add(room);
 		Sort.sort(rooms);
+		rosterChanged(); 
 	}
 	
 	void removeRoom (Room room)
 	{
 		Sort.remove(rooms, room);
+		rosterChanged(); 
 	}	
 	
 	void addPractice (PracticeRound round)
 	{
 		practices.add(round);
 		Sort.sort(practices);
+		rosterChanged(); 
 	}
 	
 	void removePractice (PracticeRound round)
 	{
 		Sort.remove(practices, round);
+		rosterChanged(); 
 	}
 
 	void addPrelim (PrelimRound round)
 	{
 		prelims.add(round);
 		Sort.sort(prelims);
+		rosterChanged(); 
 	}
 	
 	void removePrelim (PrelimRound round)
 	{
 		Sort.remove(prelims, round);
+		rosterChanged(); 
 	}
 
 	void addElim (ElimRound round)
 	{
 		elims.add(round);
 		Sort.sort(elims);
+		rosterChanged(); 
 	}
 	
 	void removeElim (ElimRound round)
 	{
 		Sort.remove(elims, round);
+		rosterChanged(); 
 	}
 	
 	void removeRound (Round round)
@@ -428,10 +559,7 @@ class Tournament implements Serializable
 			return;
 		}
 	
-		FileOutputStream fos = new FileOutputStream (file);
-		ObjectOutputStream oos = new ObjectOutputStream (fos);
-		oos.writeObject (this);
-		oos.close();
+		TabFile.write (this, file);
 	}
 	
 
@@ -449,7 +577,7 @@ class Tournament implements Serializable
 			FileWriter fw = new FileWriter (file);
 			BufferedWriter bw = new BufferedWriter (fw);
 			outFile = new PrintWriter (bw);
-			outFile.print(writeBackup());
+			writeBackup(outFile);
 		}
 		catch (IOException e)
 		{
@@ -521,45 +649,74 @@ class Tournament implements Serializable
 	// in all Judges and Rooms before reading in PracticeRounds, so that is the 
 	// order in which they are output. 
 	//---------------------------------------------------------------------------
-	private String writeBackup ()
+	private void writeBackup (Appendable out) throws IOException
 	{
 		//First, write event and name of tournament  
-		String text = EVENT + " " + event.toString() + "\n" 
-							+ NAME + " " + name + "\n"; 
+		out.append(EVENT).append(" ").append(event.toString()).append("\n") 
+			.append(NAME).append(" ").append(name).append("\n"); 
 		
 		//Add whether break level is set 
-		text += BREAK_LEVEL_SET + " " + breakLevelSet + "\n" 
-					+ CLEAN_BREAK + " " + cleanBreak + "\n"; 
+		out.append(BREAK_LEVEL_SET).append(" ")
+			.append(String.valueOf(breakLevelSet)).append("\n") 
+			.append(CLEAN_BREAK).append(" ")
+			.append(String.valueOf(cleanBreak)).append("\n"); 
 		
 		//Add schools 
 		for (School school : schools)
-			text += SCHOOLS + " " + school.getName() + "\n";
+			out.append(SCHOOLS).append(" ").append(school.getName()).append("\n");
 		
 		//Add entries 
 		for (Entry entry : entries) 
-			text += ENTRIES + " " + entry.writeBackup() + "\n";
+		{
+			out.append(ENTRIES).append(" ");
+			entry.writeBackup(out); 
+			out.append("\n");
+		}
 		
 		//Add judges 
 		for (Judge judge : judges)
-			text += JUDGES + " " + judge.getName() + "\n";
+			out.append(JUDGES).append(" ").append(judge.getName()).append("\n");
 		
 		//Add rooms 
 		for (Room room : rooms)
-			text += ROOMS + " " + room.getName() + "\n"; 
+			out.append(ROOMS).append(" ").append(room.getName()).append("\n"); 
 		
 		//For each round, add a line with its info 
 		for (PracticeRound round : practices)
-			text += PRACTICES + " " + round.writeBackup() + "\n";
+			writeBackup (out, PRACTICES, round); 
 		for (PrelimRound round : prelims)
-			text += PRELIMS + " " + round.writeBackup() + "\n"; 
+			writeBackup (out, PRELIMS, round); 
 		for (ElimRound round : elims)
-			text += ELIMS + " " + round.writeBackup() + "\n"; 
+			writeBackup (out, ELIMS, round); 
 		
 		//Add each debater who broke 
 		for (Entry brk : breaks)
-			text += BREAKS + " " + brk.toString() + "\n"; 
+			out.append(BREAKS).append(" ").append(brk.toString()).append("\n"); 
+	}
+	
+	//Writes a line with the round's info 
+	private void writeBackup (Appendable out, String code, Round round) 
+		throws IOException
+	{
+		out.append(code).append(" ");
+		round.writeBackup(out); 
+		out.append("\n");
+	}
+	
+	
+	//---------------------------------------------------------------------------
+	// Returns the backup text as the bytes it's saved as, for the Saver to 
+	// write (see TournamentFrame.save())
+	//---------------------------------------------------------------------------
+	byte[] getBackup () throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(); 
+		Writer out = new BufferedWriter(new OutputStreamWriter(bytes)); 
+		
+		writeBackup(out); 
+		out.close(); 
 		
-		return text; 
+		return bytes.toByteArray(); 
 	}
 
 
@@ -10,8 +10,11 @@
 
 
 import javax.swing.*;
+import javax.swing.event.*;
 import java.awt.*;
+import java.awt.event.*;
 import java.io.*; 
+import java.util.HashSet;
 
 class TournamentFrame extends JFrame 
 {
@@ -23,10 +26,16 @@ class TournamentFrame extends JFrame
 	private EntriesPanel ep; 
 	private JudgesPanel jp; 
 	private RoomsPanel rp; 
+	private JLabel statusBar; //shows when the tournament was last saved 
+	
+	//Entries, judges and rooms tabs that haven't been refreshed since the last
+	//change, because they weren't showing (see roundChanged()) 
+	private HashSet<Component> outOfDate = new HashSet<Component>();
 
 	private Tournament tournament; 
 	private File file; //file where the tournament is saved 
 	private File backupFile; //file where backup version of tournament is saved
+	private Journal journal; //saves the changes to "file" as they're made
 
 	private boolean hasWarnedSave; //whether a warning has been given about saving
 	private boolean hasWarnedBackup; //same, for backup saving
@@ -40,6 +49,7 @@ class TournamentFrame extends JFrame
 	{
 		super("SWSDITAB");
 		reset();
+		addWindowListener(new CloseListener()); 
 	}
 
 
@@ -51,6 +61,7 @@ class TournamentFrame extends JFrame
 	{
 		super("SWSDITAB - " + t.getName());
 		reset(t, f, bf);
+		addWindowListener(new CloseListener()); 
 	}
 
 
@@ -68,6 +79,8 @@ class TournamentFrame extends JFrame
 		
 		setJMenuBar (new TopMenu(this)); 
 		getContentPane().add(tp); 
+		statusBar = new JLabel(" "); 
+		getContentPane().add(statusBar, BorderLayout.SOUTH); 
 		setSize(DEFAULT_SIZE);
 		setVisible(true);	
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE); 
@@ -82,6 +95,7 @@ class TournamentFrame extends JFrame
 		tournament = t; 
 		file = f; 
 		backupFile = bf;
+		journal = null; 
 		
 		setTitle("SWSDITAB - " + tournament.getName()); 
 		
@@ -97,6 +111,8 @@ class TournamentFrame extends JFrame
 		tp.addTab ("Entries", ep); 
 		tp.addTab ("Judges", jp);
 		tp.addTab ("Rooms", rp); 
+		tp.addChangeListener (new TabListener()); 
+		outOfDate.clear(); 
 		
 		//Recreate RoundPanels 
 		for (Round round : tournament.getRounds())
@@ -104,6 +120,8 @@ class TournamentFrame extends JFrame
 
 		setJMenuBar (new TopMenu(this)); 
 		getContentPane().add(tp); 
+		statusBar = new JLabel(" "); 
+		getContentPane().add(statusBar, BorderLayout.SOUTH); 
 		setSize(DEFAULT_SIZE);
 		setVisible(true);	
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE); 
@@ -131,25 +149,78 @@ class TournamentFrame extends JFrame
 				rp.initialize(this);
 		}
 		
+		refreshTab(ep);
+		refreshTab(jp);
+		refreshTab(rp);
+		outOfDate.clear(); 
+		
+		saveQuietly(); 
+	}
+
+
+	//--------------------------------------------------------------------------
+	// Lighter version of refresh(), for a change to the pairings of one round 
+	// made on its RoundPanel, which redraws what changed itself. Only the open
+	// RoundPanels of the rounds after it are reinitialized (since their 
+	// conflicts depend on it), and the entries, judges or rooms tab only if 
+	// it's the one showing - the others are refreshed when they're next shown.
+	// It also saves the tournament.  
+	//--------------------------------------------------------------------------
+	void roundChanged (Round changed)
+	{
+		boolean after = false; 
+		
+		for (Round round : tournament.getRounds())
+		{
+			if (after && round.getPanel().isVisible())
+				round.getPanel().initialize(this); 
+			
+			if (round == changed)
+				after = true; 
+		}
+		
+		outOfDate.add(ep);
+		outOfDate.add(jp);
+		outOfDate.add(rp);
+		
+		Component showing = tp.getSelectedComponent(); 
+		if (outOfDate.remove(showing))
+			refreshTab(showing); 
+		
+		saveQuietly(); 
+	}
+	
+	
+	//--------------------------------------------------------------------------
+	// Refreshes the entries, judges or rooms tab 
+	//--------------------------------------------------------------------------
+	private void refreshTab (Component tab)
+	{
 		//if EntriesPanel does not have CreateEntryScreen open, refresh it, while
 		//keeping currently expanded entry expanded 
-		if (ep.isEditScreenOpen() == false)
+		if (tab == ep && ep.isEditScreenOpen() == false)
 			ep.resetEntries (ep.getExpandedEntry());
 
 		//if JudgesPanel does not have CreateJudgeScreen open, refresh it, while
 		//keeping currently expanded judge expanded 
-		if (jp.isEditScreenOpen() == false)
+		if (tab == jp && jp.isEditScreenOpen() == false)
 			jp.resetJudges (jp.getExpandedJudge()); 
 
 		//if RoomsPanel does not have CreateRoomScreen open, refresh it, while
 		//keeping currently expanded room expanded 
-		if (rp.isEditScreenOpen() == false)
+		if (tab == rp && rp.isEditScreenOpen() == false)
 			rp.resetRooms (rp.getExpandedRoom());
-		
-		//Save the tournament 
+	}
+	
+	
+	//--------------------------------------------------------------------------
+	// Saves the tournament after a change 
+	//--------------------------------------------------------------------------
+	private void saveQuietly ()
+	{
 		try
 		{
-			save();
+			save(false);
 		}
 		catch (Exception e)
 		{
@@ -187,15 +258,37 @@ class TournamentFrame extends JFrame
 		backupFile = bf;
 	}
 	
+	//Shows a message in the status bar (in red if it's an error) 
+	void setStatus (String text, boolean error)
+	{
+		statusBar.setText(text); 
+		statusBar.setForeground(error ? Color.RED : Color.BLACK); 
+	}
+	
 
 
 	//--------------------------------------------------------------------------
-	// Saves the tournament 
+	// Saves the tournament. Only the rounds that have changed are added to the
+	// journal, unless it writes the whole file (see Journal) or "all" is true. 
+	// The journal writes the text backup too, every time, so that it's never 
+	// behind. The files are written by the Saver, which reports to the status 
+	// bar when it's done. 
 	//--------------------------------------------------------------------------
-	private void save () throws Exception
+	void save (boolean all) throws Exception
 	{
-		if (file != null)
-			tournament.write(file);
+		boolean journaled = false; 
+		
+		if (file != null && file.getName().endsWith(".tab") == false)
+			tournament.write(file); //which shows an error 
+		else if (file != null)
+		{
+			if (journal == null || journal.getFile() != file 
+				|| journal.getBackupFile() != backupFile)
+				journal = new Journal(tournament, file, backupFile, this); 
+			
+			journal.save(all); 
+			journaled = true; 
+		}
 		else if (hasWarnedSave == false)
 		{
 			System.out.println("Warning: Tournament is not being saved to a "
@@ -204,7 +297,10 @@ class TournamentFrame extends JFrame
 		}
 		
 		if (backupFile != null)
-			tournament.backup(backupFile); 
+		{
+			if (journaled == false)
+				Saver.getSaver().write(this, backupFile, tournament.getBackup()); 
+		}
 		else if (hasWarnedBackup == false)
 		{
 			System.out.println("Warning: No backup text version of the "
@@ -213,6 +309,36 @@ class TournamentFrame extends JFrame
 		}
 	}
 
+	
+	
+	//--------------------------------------------------------------------------
+	// Listener for switching tabs, which refreshes the tab being switched to if
+	// it's out of date 
+	//--------------------------------------------------------------------------
+	private class TabListener implements ChangeListener
+	{
+		public void stateChanged (ChangeEvent event)
+		{
+			Component showing = tp.getSelectedComponent(); 
+			
+			if (outOfDate.remove(showing))
+				refreshTab(showing); 
+		}
+	}
+	
+	
+	//--------------------------------------------------------------------------
+	// Listener for closing the window, which waits for the Saver to finish 
+	// writing anything it hasn't yet before the program exits
+	//--------------------------------------------------------------------------
+	private class CloseListener extends WindowAdapter
+	{
+		public void windowClosing (WindowEvent event)
+		{
+			Saver.getSaver().flush(); 
+		}
+	}
+
 
 }
 